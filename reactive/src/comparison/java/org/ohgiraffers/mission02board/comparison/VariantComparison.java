@@ -0,0 +1,148 @@
+package org.ohgiraffers.mission02board.comparison;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/** 블로킹 버전(Spring MVC + JPA)과 리액티브 버전(WebFlux + R2DBC)에 같은 요청을 보내서 비교한다.
+ *  요청마다 가상 스레드를 하나 쓰고, Semaphore 로 동시에 보내는 요청 수를 concurrency 로 고정한다.
+ *  (클라이언트 쪽 스레드가 병목이 되지 않게 해서 서버 차이만 보이도록)
+ *
+ *  - 버전마다 처음 10% 는 워밍업으로 보내고 결과에서 뺀다.
+ *  - 2xx 가 아닌 응답과 예외는 실패로 세고, 지연 시간에는 성공한 요청만 넣는다.
+ *    실패는 지연 시간 옆에 함께 출력한다. 빨리 거절된 요청이 빠진 지연 시간만 보면 실패가 많은 쪽이 더 빨라 보이기 때문이다.
+ *  - 429, 503 은 유량 제어의 거절(rejected)로 따로 센다. 블로킹 버전에만 유량 제어(PostAdmissionFilter)가 있으므로,
+ *    블로킹 버전은 ./gradlew bootRunForComparison (post.admission.enabled=false) 으로 실행한다.
+ */
+public class VariantComparison {
+
+    private static final double WARMUP_RATIO = 0.1;
+
+    private static final long FAILED = -1L;
+
+    private static final long REJECTED = -2L;
+
+    public static void main(String[] args) throws Exception {
+
+        String blockingUrl = args[0];
+        String reactiveUrl = args[1];
+        int concurrency = Integer.parseInt(args[2]);
+        int requests = Integer.parseInt(args[3]);
+        String path = args[4];
+
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+
+        System.out.printf("동시 요청 %d, 버전별 요청 %d, 경로 %s%n", concurrency, requests, path);
+        System.out.printf("%-10s %12s %10s %10s %10s %8s %9s %8s%n",
+                "variant", "req/s", "p50(ms)", "p99(ms)", "max(ms)", "fail", "rejected", "fail(%)");
+
+        Result blocking = run(client, URI.create(blockingUrl + path), concurrency, requests);
+        Result reactive = run(client, URI.create(reactiveUrl + path), concurrency, requests);
+
+        print("blocking", blocking);
+        print("reactive", reactive);
+
+        if (blocking.rejected() > 0 || reactive.rejected() > 0) {
+            System.out.println("429/503 으로 거절된 요청이 있어서 두 버전을 같은 조건으로 비교할 수 없습니다.");
+            System.out.println("블로킹 버전을 ./gradlew bootRunForComparison (post.admission.enabled=false) 으로 실행했는지 확인해주세요.");
+        }
+    }
+
+    private static Result run(HttpClient client, URI uri, int concurrency, int requests) throws Exception {
+
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30)).GET().build();
+
+        send(client, request, concurrency, (int) (requests * WARMUP_RATIO));
+
+        long startedAt = System.nanoTime();
+        List<Long> latencies = send(client, request, concurrency, requests);
+        long elapsed = System.nanoTime() - startedAt;
+
+        long[] sorted = latencies.stream().filter(latency -> latency >= 0).mapToLong(Long::longValue).toArray();
+        Arrays.sort(sorted);
+        int rejected = (int) latencies.stream().filter(latency -> latency == REJECTED).count();
+
+        return new Result(sorted, requests - sorted.length, rejected, elapsed);
+    }
+
+    /* 요청별 지연 시간(ns)을 반환한다. 실패한 요청은 FAILED, 유량 제어로 거절된 요청은 REJECTED*/
+    private static List<Long> send(HttpClient client, HttpRequest request, int concurrency, int requests) throws Exception {
+
+        Semaphore inFlight = new Semaphore(concurrency);
+        AtomicInteger remaining = new AtomicInteger(requests);
+        List<Future<Long>> futures = new ArrayList<>(requests);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            while (remaining.getAndDecrement() > 0) {
+                inFlight.acquire();
+                futures.add(executor.submit(() -> {
+                    try {
+                        long sentAt = System.nanoTime();
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        long latency = System.nanoTime() - sentAt;
+                        return status(response.statusCode(), latency);
+                    } catch (Exception e) {
+                        return FAILED;
+                    } finally {
+                        inFlight.release();
+                    }
+                }));
+            }
+        }
+
+        List<Long> latencies = new ArrayList<>(requests);
+        for (Future<Long> future : futures) {
+            latencies.add(future.get());
+        }
+        return latencies;
+    }
+
+    private static long status(int statusCode, long latency) {
+
+        if (statusCode / 100 == 2) {
+            return latency;
+        }
+
+        return statusCode == 429 || statusCode == 503 ? REJECTED : FAILED;
+    }
+
+    private static void print(String variant, Result result) {
+        System.out.printf("%-10s %12.1f %10.2f %10.2f %10.2f %8d %9d %8.2f%n", variant,
+                result.throughput(), result.percentile(0.50), result.percentile(0.99), result.percentile(1.0),
+                result.failures(), result.rejected(), result.failureRate() * 100);
+    }
+
+    /* failures : 성공하지 못한 전체 요청 수 (rejected 포함)*/
+    private record Result(long[] sortedLatencies, int failures, int rejected, long elapsedNanos) {
+
+        double failureRate() {
+            int total = sortedLatencies.length + failures;
+            return total == 0 ? 0 : (double) failures / total;
+        }
+
+        double throughput() {
+            return sortedLatencies.length / (elapsedNanos / 1_000_000_000.0);
+        }
+
+        double percentile(double p) {
+            if (sortedLatencies.length == 0) {
+                return Double.NaN;
+            }
+            int index = (int) Math.ceil(p * sortedLatencies.length) - 1;
+            return sortedLatencies[Math.max(0, index)] / 1_000_000.0;
+        }
+    }
+}
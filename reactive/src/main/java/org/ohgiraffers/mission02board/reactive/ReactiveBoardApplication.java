@@ -0,0 +1,17 @@
+package org.ohgiraffers.mission02board.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+/** 게시글 API 의 리액티브 버전 (WebFlux + R2DBC)
+ *  블로킹 버전(Mission02BoardApplication)과 같은 /api/v1/posts 요청, 응답 형식을 사용한다. (DTO 소스를 함께 컴파일한다)
+ *  요청을 처리하는 동안 DB 응답을 기다리며 스레드를 붙잡지 않으므로, 적은 수의 이벤트 루프 스레드로 많은 동시 요청을 처리한다.
+ */
+@SpringBootApplication
+public class ReactiveBoardApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(ReactiveBoardApplication.class, args);
+    }
+
+}
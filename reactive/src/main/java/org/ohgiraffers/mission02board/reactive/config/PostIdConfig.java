@@ -0,0 +1,19 @@
+package org.ohgiraffers.mission02board.reactive.config;
+
+import org.ohgiraffers.mission02board.domain.id.SnowflakeIdGenerator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/** 게시글 ID 생성기
+ *  R2DBC 에는 Hibernate 의 ID 생성 전략이 없으므로, INSERT 전에 Snowflake ID 를 직접 만든다.
+ *  블로킹 버전과 같은 DB 를 함께 사용한다면, 블로킹 버전도 snowflake 전략을 사용하고 worker-id 를 서로 다르게 설정해야 한다.
+ */
+@Configuration
+public class PostIdConfig {
+
+    @Bean
+    public SnowflakeIdGenerator snowflakeIdGenerator(@Value("${post.id.worker-id:1}") long workerId) {
+        return new SnowflakeIdGenerator(workerId);
+    }
+}
@@ -0,0 +1,102 @@
+package org.ohgiraffers.mission02board.reactive.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.ohgiraffers.mission02board.dto.*;
+import org.ohgiraffers.mission02board.reactive.service.ReactivePostService;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/** 블로킹 버전 PostController 와 같은 /api/v1/posts 요청, 응답 형식
+ *  핸들러는 Mono/Flux 를 반환하고 바로 끝나며, 결과가 준비되면 WebFlux 가 응답을 쓴다.
+ *
+ *  지원하지 않는 기능 : 대량 등록, 검색, 인기 게시글, 조건부 요청(ETag, If-Match)
+ */
+@RestController
+@RequestMapping("/api/v1/posts")
+@RequiredArgsConstructor
+public class ReactivePostController {
+
+    private static final int DEFAULT_PAGE_SIZE = 5;
+
+    private final ReactivePostService postService;
+
+    @PostMapping
+    public Mono<ResponseEntity<CreatePostResponse>> postCreate(@RequestBody CreatePostRequest request) {
+
+        return postService.createPost(request)
+                .map(response -> new ResponseEntity<>(response, HttpStatus.OK));
+    }
+
+    @GetMapping("/{postId}")
+    public Mono<ResponseEntity<ReadPostResponse>> postRead(@PathVariable Long postId) {
+
+        return postService.readPostById(postId)
+                .map(response -> new ResponseEntity<>(response, HttpStatus.OK));
+    }
+
+    @PutMapping("/{postId}")
+    public Mono<ResponseEntity<UpdatePostResponse>> postUpdate(@PathVariable Long postId,
+                                                               @RequestBody UpdatePostRequest request,
+                                                               @RequestHeader(value = "Prefer", required = false) String prefer) {
+
+        return postService.updatePost(postId, request)
+                .map(response -> isReturnMinimal(prefer)
+                        ? new ResponseEntity<UpdatePostResponse>(HttpStatus.NO_CONTENT)
+                        : new ResponseEntity<>(response, HttpStatus.OK));
+    }
+
+    @DeleteMapping("/{postId}")
+    public Mono<ResponseEntity<DeletePostResponse>> postDelete(@PathVariable Long postId,
+                                                               @RequestHeader(value = "Prefer", required = false) String prefer) {
+
+        return postService.deletePost(postId)
+                .map(response -> isReturnMinimal(prefer)
+                        ? new ResponseEntity<DeletePostResponse>(HttpStatus.NO_CONTENT)
+                        : new ResponseEntity<>(response, HttpStatus.OK));
+    }
+
+    /* WebFlux 에는 @PageableDefault 를 처리하는 인자 변환기가 없으므로 page, size 를 직접 받는다.
+    *   count : approximate, exact 는 count 쿼리로 전체 개수를 구하고, none 은 전체 개수 없이 조회한다.*/
+    @GetMapping
+    public Mono<ResponseEntity<Slice<PostSummaryResponse>>> postReadAll(@RequestParam(defaultValue = "0") int page,
+                                                                      @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int size,
+                                                                      @RequestParam(defaultValue = "approximate") String count) {
+
+        if (!count.equalsIgnoreCase("approximate") && !count.equalsIgnoreCase("exact") && !count.equalsIgnoreCase("none")) {
+            return Mono.error(new IllegalArgumentException("count 는 approximate, exact, none 중 하나로 입력해주세요."));
+        }
+
+        return Mono.fromCallable(() -> PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "postId")))
+                .flatMap(pageable -> postService.readAllPost(pageable, !count.equalsIgnoreCase("none")))
+                .map(response -> new ResponseEntity<>(response, HttpStatus.OK));
+    }
+
+    @GetMapping("/cursor")
+    public Mono<ResponseEntity<CursorResponse<PostSummaryResponse>>> postReadAfter(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "5") int size) {
+
+        return postService.readPostsAfter(after, size)
+                .map(response -> new ResponseEntity<>(response, HttpStatus.OK));
+    }
+
+    /* 게시글 전체 내보내기 (NDJSON)
+    *   Flux 를 그대로 반환하면 게시글 한 건마다 한 줄씩 바로 응답으로 쓴다.
+    *   클라이언트가 느리게 읽으면 네트워크 쓰기 -> Flux -> R2DBC 순서로 요청량이 줄어들어서(backpressure),
+    *   읽은 게시글이 메모리에 쌓이지 않는다.*/
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<ReadPostResponse> postExport() {
+        return postService.exportPosts();
+    }
+
+    private boolean isReturnMinimal(String prefer) {
+        return prefer != null && prefer.contains("return=minimal");
+    }
+}
@@ -0,0 +1,31 @@
+package org.ohgiraffers.mission02board.reactive.controller;
+
+import org.ohgiraffers.mission02board.dto.ErrorResponse;
+import org.ohgiraffers.mission02board.reactive.service.PostNotFoundException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/** 블로킹 버전 PostExceptionHandler 와 같은 상태 코드, 응답 본문으로 예외를 처리한다.
+ *  Mono.error 로 전달된 예외도 같은 방법으로 처리된다.
+ */
+@RestControllerAdvice
+public class ReactivePostExceptionHandler {
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ErrorResponse> handleIllegalArgument(IllegalArgumentException e) {
+
+        ErrorResponse response = new ErrorResponse(HttpStatus.BAD_REQUEST.value(), e.getMessage());
+
+        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(PostNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handlePostNotFound(PostNotFoundException e) {
+
+        ErrorResponse response = new ErrorResponse(HttpStatus.NOT_FOUND.value(), e.getMessage());
+
+        return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
+    }
+}
@@ -0,0 +1,35 @@
+package org.ohgiraffers.mission02board.reactive.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.ohgiraffers.mission02board.domain.PostContentCodec;
+import org.ohgiraffers.mission02board.dto.ReadPostResponse;
+
+import java.time.Instant;
+
+/** post 와 post_content 를 함께 읽은 결과
+ *  content 는 저장된 형식(PostContentCodec) 그대로이고, toResponse() 에서 압축을 푼다.
+ *  R2DBC 에는 JPA 의 AttributeConverter 가 없으므로 블로킹 버전의 PostContentConverter 대신 직접 변환한다.
+ */
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class PostDetailRecord {
+
+    private Long postId;
+
+    private String title;
+
+    private byte[] content;
+
+    private Long version;
+
+    private Instant lastModifiedAt;
+
+    private Long viewCount;
+
+    public ReadPostResponse toResponse() {
+        return new ReadPostResponse(postId, title, PostContentCodec.decode(content), version, lastModifiedAt, viewCount);
+    }
+}
@@ -0,0 +1,35 @@
+package org.ohgiraffers.mission02board.reactive.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.Instant;
+
+/** post 테이블 (블로킹 버전의 Post 엔티티와 같은 테이블)
+ *  R2DBC 는 영속성 컨텍스트, 지연 로딩, 변경 감지가 없다. 조회, 수정은 ReactivePostRepository 의 쿼리로 바로 처리한다.
+ */
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@Table("post")
+public class PostRecord {
+
+    @Id
+    private Long postId;
+
+    private String title;
+
+    // 목록용 내용의 앞부분, 내용 전체는 post_content 테이블에 있다. (PostDetailRecord)
+    private String preview;
+
+    @Version
+    private Long version;
+
+    private Instant lastModifiedAt;
+
+    private Long viewCount;
+}
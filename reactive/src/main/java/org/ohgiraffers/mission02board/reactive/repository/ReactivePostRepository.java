@@ -0,0 +1,68 @@
+package org.ohgiraffers.mission02board.reactive.repository;
+
+import org.ohgiraffers.mission02board.dto.PostSummaryResponse;
+import org.ohgiraffers.mission02board.reactive.domain.PostDetailRecord;
+import org.ohgiraffers.mission02board.reactive.domain.PostRecord;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+/** 블로킹 버전 PostRepository 의 리액티브 버전
+ *  결과는 Mono(0~1 건), Flux(여러 건)로 반환되고, 구독할 때 쿼리가 실행된다.
+ *  조회 결과는 컬럼 이름(snake_case)과 필드 이름(camelCase)을 맞춰서 DTO 로 바로 만든다.
+ */
+public interface ReactivePostRepository extends R2dbcRepository<PostRecord, Long> {
+
+    String SUMMARY_COLUMNS = "post_id, title, preview, version";
+
+    String DETAIL_QUERY = "select p.post_id, p.title, c.content, p.version, p.last_modified_at, p.view_count "
+            + "from post p left join post_content c on c.post_id = p.post_id ";
+
+    @Modifying
+    @Query("insert into post (post_id, title, preview, version, last_modified_at, view_count) "
+            + "values (:postId, :title, :preview, 0, :lastModifiedAt, 0)")
+    Mono<Integer> insert(Long postId, String title, String preview, Instant lastModifiedAt);
+
+    // 내용 행이 없으면 저장하고, 있으면 수정한다. content 는 PostContentCodec 으로 변환한 값
+    @Modifying
+    @Query("insert into post_content (post_id, content) values (:postId, :content) "
+            + "on duplicate key update content = values(content)")
+    Mono<Integer> upsertContent(Long postId, byte[] content);
+
+    @Query(DETAIL_QUERY + "where p.post_id = :postId")
+    Mono<PostDetailRecord> findDetailById(Long postId);
+
+    @Modifying
+    @Query("update post set title = :title, preview = :preview, version = version + 1, "
+            + "last_modified_at = :lastModifiedAt where post_id = :postId")
+    Mono<Integer> updateTitleAndPreview(Long postId, String title, String preview, Instant lastModifiedAt);
+
+    @Query("select version from post where post_id = :postId")
+    Mono<Long> findVersionById(Long postId);
+
+    @Modifying
+    @Query("delete from post where post_id = :postId")
+    Mono<Integer> deletePostById(Long postId);
+
+    @Modifying
+    @Query("delete from post_content where post_id = :postId")
+    Mono<Integer> deleteContentById(Long postId);
+
+    @Query("select " + SUMMARY_COLUMNS + " from post order by post_id desc limit :limit offset :offset")
+    Flux<PostSummaryResponse> findSummaries(long offset, int limit);
+
+    @Query("select " + SUMMARY_COLUMNS + " from post where post_id < :postId order by post_id desc limit :limit")
+    Flux<PostSummaryResponse> findSummariesByPostIdLessThan(Long postId, int limit);
+
+    @Query("select " + SUMMARY_COLUMNS + " from post order by post_id desc limit :limit")
+    Flux<PostSummaryResponse> findLatestSummaries(int limit);
+
+    /* 전체 게시글을 흘려보내는 조회
+    *   구독자가 요청(request(n))한 만큼만 DB 에서 가져오기 때문에(backpressure), 응답을 보내는 속도보다 빨리 읽지 않는다.*/
+    @Query(DETAIL_QUERY + "order by p.post_id")
+    Flux<PostDetailRecord> streamAll();
+}
@@ -0,0 +1,9 @@
+package org.ohgiraffers.mission02board.reactive.service;
+
+// 블로킹 버전의 EntityNotFoundException(JPA) 대신 사용한다.
+public class PostNotFoundException extends RuntimeException {
+
+    public PostNotFoundException() {
+        super("해당 postId로 조회된 게시글이 없습니다.");
+    }
+}
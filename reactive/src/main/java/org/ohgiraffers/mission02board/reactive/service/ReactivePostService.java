@@ -0,0 +1,145 @@
+package org.ohgiraffers.mission02board.reactive.service;
+
+import org.ohgiraffers.mission02board.domain.PostContentCodec;
+import org.ohgiraffers.mission02board.domain.id.SnowflakeIdGenerator;
+import org.ohgiraffers.mission02board.dto.*;
+import org.ohgiraffers.mission02board.reactive.domain.PostDetailRecord;
+import org.ohgiraffers.mission02board.reactive.repository.ReactivePostRepository;
+import org.ohgiraffers.mission02board.service.PostCursor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.List;
+
+/** 블로킹 버전 PostService 의 리액티브 버전
+ *  모든 메서드는 바로 반환되고, 반환한 Mono/Flux 를 WebFlux 가 구독할 때 쿼리가 실행된다.
+ *  게시글과 내용을 함께 쓰는 작성, 수정, 삭제만 트랜잭션을 열고, 조회는 쿼리 하나로 끝나므로 열지 않는다.
+ *
+ *  블로킹 버전과 다른 점
+ *  - 게시글 캐시, 조회수, 이벤트(아웃박스, 검색 색인, 인기 게시글)는 블로킹 버전에만 있다.
+ *  - 목록의 전체 개수는 count 쿼리로 구한다. (count=none 이면 Slice)
+ *  - 목록은 postId 내림차순만 지원한다.
+ */
+@Service
+public class ReactivePostService {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final ReactivePostRepository postRepository;
+
+    private final SnowflakeIdGenerator snowflakeIdGenerator;
+
+    private final long compressionThreshold;
+
+    public ReactivePostService(ReactivePostRepository postRepository,
+                               SnowflakeIdGenerator snowflakeIdGenerator,
+                               @Value("${post.content.compression-threshold:1KB}") DataSize compressionThreshold) {
+        this.postRepository = postRepository;
+        this.snowflakeIdGenerator = snowflakeIdGenerator;
+        this.compressionThreshold = compressionThreshold.toBytes();
+    }
+
+    /* 게시글(post)과 내용(post_content)을 두 번에 나눠 저장하므로 트랜잭션으로 묶는다. (R2dbcTransactionManager)*/
+    @Transactional
+    public Mono<CreatePostResponse> createPost(CreatePostRequest request) {
+
+        Long postId = snowflakeIdGenerator.nextId();
+
+        return postRepository.insert(postId, request.getTitle(), PostSummaryResponse.preview(request.getContent()), Instant.now())
+                .then(postRepository.upsertContent(postId, encode(request.getContent())))
+                .thenReturn(new CreatePostResponse(postId, request.getTitle(), request.getContent()));
+    }
+
+    public Mono<ReadPostResponse> readPostById(Long postId) {
+
+        return postRepository.findDetailById(postId)
+                .map(PostDetailRecord::toResponse)
+                .switchIfEmpty(Mono.error(PostNotFoundException::new));
+    }
+
+    @Transactional
+    public Mono<UpdatePostResponse> updatePost(Long postId, UpdatePostRequest request) {
+
+        return postRepository.updateTitleAndPreview(postId, request.getTitle(), PostSummaryResponse.preview(request.getContent()), Instant.now())
+                .flatMap(updatedCount -> updatedCount == 0
+                        ? Mono.error(new PostNotFoundException())
+                        : postRepository.upsertContent(postId, encode(request.getContent()))
+                                // 블로킹 버전과 같이 수정된 뒤의 버전을 같은 트랜잭션에서 읽어서 응답에 담는다.
+                                .then(postRepository.findVersionById(postId))
+                                .map(version -> new UpdatePostResponse(postId, request.getTitle(), request.getContent(), version)));
+    }
+
+    @Transactional
+    public Mono<DeletePostResponse> deletePost(Long postId) {
+
+        return postRepository.deletePostById(postId)
+                .flatMap(deletedCount -> deletedCount == 0
+                        ? Mono.error(new PostNotFoundException())
+                        : postRepository.deleteContentById(postId)
+                                .thenReturn(new DeletePostResponse(postId, null, null)));
+    }
+
+    /* counted 가 true 이면 목록 쿼리와 count 쿼리를 동시에 실행해서(zip) 둘 다 끝나면 Page 를 만든다.
+    *   false 이면 size + 1 개를 조회해서 다음 페이지가 있는지만 판단한다. (Slice)*/
+    public Mono<Slice<PostSummaryResponse>> readAllPost(Pageable pageable, boolean counted) {
+
+        Sort.Order order = pageable.getSort().getOrderFor("postId");
+
+        if (pageable.getSort().stream().count() != 1 || order == null || order.isAscending()) {
+            return Mono.error(new IllegalArgumentException("postId 내림차순 정렬만 지원합니다."));
+        }
+
+        int size = pageable.getPageSize();
+
+        // 커서 목록과 같은 상한 : 큰 size 한 번으로 테이블 전체를 메모리에 모으지 않게 한다.
+        if (size > MAX_PAGE_SIZE) {
+            return Mono.error(new IllegalArgumentException("size 는 1 이상 " + MAX_PAGE_SIZE + " 이하로 입력해주세요."));
+        }
+
+        if (counted) {
+            return Mono.zip(postRepository.findSummaries(pageable.getOffset(), size).collectList(), postRepository.count())
+                    .map(result -> new PageImpl<>(result.getT1(), pageable, result.getT2()));
+        }
+
+        return postRepository.findSummaries(pageable.getOffset(), size + 1).collectList()
+                .map(posts -> new SliceImpl<>(posts.subList(0, Math.min(size, posts.size())), pageable, posts.size() > size));
+    }
+
+    public Mono<CursorResponse<PostSummaryResponse>> readPostsAfter(String cursor, int size) {
+
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            return Mono.error(new IllegalArgumentException("size 는 1 이상 " + MAX_PAGE_SIZE + " 이하로 입력해주세요."));
+        }
+
+        Flux<PostSummaryResponse> posts = (cursor == null || cursor.isBlank())
+                ? postRepository.findLatestSummaries(size + 1)
+                : Mono.fromCallable(() -> PostCursor.decode(cursor))
+                        .flatMapMany(postId -> postRepository.findSummariesByPostIdLessThan(postId, size + 1));
+
+        return posts.collectList().map(list -> {
+            boolean hasNext = list.size() > size;
+            List<PostSummaryResponse> content = list.subList(0, Math.min(size, list.size()));
+            String nextCursor = hasNext ? PostCursor.encode(content.get(content.size() - 1).getPostId()) : null;
+
+            return new CursorResponse<>(content, nextCursor, hasNext);
+        });
+    }
+
+    public Flux<ReadPostResponse> exportPosts() {
+        return postRepository.streamAll().map(PostDetailRecord::toResponse);
+    }
+
+    private byte[] encode(String content) {
+        return PostContentCodec.encode(content, compressionThreshold);
+    }
+}
@@ -0,0 +1,145 @@
+package org.ohgiraffers.mission02board.reactive.controller;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.ohgiraffers.mission02board.dto.*;
+import org.ohgiraffers.mission02board.reactive.service.PostNotFoundException;
+import org.ohgiraffers.mission02board.reactive.service.ReactivePostService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@WebFluxTest(ReactivePostController.class)
+public class ReactivePostControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockBean
+    private ReactivePostService postService;
+
+    @Test
+    @DisplayName("게시글 등록 API 테스트")
+    void create_post_test() {
+        //given
+        CreatePostRequest request = new CreatePostRequest("테스트 제목", "테스트 내용");
+        given(postService.createPost(any(CreatePostRequest.class)))
+                .willReturn(Mono.just(new CreatePostResponse(1L, "테스트 제목", "테스트 내용")));
+
+        //when & then
+        webTestClient.post().uri("/api/v1/posts")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.postId").isEqualTo(1)
+                .jsonPath("$.title").isEqualTo("테스트 제목");
+    }
+
+    @Test
+    @DisplayName("게시글 단건 조회 API 테스트")
+    void read_post_test() {
+        //given
+        given(postService.readPostById(1L))
+                .willReturn(Mono.just(new ReadPostResponse(1L, "테스트 제목", "테스트 내용", 0L, Instant.now(), 0L)));
+
+        //when & then
+        webTestClient.get().uri("/api/v1/posts/1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.title").isEqualTo("테스트 제목");
+    }
+
+    @Test
+    @DisplayName("존재하지 않는 게시글을 조회하면 404 를 반환하는지 테스트")
+    void read_post_test_2() {
+        //given
+        given(postService.readPostById(1L)).willReturn(Mono.error(new PostNotFoundException()));
+
+        //when & then
+        webTestClient.get().uri("/api/v1/posts/1")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(404);
+    }
+
+    @Test
+    @DisplayName("Prefer: return=minimal 로 게시글을 삭제하면 204 를 반환하는지 테스트")
+    void delete_post_test() {
+        //given
+        given(postService.deletePost(1L)).willReturn(Mono.just(new DeletePostResponse(1L, null, null)));
+
+        //when & then
+        webTestClient.delete().uri("/api/v1/posts/1")
+                .header("Prefer", "return=minimal")
+                .exchange()
+                .expectStatus().isNoContent()
+                .expectBody().isEmpty();
+    }
+
+    @Test
+    @DisplayName("게시글 목록 조회 API 테스트 (count=none 이면 전체 개수 없이 조회)")
+    void read_all_post_test() {
+        //given
+        Pageable pageable = PageRequest.of(0, 5, Sort.by(Sort.Direction.DESC, "postId"));
+        given(postService.readAllPost(eq(pageable), eq(false)))
+                .willReturn(Mono.just(new PageImpl<>(List.of(new PostSummaryResponse(1L, "테스트 제목", "테스트 내용", 0L)))));
+
+        //when & then
+        webTestClient.get().uri("/api/v1/posts?count=none")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.content[0].postId").isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("count 값이 잘못되면 400 을 반환하고 서비스를 호출하지 않는지 테스트")
+    void read_all_post_test_2() {
+        //when & then
+        webTestClient.get().uri("/api/v1/posts?count=wrong")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verify(postService, never()).readAllPost(any(), anyBoolean());
+    }
+
+    @Test
+    @DisplayName("게시글 내보내기가 한 줄에 게시글 하나씩 NDJSON 으로 응답하는지 테스트")
+    void export_post_test() {
+        //given
+        given(postService.exportPosts()).willReturn(Flux.just(
+                new ReadPostResponse(1L, "제목1", "내용1", 0L, Instant.now(), 0L),
+                new ReadPostResponse(2L, "제목2", "내용2", 0L, Instant.now(), 0L)));
+
+        //when & then
+        webTestClient.get().uri("/api/v1/posts/export")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(ReadPostResponse.class)
+                .hasSize(2);
+    }
+}
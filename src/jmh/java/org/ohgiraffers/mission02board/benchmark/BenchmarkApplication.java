@@ -0,0 +1,52 @@
+package org.ohgiraffers.mission02board.benchmark;
+
+import org.ohgiraffers.mission02board.Mission02BoardApplication;
+import org.ohgiraffers.mission02board.dto.CreatePostRequest;
+import org.ohgiraffers.mission02board.service.PostService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/* 벤치마크에서 사용할 애플리케이션을 bench 프로필(H2)로 실행하고, 게시글을 미리 저장해둔다.*/
+final class BenchmarkApplication {
+
+    static final int SEED_POSTS = 10_000;
+
+    // 미리보기(PREVIEW_LENGTH)보다 길어서 목록과 단건 조회의 응답 크기가 다르다.
+    // 내용은 post_content 와 아웃박스에 PostContent.MAX_STORED_BYTES 까지 저장되므로 255자보다 길어도 된다.
+    static final int SEED_CONTENT_LENGTH = 500;
+
+    private BenchmarkApplication() {
+    }
+
+    static ConfigurableApplicationContext start() {
+
+        return new SpringApplicationBuilder(Mission02BoardApplication.class)
+                .profiles("bench")
+                .logStartupInfo(false)
+                .run();
+    }
+
+    static long[] seed(ConfigurableApplicationContext context) {
+
+        PostService postService = context.getBean(PostService.class);
+        long[] postIds = new long[SEED_POSTS];
+
+        for (int i = 0; i < SEED_POSTS; i++) {
+            postIds[i] = postService.createPost(new CreatePostRequest("벤치마크 제목 " + i, content(i, SEED_CONTENT_LENGTH)))
+                    .getPostId();
+        }
+
+        return postIds;
+    }
+
+    static String content(int seed, int length) {
+
+        StringBuilder content = new StringBuilder(length);
+
+        while (content.length() < length) {
+            content.append("게시글 내용 ").append(seed).append(' ');
+        }
+
+        return content.substring(0, length);
+    }
+}
@@ -0,0 +1,66 @@
+package org.ohgiraffers.mission02board.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.ohgiraffers.mission02board.dto.CreatePostRequest;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/* DispatcherServlet 부터 컨트롤러, 서비스, DB, 직렬화까지 요청 전체 경로를 MockMvc 로 측정한다.*/
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class MockMvcBenchmark {
+
+    private ConfigurableApplicationContext context;
+
+    private MockMvc mockMvc;
+
+    private long[] postIds;
+
+    private byte[] createBody;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        context = BenchmarkApplication.start();
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context).build();
+        postIds = BenchmarkApplication.seed(context);
+        createBody = new ObjectMapper().writeValueAsBytes(new CreatePostRequest("벤치마크 제목", "벤치마크 내용"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public MvcResult readPost() throws Exception {
+        long postId = postIds[ThreadLocalRandom.current().nextInt(postIds.length)];
+        return mockMvc.perform(get("/api/v1/posts/{postId}", postId)).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult readAllPost() throws Exception {
+        return mockMvc.perform(get("/api/v1/posts")).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult createPost() throws Exception {
+        return mockMvc.perform(post("/api/v1/posts")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(createBody)).andReturn();
+    }
+}
@@ -0,0 +1,105 @@
+package org.ohgiraffers.mission02board.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.ohgiraffers.mission02board.dto.PostSummaryResponse;
+import org.ohgiraffers.mission02board.dto.ReadPostResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/* 응답 표현(json / cbor / smile)과 압축(none / gzip)별 직렬화 CPU 비용과 응답 크기를 측정한다.
+*   시간 : 직렬화 + 압축에 걸린 평균 시간 (us/op)
+*   크기 : Payload.bytes 보조 카운터 (한 번 응답할 때 실제로 전송되는 바이트 수)*/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PayloadBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    @Param({"none", "gzip"})
+    public String compression;
+
+    @Param({"100", "10000"})
+    public int contentLength;
+
+    private ObjectMapper objectMapper;
+
+    private ReadPostResponse post;
+
+    private Page<PostSummaryResponse> page;
+
+    /* @AuxCounters(EVENTS) : 필드 값이 측정 결과에 함께 출력된다.
+    *   매 호출마다 크기를 덮어쓰므로 결과의 bytes 는 응답 1건의 크기가 된다. (스레드 1개 기준)*/
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Payload {
+
+        public long bytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytes = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = switch (format) {
+            case "cbor" -> CBORMapper.builder().findAndAddModules().build();
+            case "smile" -> SmileMapper.builder().findAndAddModules().build();
+            default -> JsonMapper.builder().findAndAddModules().build();
+        };
+
+        post = new ReadPostResponse(1L, "벤치마크 제목", BenchmarkApplication.content(1, contentLength), 0L, Instant.now(), 0L);
+
+        List<PostSummaryResponse> posts = new ArrayList<>();
+        for (long postId = 1; postId <= 20; postId++) {
+            String preview = BenchmarkApplication.content((int) postId, Math.min(contentLength, PostSummaryResponse.PREVIEW_LENGTH));
+            posts.add(new PostSummaryResponse(postId, "벤치마크 제목", preview, 0L));
+        }
+        page = new PageImpl<>(posts, PageRequest.of(0, 20), 10_000);
+    }
+
+    @Benchmark
+    public byte[] writePost(Payload payload) throws IOException {
+        return write(post, payload);
+    }
+
+    @Benchmark
+    public byte[] writePage(Payload payload) throws IOException {
+        return write(page, payload);
+    }
+
+    private byte[] write(Object value, Payload payload) throws IOException {
+
+        byte[] body = objectMapper.writeValueAsBytes(value);
+
+        if ("gzip".equals(compression)) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 2 + 64);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+                gzip.write(body);
+            }
+            body = out.toByteArray();
+        }
+
+        payload.bytes = body.length;
+        return body;
+    }
+}
@@ -0,0 +1,87 @@
+package org.ohgiraffers.mission02board.benchmark;
+
+import org.ohgiraffers.mission02board.dto.*;
+import org.ohgiraffers.mission02board.service.PostCountMode;
+import org.ohgiraffers.mission02board.service.PostService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/* PostService 의 CRUD, 목록 조회를 H2 위에서 측정한다.*/
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class PostServiceBenchmark {
+
+    private ConfigurableApplicationContext context;
+
+    private PostService postService;
+
+    private long[] postIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        postService = context.getBean(PostService.class);
+        postIds = BenchmarkApplication.seed(context);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public CreatePostResponse createPost() {
+        return postService.createPost(new CreatePostRequest("벤치마크 제목", "벤치마크 내용"));
+    }
+
+    @Benchmark
+    public ReadPostResponse readPostById() {
+        return postService.readPostById(randomPostId());
+    }
+
+    @Benchmark
+    public UpdatePostResponse updatePost() {
+        return postService.updatePost(randomPostId(), new UpdatePostRequest("수정된 제목", "수정된 내용"), null);
+    }
+
+    @Benchmark
+    public DeletePostResponse createAndDeletePost() {
+        Long postId = postService.createPost(new CreatePostRequest("삭제할 제목", "삭제할 내용")).getPostId();
+        return postService.deletePost(postId);
+    }
+
+    @Benchmark
+    public Slice<PostSummaryResponse> readAllPostFirstPage() {
+        return postService.readAllPost(PageRequest.of(0, 5, Sort.by(Sort.Direction.DESC, "postId")), PostCountMode.APPROXIMATE);
+    }
+
+    // 비교용 : 매번 count 쿼리를 실행한다.
+    @Benchmark
+    public Slice<PostSummaryResponse> readAllPostFirstPageExactCount() {
+        return postService.readAllPost(PageRequest.of(0, 5, Sort.by(Sort.Direction.DESC, "postId")), PostCountMode.EXACT);
+    }
+
+    @Benchmark
+    public Slice<PostSummaryResponse> readAllPostDeepPage() {
+        return postService.readAllPost(PageRequest.of(1_000, 5, Sort.by(Sort.Direction.DESC, "postId")), PostCountMode.APPROXIMATE);
+    }
+
+    @Benchmark
+    public CursorResponse<PostSummaryResponse> readPostsAfterFirstPage() {
+        return postService.readPostsAfter(null, 5);
+    }
+
+    private long randomPostId() {
+        return postIds[ThreadLocalRandom.current().nextInt(postIds.length)];
+    }
+}
@@ -0,0 +1,52 @@
+package org.ohgiraffers.mission02board.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.ohgiraffers.mission02board.dto.ReadPostResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/* ReadPostResponse, Page<ReadPostResponse> 의 Jackson 직렬화 비용을 본문 길이별로 측정한다.*/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"100", "10000"})
+    public int contentLength;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private ReadPostResponse post;
+
+    private Page<ReadPostResponse> page;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        post = new ReadPostResponse(1L, "벤치마크 제목", BenchmarkApplication.content(1, contentLength), 0L, null, 0L);
+
+        List<ReadPostResponse> posts = new ArrayList<>();
+        for (long postId = 1; postId <= 20; postId++) {
+            posts.add(new ReadPostResponse(postId, "벤치마크 제목", BenchmarkApplication.content((int) postId, contentLength), 0L, null, 0L));
+        }
+        page = new PageImpl<>(posts, PageRequest.of(0, 20), 10_000);
+    }
+
+    @Benchmark
+    public byte[] serializePost() throws Exception {
+        return objectMapper.writeValueAsBytes(post);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws Exception {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
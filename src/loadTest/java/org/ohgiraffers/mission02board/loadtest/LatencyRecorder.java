@@ -0,0 +1,85 @@
+package org.ohgiraffers.mission02board.loadtest;
+
+import org.ohgiraffers.mission02board.loadtest.OperationMix.Operation;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/** 요청 종류별 지연 시간(ns)과 실패 수
+ *  작업 스레드마다 하나씩 쓰고(동기화 없음), 측정이 끝나면 merge 로 합친다.
+ *  지연 시간은 모두 저장해 두고 정렬해서 백분위를 구한다. (요청 100만 건이면 8MB)
+ */
+final class LatencyRecorder {
+
+    private final Map<Operation, long[]> latencies = new EnumMap<>(Operation.class);
+
+    private final Map<Operation, Integer> sizes = new EnumMap<>(Operation.class);
+
+    private final Map<Operation, Integer> failures = new EnumMap<>(Operation.class);
+
+    void record(Operation operation, long latencyNanos) {
+
+        long[] values = latencies.computeIfAbsent(operation, key -> new long[1024]);
+        int size = sizes.getOrDefault(operation, 0);
+
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+            latencies.put(operation, values);
+        }
+
+        values[size] = latencyNanos;
+        sizes.put(operation, size + 1);
+    }
+
+    void fail(Operation operation) {
+        failures.merge(operation, 1, Integer::sum);
+    }
+
+    void merge(LatencyRecorder other) {
+
+        other.latencies.forEach((operation, values) -> {
+            for (int i = 0; i < other.sizes.get(operation); i++) {
+                record(operation, values[i]);
+            }
+        });
+        other.failures.forEach((operation, count) -> failures.merge(operation, count, Integer::sum));
+    }
+
+    /* 종류별 요약과 전체(total) 요약, elapsedNanos 는 측정 구간의 시간*/
+    Map<String, LoadTestReport.Summary> summarize(long elapsedNanos) {
+
+        Map<String, LoadTestReport.Summary> summaries = new LinkedHashMap<>();
+        long[] all = new long[0];
+        int allFailures = 0;
+
+        for (Operation operation : Operation.values()) {
+            int size = sizes.getOrDefault(operation, 0);
+            int failed = failures.getOrDefault(operation, 0);
+
+            if (size == 0 && failed == 0) {
+                continue;
+            }
+
+            long[] sorted = size == 0 ? new long[0] : Arrays.copyOf(latencies.get(operation), size);
+            Arrays.sort(sorted);
+            summaries.put(operation.name().toLowerCase(Locale.ROOT), LoadTestReport.Summary.of(sorted, failed, elapsedNanos));
+
+            all = concat(all, sorted);
+            allFailures += failed;
+        }
+
+        Arrays.sort(all);
+        summaries.put(LoadTestReport.TOTAL, LoadTestReport.Summary.of(all, allFailures, elapsedNanos));
+
+        return summaries;
+    }
+
+    private static long[] concat(long[] a, long[] b) {
+        long[] result = Arrays.copyOf(a, a.length + b.length);
+        System.arraycopy(b, 0, result, a.length, b.length);
+        return result;
+    }
+}
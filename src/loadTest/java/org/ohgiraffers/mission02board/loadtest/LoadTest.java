@@ -0,0 +1,354 @@
+package org.ohgiraffers.mission02board.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.ohgiraffers.mission02board.Mission02BoardApplication;
+import org.ohgiraffers.mission02board.dto.BulkCreatePostResponse;
+import org.ohgiraffers.mission02board.dto.CreatePostRequest;
+import org.ohgiraffers.mission02board.dto.CreatePostResponse;
+import org.ohgiraffers.mission02board.dto.UpdatePostRequest;
+import org.ohgiraffers.mission02board.loadtest.OperationMix.Operation;
+import org.ohgiraffers.mission02board.service.PostBulkService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/** 부하 테스트 (./gradlew loadTest)
+ *  애플리케이션을 loadtest 프로필(H2 메모리 DB)로 실행하고, 게시글을 미리 저장한 뒤
+ *  작성, 조회, 수정, 삭제, 목록 조회 요청을 정해진 비율로 HTTP 로 보내서 처리량과 지연 시간 백분위를 잰다.
+ *
+ *  - 조회, 수정할 게시글은 Zipf 분포로 고른다. (소수의 인기 게시글에 요청이 몰리는 실제 트래픽처럼)
+ *    인기 순위는 seed 로 섞어서, 가장 오래된(ID 가 작은) 게시글이 항상 가장 인기 있지 않게 한다.
+ *  - 목록 조회의 페이지도 Zipf 분포로 고른다. (앞 페이지일수록 많이 본다)
+ *  - 삭제는 테스트 중에 작성한 게시글만 지워서, 미리 저장한 게시글(조회 대상)이 줄어들지 않게 한다.
+ *    지울 게시글이 없으면 대신 작성한다.
+ *  - 같은 seed 면 같은 게시글을 저장하고, 클라이언트마다 같은 순서로 요청을 만든다.
+ *    (클라이언트끼리의 실행 순서, 삭제할 게시글은 실행할 때마다 달라질 수 있다)
+ *
+ *  클라이언트는 가상 스레드 concurrency 개이고, 각자 응답을 받은 뒤 다음 요청을 보낸다. (closed loop)
+ *  서버와 같은 JVM 에서 실행되므로 절대값보다 같은 환경에서 실행한 기준(baseline)과의 비교에 쓴다.
+ *  실패 비율이 maxFailureRate 를 넘거나, 기준 파일이 없거나, 기준보다 나빠지면 종료 코드 1 로 끝나서 gradle 작업이 실패한다.
+ */
+public class LoadTest {
+
+    private static final String POSTS_PATH = "/api/v1/posts";
+
+    private static final int SEED_CHUNK_SIZE = 5_000;
+
+    private static final int LIST_PAGES = 50;
+
+    private static final int LIST_PAGE_SIZE = 20;
+
+    // 미리보기만 채우는 길이, 압축 기준(1KB)보다 짧은 길이, 압축되는 길이
+    // (post_content 와 아웃박스는 같은 컬럼 형식으로 저장하므로 255자보다 길어도 된다. PostServiceIntegrationTest)
+    private static final int[] CONTENT_LENGTHS = {100, 800, 4_000};
+
+    private final HttpClient client;
+
+    private final String baseUrl;
+
+    private final ObjectMapper objectMapper;
+
+    private final OperationMix mix;
+
+    private final long[] postIdsByPopularity;
+
+    private final ZipfDistribution postRanks;
+
+    private final ZipfDistribution pages;
+
+    private final ConcurrentLinkedQueue<Long> createdPostIds = new ConcurrentLinkedQueue<>();
+
+    private LoadTest(String baseUrl, ObjectMapper objectMapper, OperationMix mix, long[] postIdsByPopularity, double zipf) {
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        this.baseUrl = baseUrl;
+        this.objectMapper = objectMapper;
+        this.mix = mix;
+        this.postIdsByPopularity = postIdsByPopularity;
+        this.postRanks = new ZipfDistribution(postIdsByPopularity.length, zipf);
+        this.pages = new ZipfDistribution(LIST_PAGES, zipf);
+    }
+
+    public static void main(String[] args) throws Exception {
+
+        LoadTestOptions options = LoadTestOptions.parse(args);
+
+        ConfigurableApplicationContext context = start();
+
+        boolean passed;
+        try {
+            passed = run(context, options);
+        } finally {
+            context.close();
+        }
+
+        System.exit(passed ? 0 : 1);
+    }
+
+    /* properties : 이 실행에서만 바꿀 설정 (이름=값), 예) post.threads.virtual=true*/
+    static ConfigurableApplicationContext start(String... properties) {
+
+        return new SpringApplicationBuilder(Mission02BoardApplication.class)
+                .profiles("loadtest")
+                .properties(properties)
+                .logStartupInfo(false)
+                .run();
+    }
+
+    /* 게시글을 저장하고 워밍업, 측정 요청을 보낸 뒤 결과를 출력한다.*/
+    static LoadTestReport measure(ConfigurableApplicationContext context, LoadTestOptions options) throws Exception {
+
+        ObjectMapper objectMapper = context.getBean(ObjectMapper.class);
+        SplittableRandom random = new SplittableRandom(options.seed());
+
+        System.out.printf("게시글 %d 개 저장 중...%n", options.posts());
+        long[] postIds = seed(context.getBean(PostBulkService.class), objectMapper, options.posts(), random.split());
+        shuffle(postIds, random.split());
+
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        LoadTest loadTest = new LoadTest("http://localhost:" + port, objectMapper,
+                OperationMix.parse(options.mix()), postIds, options.zipf());
+
+        loadTest.runPhase(options.warmup(), options.concurrency(), random.split());
+
+        long startedAt = System.nanoTime();
+        LatencyRecorder recorder = loadTest.runPhase(options.requests(), options.concurrency(), random.split());
+        long elapsed = System.nanoTime() - startedAt;
+
+        LoadTestReport report = new LoadTestReport(options.workload(), recorder.summarize(elapsed));
+        report.print();
+
+        return report;
+    }
+
+    private static boolean run(ConfigurableApplicationContext context, LoadTestOptions options) throws Exception {
+
+        ObjectMapper objectMapper = context.getBean(ObjectMapper.class);
+
+        LoadTestReport report = measure(context, options);
+        write(objectMapper, options.result(), report);
+
+        // 실패가 많은 결과는 기준과 비교할 필요 없이 실패이고, 기준으로 저장하지도 않는다.
+        List<String> failures = report.failuresOver(options.maxFailureRate());
+
+        if (!failures.isEmpty()) {
+            System.out.println("실패한 요청이 너무 많습니다.");
+            failures.forEach(failure -> System.out.println("  - " + failure));
+            return false;
+        }
+
+        if (options.updateBaseline()) {
+            write(objectMapper, options.baseline(), report);
+            System.out.println("기준을 저장했습니다. : " + options.baseline());
+            return true;
+        }
+
+        if (Files.notExists(options.baseline())) {
+            System.out.println("기준 파일이 없습니다. -PupdateBaseline 으로 기준을 먼저 저장해주세요. : " + options.baseline());
+            return false;
+        }
+
+        LoadTestReport baseline = objectMapper.readValue(options.baseline().toFile(), LoadTestReport.class);
+
+        if (!baseline.workload().equals(report.workload())) {
+            System.out.println("기준과 조건이 다릅니다. 같은 조건으로 실행하거나 -PupdateBaseline 으로 기준을 바꿔주세요.");
+            System.out.println("기준 : " + baseline.workload());
+            return false;
+        }
+
+        List<String> regressions = report.regressionsAgainst(baseline, options.tolerance());
+
+        if (regressions.isEmpty()) {
+            System.out.printf("기준 대비 통과 (허용 오차 %.0f%%)%n", options.tolerance() * 100);
+            return true;
+        }
+
+        System.out.println("기준보다 나빠졌습니다.");
+        regressions.forEach(regression -> System.out.println("  - " + regression));
+        return false;
+    }
+
+    /* 요청 수를 클라이언트에 나눠주고, 모든 클라이언트가 끝나면 기록을 합친다.*/
+    private LatencyRecorder runPhase(int requests, int concurrency, SplittableRandom random) throws Exception {
+
+        List<Future<LatencyRecorder>> futures = new ArrayList<>(concurrency);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int index = 0; index < concurrency; index++) {
+                SplittableRandom clientRandom = random.split();
+                int clientRequests = requests / concurrency + (index < requests % concurrency ? 1 : 0);
+                futures.add(executor.submit(() -> runClient(clientRequests, clientRandom)));
+            }
+        }
+
+        LatencyRecorder merged = new LatencyRecorder();
+        for (Future<LatencyRecorder> future : futures) {
+            merged.merge(future.get());
+        }
+        return merged;
+    }
+
+    private LatencyRecorder runClient(int requests, SplittableRandom random) {
+
+        LatencyRecorder recorder = new LatencyRecorder();
+
+        for (int i = 0; i < requests; i++) {
+            Operation operation = mix.next(random);
+            Long deleteTarget = null;
+
+            if (operation == Operation.DELETE) {
+                deleteTarget = createdPostIds.poll();
+                if (deleteTarget == null) {
+                    operation = Operation.CREATE;
+                }
+            }
+
+            try {
+                HttpRequest request = request(operation, deleteTarget, random);
+
+                long sentAt = System.nanoTime();
+                HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                long latency = System.nanoTime() - sentAt;
+
+                if (response.statusCode() / 100 != 2) {
+                    recorder.fail(operation);
+                    continue;
+                }
+
+                recorder.record(operation, latency);
+
+                if (operation == Operation.CREATE) {
+                    createdPostIds.add(objectMapper.readValue(response.body(), CreatePostResponse.class).getPostId());
+                }
+            } catch (IOException e) {
+                recorder.fail(operation);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        return recorder;
+    }
+
+    private HttpRequest request(Operation operation, Long deleteTarget, SplittableRandom random) throws IOException {
+
+        return switch (operation) {
+            case READ -> get(POSTS_PATH + "/" + popularPostId(random));
+            case LIST -> get(POSTS_PATH + "?page=" + pages.sample(random) + "&size=" + LIST_PAGE_SIZE);
+            case CREATE -> json(POSTS_PATH, "POST",
+                    new CreatePostRequest("부하 테스트 제목 " + random.nextInt(1_000_000), content(random)));
+            case UPDATE -> json(POSTS_PATH + "/" + popularPostId(random), "PUT",
+                    new UpdatePostRequest("수정된 제목 " + random.nextInt(1_000_000), content(random)));
+            case DELETE -> HttpRequest.newBuilder(uri(POSTS_PATH + "/" + deleteTarget)).timeout(Duration.ofSeconds(30))
+                    .DELETE().build();
+        };
+    }
+
+    private long popularPostId(SplittableRandom random) {
+        return postIdsByPopularity[postRanks.sample(random)];
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(uri(path)).timeout(Duration.ofSeconds(30)).GET().build();
+    }
+
+    private HttpRequest json(String path, String method, Object body) throws IOException {
+        return HttpRequest.newBuilder(uri(path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                .build();
+    }
+
+    private URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+
+    /* 대량 등록(PostBulkService)으로 SEED_CHUNK_SIZE 개씩 저장하고, 저장된 postId 를 반환한다.*/
+    private static long[] seed(PostBulkService postBulkService, ObjectMapper objectMapper, int posts,
+                               SplittableRandom random) throws IOException {
+
+        long[] postIds = new long[posts];
+        int saved = 0;
+
+        while (saved < posts) {
+            int chunkSize = Math.min(SEED_CHUNK_SIZE, posts - saved);
+            ByteArrayOutputStream requestBody = new ByteArrayOutputStream();
+
+            for (int i = 0; i < chunkSize; i++) {
+                requestBody.write(objectMapper.writeValueAsBytes(new CreatePostRequest("부하 테스트 제목 " + (saved + i), content(random))));
+                requestBody.write('\n');
+            }
+
+            ByteArrayOutputStream responseBody = new ByteArrayOutputStream();
+            postBulkService.createPosts(new ByteArrayInputStream(requestBody.toByteArray()), responseBody);
+
+            for (String line : responseBody.toString(StandardCharsets.UTF_8).split("\n")) {
+                BulkCreatePostResponse result = objectMapper.readValue(line, BulkCreatePostResponse.class);
+
+                if (!result.isCreated()) {
+                    throw new IllegalStateException("게시글을 저장하지 못했습니다. : " + result.getMessage());
+                }
+                postIds[saved++] = result.getPostId();
+            }
+        }
+
+        return postIds;
+    }
+
+    private static String content(SplittableRandom random) {
+
+        int length = CONTENT_LENGTHS[random.nextInt(CONTENT_LENGTHS.length)];
+        StringBuilder content = new StringBuilder(length + 16);
+
+        while (content.length() < length) {
+            content.append("게시글 내용 ").append(random.nextInt(10_000)).append(' ');
+        }
+
+        return content.substring(0, length);
+    }
+
+    /* Fisher-Yates, 인기 순위(Zipf 의 순위)와 postId 의 순서를 섞는다.*/
+    private static void shuffle(long[] postIds, SplittableRandom random) {
+
+        for (int i = postIds.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            long postId = postIds[i];
+            postIds[i] = postIds[j];
+            postIds[j] = postId;
+        }
+    }
+
+    static void write(ObjectMapper objectMapper, Path path, LoadTestReport report) throws IOException {
+
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+
+        objectMapper.writer(SerializationFeature.INDENT_OUTPUT).writeValue(path.toFile(), report);
+    }
+}
@@ -0,0 +1,60 @@
+package org.ohgiraffers.mission02board.loadtest;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/** 부하 테스트 설정, 인자는 이름=값 형식이다. (build.gradle 의 loadTest 작업이 -P 속성으로 넘긴다)
+ *
+ *  posts          : 미리 저장할 게시글 수, 읽기, 수정은 이 게시글 중에서 Zipf 분포로 고른다.
+ *  concurrency    : 동시에 요청을 보내는 클라이언트 수 (응답을 받아야 다음 요청을 보낸다)
+ *  requests       : 측정할 요청 수, warmup 만큼 먼저 보내고 결과에서 뺀다.
+ *  mix            : 요청 종류별 비율 (OperationMix)
+ *  zipf           : Zipf 지수 (ZipfDistribution), 0 이면 균등
+ *  seed           : 같은 seed 면 같은 게시글, 같은 요청 순서를 만든다.
+ *  baseline       : 기준 결과 파일, 없으면 실패한다. (updateBaseline 으로 먼저 저장한다)
+ *  result         : 이번 결과를 저장할 파일
+ *  tolerance      : 기준 대비 허용 오차 비율
+ *  maxFailureRate : 허용하는 실패(2xx 가 아닌 응답, 예외) 비율, 기준과 상관없이 넘으면 실패한다.
+ *  updateBaseline : true 이면 비교하지 않고 이번 결과로 기준을 바꾼다. (실패 비율은 확인한다)
+ */
+record LoadTestOptions(int posts, int concurrency, int requests, int warmup, String mix, double zipf, long seed,
+                       Path baseline, Path result, double tolerance, double maxFailureRate, boolean updateBaseline) {
+
+    static LoadTestOptions parse(String[] args) {
+
+        Map<String, String> values = new HashMap<>();
+
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+
+            if (separator < 0) {
+                throw new IllegalArgumentException("인자는 이름=값 형식이어야 합니다. : " + arg);
+            }
+
+            values.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+
+        int requests = Integer.parseInt(values.getOrDefault("requests", "50000"));
+
+        return new LoadTestOptions(
+                Integer.parseInt(values.getOrDefault("posts", "10000")),
+                Integer.parseInt(values.getOrDefault("concurrency", "32")),
+                requests,
+                Integer.parseInt(values.getOrDefault("warmup", String.valueOf(requests / 5))),
+                values.getOrDefault("mix", "read:70,list:15,create:5,update:8,delete:2"),
+                Double.parseDouble(values.getOrDefault("zipf", "1.0")),
+                Long.parseLong(values.getOrDefault("seed", "42")),
+                Path.of(values.getOrDefault("baseline", "src/loadTest/baseline.json")),
+                Path.of(values.getOrDefault("result", "build/results/loadtest/result.json")),
+                Double.parseDouble(values.getOrDefault("tolerance", "0.2")),
+                Double.parseDouble(values.getOrDefault("maxFailureRate", "0.001")),
+                Boolean.parseBoolean(values.getOrDefault("updateBaseline", "false")));
+    }
+
+    /* 결과를 비교할 수 있는 조건인지 확인하는 데 쓴다. (baseline, result, tolerance 같은 판정 설정은 넣지 않는다)*/
+    String workload() {
+        return String.format("posts=%d concurrency=%d requests=%d warmup=%d mix=%s zipf=%s seed=%d",
+                posts, concurrency, requests, warmup, mix, zipf, seed);
+    }
+}
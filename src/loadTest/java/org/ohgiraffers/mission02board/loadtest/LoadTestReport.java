@@ -0,0 +1,94 @@
+package org.ohgiraffers.mission02board.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/** 부하 테스트 결과 : 요청 종류별(read, list, create, update, delete)과 전체(total) 처리량, 지연 시간 백분위
+ *  결과 파일과 기준(baseline) 파일은 같은 json 형식이다.
+ *
+ *  workload : 결과를 만든 조건 (게시글 수, 동시 요청 수, 요청 비율, Zipf 지수, seed)
+ *             조건이 다른 기준과는 비교하지 않는다.
+ */
+record LoadTestReport(String workload, Map<String, Summary> operations) {
+
+    static final String TOTAL = "total";
+
+    /* 처리량은 req/s, 지연 시간은 ms*/
+    record Summary(int count, int failures, double throughput,
+                   double p50, double p95, double p99, double p999, double max) {
+
+        static Summary of(long[] sortedLatencies, int failures, long elapsedNanos) {
+            return new Summary(sortedLatencies.length, failures,
+                    sortedLatencies.length / (elapsedNanos / 1_000_000_000.0),
+                    percentile(sortedLatencies, 0.50), percentile(sortedLatencies, 0.95),
+                    percentile(sortedLatencies, 0.99), percentile(sortedLatencies, 0.999),
+                    percentile(sortedLatencies, 1.0));
+        }
+
+        double failureRate() {
+            int total = count + failures;
+            return total == 0 ? 0 : (double) failures / total;
+        }
+
+        private static double percentile(long[] sorted, double p) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(p * sorted.length) - 1;
+            return sorted[Math.max(0, index)] / 1_000_000.0;
+        }
+    }
+
+    void print() {
+
+        System.out.println(workload);
+        System.out.printf("%-8s %9s %6s %10s %9s %9s %9s %9s %9s%n",
+                "op", "count", "fail", "req/s", "p50(ms)", "p95(ms)", "p99(ms)", "p999(ms)", "max(ms)");
+
+        operations.forEach((operation, summary) -> System.out.printf("%-8s %9d %6d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                operation, summary.count(), summary.failures(), summary.throughput(),
+                summary.p50(), summary.p95(), summary.p99(), summary.p999(), summary.max()));
+    }
+
+    /* 실패 비율이 maxFailureRate 보다 높은 항목을 반환한다. (기준이 없어도, 기준을 바꿀 때도 확인한다)*/
+    List<String> failuresOver(double maxFailureRate) {
+
+        List<String> failures = new ArrayList<>();
+
+        operations.forEach((operation, current) -> {
+            if (current.failureRate() > maxFailureRate) {
+                failures.add(String.format("%s 실패 비율 %.2f%% (허용 %.2f%%)",
+                        operation, current.failureRate() * 100, maxFailureRate * 100));
+            }
+        });
+
+        return failures;
+    }
+
+    /* 기준보다 나빠진 항목을 반환한다. (비어 있으면 통과)
+    *   tolerance : 허용 오차 비율, 0.2 이면 처리량이 기준의 80% 보다 낮거나 p50, p99 가 기준의 120% 보다 높으면 회귀로 본다.*/
+    List<String> regressionsAgainst(LoadTestReport baseline, double tolerance) {
+
+        List<String> regressions = new ArrayList<>();
+
+        operations.forEach((operation, current) -> {
+            Summary base = baseline.operations().get(operation);
+            if (base == null) {
+                return;
+            }
+
+            if (current.throughput() < base.throughput() * (1 - tolerance)) {
+                regressions.add(String.format("%s 처리량 %.1f -> %.1f req/s", operation, base.throughput(), current.throughput()));
+            }
+            if (current.p50() > base.p50() * (1 + tolerance)) {
+                regressions.add(String.format("%s p50 %.2f -> %.2f ms", operation, base.p50(), current.p50()));
+            }
+            if (current.p99() > base.p99() * (1 + tolerance)) {
+                regressions.add(String.format("%s p99 %.2f -> %.2f ms", operation, base.p99(), current.p99()));
+            }
+        });
+
+        return regressions;
+    }
+}
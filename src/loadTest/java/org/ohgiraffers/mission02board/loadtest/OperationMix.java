@@ -0,0 +1,71 @@
+package org.ohgiraffers.mission02board.loadtest;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/** 요청 종류별 비율 (예: read:70,list:15,create:5,update:8,delete:2)
+ *  비율은 합이 100 일 필요 없이 서로의 비로 쓴다. 적지 않은 종류는 보내지 않는다.
+ */
+final class OperationMix {
+
+    enum Operation {
+        READ, LIST, CREATE, UPDATE, DELETE
+    }
+
+    private final Operation[] operations;
+
+    private final double[] cumulativeWeights;
+
+    private OperationMix(Map<Operation, Double> weights) {
+
+        operations = weights.keySet().toArray(Operation[]::new);
+        cumulativeWeights = new double[operations.length];
+
+        double sum = 0;
+        for (int i = 0; i < operations.length; i++) {
+            sum += weights.get(operations[i]);
+            cumulativeWeights[i] = sum;
+        }
+
+        if (sum <= 0) {
+            throw new IllegalArgumentException("요청 비율의 합이 0 보다 커야 합니다.");
+        }
+    }
+
+    static OperationMix parse(String mix) {
+
+        Map<Operation, Double> weights = new EnumMap<>(Operation.class);
+
+        for (String entry : mix.split(",")) {
+            String[] pair = entry.trim().split(":");
+
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("요청 비율은 종류:비율 형식이어야 합니다. : " + entry);
+            }
+
+            double weight = Double.parseDouble(pair[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("요청 비율은 0 이상이어야 합니다. : " + entry);
+            }
+
+            weights.put(Operation.valueOf(pair[0].trim().toUpperCase(Locale.ROOT)), weight);
+        }
+
+        return new OperationMix(weights);
+    }
+
+    Operation next(SplittableRandom random) {
+
+        double point = random.nextDouble() * cumulativeWeights[cumulativeWeights.length - 1];
+
+        for (int i = 0; i < operations.length; i++) {
+            if (point < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+
+        return operations[operations.length - 1];
+    }
+}
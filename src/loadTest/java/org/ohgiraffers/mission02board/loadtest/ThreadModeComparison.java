@@ -0,0 +1,50 @@
+package org.ohgiraffers.mission02board.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/** 플랫폼 스레드와 가상 스레드 비교 (./gradlew loadTestThreadModes)
+ *  같은 부하 테스트(LoadTest)를 post.threads.virtual=false, true 로 한 번씩 실행하고 전체(total) 결과를 나란히 출력한다.
+ *  실행마다 애플리케이션을 새로 띄우므로 두 실행은 같은 게시글, 같은 요청 순서(seed)로 시작한다.
+ *  결과는 result 파일 옆에 threads-platform.json, threads-virtual.json 으로 저장한다.
+ *
+ *  주의
+ *  - 플랫폼 스레드는 Tomcat 스레드 수(server.tomcat.threads.max, 기본 200)까지만 동시에 처리하므로,
+ *    차이를 보려면 concurrency 를 그보다 크게 준다. 예) -Pconcurrency=400
+ *  - loadtest 프로필은 같은 JVM 의 H2 를 사용해서 네트워크 대기가 없다.
+ *    가상 스레드의 이점(JDBC 를 기다리는 동안 캐리어 스레드를 놓아주는 것)은 실제 MySQL 에서 더 크게 나타난다.
+ *  - 기준(baseline)과 비교하지 않는다. 두 모드를 같은 조건에서 비교하는 용도다.
+ */
+public class ThreadModeComparison {
+
+    public static void main(String[] args) throws Exception {
+
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        Map<String, LoadTestReport> reports = new LinkedHashMap<>();
+
+        for (boolean virtual : new boolean[]{false, true}) {
+            String mode = virtual ? "virtual" : "platform";
+            System.out.printf("%n== %s 스레드 (post.threads.virtual=%s) ==%n", mode, virtual);
+
+            ConfigurableApplicationContext context = LoadTest.start("post.threads.virtual=" + virtual);
+            try {
+                LoadTestReport report = LoadTest.measure(context, options);
+                LoadTest.write(context.getBean(ObjectMapper.class),
+                        options.result().resolveSibling("threads-" + mode + ".json"), report);
+                reports.put(mode, report);
+            } finally {
+                context.close();
+            }
+        }
+
+        System.out.printf("%n%-9s %10s %9s %9s %9s %6s%n", "threads", "req/s", "p50(ms)", "p99(ms)", "max(ms)", "fail");
+        reports.forEach((mode, report) -> {
+            LoadTestReport.Summary total = report.operations().get(LoadTestReport.TOTAL);
+            System.out.printf("%-9s %10.1f %9.2f %9.2f %9.2f %6d%n",
+                    mode, total.throughput(), total.p50(), total.p99(), total.max(), total.failures());
+        });
+    }
+}
@@ -0,0 +1,42 @@
+package org.ohgiraffers.mission02board.loadtest;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/** 0 ~ n-1 의 순위를 Zipf 분포로 뽑는다. P(k) 는 1 / (k + 1)^exponent 에 비례한다.
+ *  누적 확률(cdf)을 미리 계산해 두고 이진 탐색으로 뽑는다. (double n 개, 게시글 10만 개면 800KB)
+ *
+ *  exponent 가 0 이면 균등 분포, 1 전후가 일반적인 인기 게시글 쏠림이다. (클수록 소수의 게시글에 요청이 몰린다)
+ */
+final class ZipfDistribution {
+
+    private final double[] cdf;
+
+    ZipfDistribution(int n, double exponent) {
+
+        if (n <= 0 || exponent < 0) {
+            throw new IllegalArgumentException("n 은 1 이상, exponent 는 0 이상이어야 합니다. : n=" + n + ", exponent=" + exponent);
+        }
+
+        cdf = new double[n];
+
+        double sum = 0;
+        for (int rank = 0; rank < n; rank++) {
+            sum += 1.0 / Math.pow(rank + 1, exponent);
+            cdf[rank] = sum;
+        }
+
+        for (int rank = 0; rank < n; rank++) {
+            cdf[rank] /= sum;
+        }
+        // 부동소수점 오차로 마지막 값이 1 보다 작아지지 않게 한다.
+        cdf[n - 1] = 1.0;
+    }
+
+    int sample(SplittableRandom random) {
+
+        int index = Arrays.binarySearch(cdf, random.nextDouble());
+
+        return index >= 0 ? index : -index - 1;
+    }
+}
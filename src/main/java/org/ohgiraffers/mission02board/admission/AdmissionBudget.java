@@ -0,0 +1,60 @@
+package org.ohgiraffers.mission02board.admission;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.util.Set;
+
+/** 요청 종류별 예산
+ *  종류마다 토큰 버킷과 동시 처리 수를 따로 두어서, 목록 조회나 쓰기가 몰려도 다른 종류의 요청은 처리된다.
+ *  WRITE : 작성, 수정, 삭제, 대량 등록
+ *  SCAN   : 여러 게시글을 읽는 목록(ids 조회 포함), 커서, 검색
+ *  EXPORT : 내보내기, 응답을 다 쓸 때까지(최대 spring.mvc.async.request-timeout) 자리를 차지하므로 SCAN 과 나눈다.
+ *           SCAN 에 두면 느린 내보내기 몇 개가 SCAN 자리를 모두 차지해서 목록, 커서, 검색이 모두 503 이 된다.
+ *  READ   : 단건 조회, 인기 게시글
+ *
+ *  요청 종류는 Spring MVC 가 컨트롤러를 찾을 때와 같은 경로로 나눈다.
+ *  getRequestURI() 를 그대로 쓰면 /api/v1/posts/export;x=1, /api/v1/posts/%65xport 처럼 같은 컨트롤러로 가는 요청이
+ *  단건 조회(READ)로 분류되어 EXPORT 예산을 피할 수 있다.
+ *  UrlPathHelper 로 context path 를 빼고, URL 디코딩, 세미콜론(;) 내용 제거, 중복 슬래시 정리를 한 경로를 쓴다.
+ */
+public enum AdmissionBudget {
+
+    READ, SCAN, EXPORT, WRITE;
+
+    private static final String POSTS_PATH = "/api/v1/posts";
+
+    private static final Set<String> SCAN_PATHS = Set.of("", "/", "/cursor", "/search");
+
+    private static final String EXPORT_PATH = "/export";
+
+    private static final UrlPathHelper URL_PATH_HELPER = new UrlPathHelper();
+
+    static {
+        URL_PATH_HELPER.setAlwaysUseFullPath(true);
+    }
+
+    // 게시글 API 가 아니면 null
+    public static AdmissionBudget of(HttpServletRequest request) {
+
+        String path = URL_PATH_HELPER.getLookupPathForRequest(request);
+
+        if (!path.equals(POSTS_PATH) && !path.startsWith(POSTS_PATH + "/")) {
+            return null;
+        }
+
+        String method = request.getMethod();
+
+        if (!"GET".equals(method) && !"HEAD".equals(method)) {
+            return WRITE;
+        }
+
+        String subPath = path.substring(POSTS_PATH.length());
+
+        if (EXPORT_PATH.equals(subPath)) {
+            return EXPORT;
+        }
+
+        return SCAN_PATHS.contains(subPath) ? SCAN : READ;
+    }
+}
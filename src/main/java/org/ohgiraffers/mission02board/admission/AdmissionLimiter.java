@@ -0,0 +1,59 @@
+package org.ohgiraffers.mission02board.admission;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/** 예산(AdmissionBudget) 하나의 제한
+ *  - 클라이언트마다 토큰 버킷 : 초당 rate 개, 최대 burst 개까지 연속 요청 (rate 가 0 이면 제한하지 않음)
+ *  - 모든 클라이언트가 함께 쓰는 동시 처리 수 상한 : maxConcurrency (0 이면 제한하지 않음)
+ *
+ *  버킷은 ConcurrentHashMap 에 두고, 가득 찬(한동안 요청이 없던) 버킷은 evictFull() 로 지워서 맵이 계속 커지지 않게 한다.
+ */
+public class AdmissionLimiter {
+
+    private final double rate;
+
+    private final int burst;
+
+    private final ConcurrentMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    private final ConcurrencyLimiter concurrencyLimiter;
+
+    public AdmissionLimiter(double rate, int burst, int maxConcurrency) {
+        this.rate = rate;
+        this.burst = burst;
+        this.concurrencyLimiter = new ConcurrencyLimiter(maxConcurrency);
+    }
+
+    // 토큰을 얻으면 0, 없으면 기다려야 하는 시간(ns)
+    public long tryAcquireRate(String client, long nowNanos) {
+
+        if (rate <= 0) {
+            return 0;
+        }
+
+        return buckets.computeIfAbsent(client, key -> new TokenBucket(rate, burst, nowNanos)).tryAcquire(nowNanos);
+    }
+
+    public boolean tryEnter() {
+        return concurrencyLimiter.tryAcquire();
+    }
+
+    public void exit() {
+        concurrencyLimiter.release();
+    }
+
+    /* 지우는 순간 같은 클라이언트의 요청이 들어오면 그 요청은 지워진 버킷을 사용할 수 있다.
+    *   가득 찬 버킷이었으므로 토큰을 한 번 더 주는 정도의 차이만 생긴다.*/
+    public void evictFull(long nowNanos) {
+        buckets.entrySet().removeIf(entry -> entry.getValue().isFull(nowNanos));
+    }
+
+    public int clients() {
+        return buckets.size();
+    }
+
+    public int inFlight() {
+        return concurrencyLimiter.inFlight();
+    }
+}
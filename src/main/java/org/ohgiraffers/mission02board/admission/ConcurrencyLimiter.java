@@ -0,0 +1,46 @@
+package org.ohgiraffers.mission02board.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/** 동시에 처리 중인 요청 수의 상한
+ *  자리가 없으면 기다리지 않고 바로 거절한다. (기다리게 하면 요청이 쌓여서 모든 요청의 응답 시간이 늘어난다.)
+ *  maxConcurrency 가 0 이면 제한하지 않는다.
+ */
+public class ConcurrencyLimiter {
+
+    private final int maxConcurrency;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public ConcurrencyLimiter(int maxConcurrency) {
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    public boolean tryAcquire() {
+
+        if (maxConcurrency <= 0) {
+            inFlight.incrementAndGet();
+            return true;
+        }
+
+        while (true) {
+            int current = inFlight.get();
+
+            if (current >= maxConcurrency) {
+                return false;
+            }
+
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,133 @@
+package org.ohgiraffers.mission02board.admission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.ohgiraffers.mission02board.dto.ErrorResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/** 게시글 API 유량 제어 (rate limiting + admission control)
+ *  요청이 몰릴 때 모두 받아들이면 커넥션 풀 앞에 요청이 쌓여서 모든 요청의 응답 시간이 함께 늘어난다.
+ *  컨트롤러에 도달하기 전에 요청 종류(AdmissionBudget)별로 두 가지를 확인하고, 넘치는 요청은 바로 거절한다.
+ *
+ *  1. 클라이언트별 토큰 버킷 : 토큰이 없으면 429 Too Many Requests, Retry-After = 다음 토큰이 찰 때까지의 시간(초)
+ *  2. 동시 처리 수 : 자리가 없으면 503 Service Unavailable, Retry-After = 1
+ *
+ *  클라이언트는 요청의 remoteAddr 로 구분한다.
+ *  프록시(로드밸런서) 뒤에 있으면 server.forward-headers-strategy 를 설정해야 X-Forwarded-For 의 주소가 remoteAddr 가 된다.
+ *  거절한 요청 수는 post.admission.rejected 메트릭(budget, reason 태그)으로 기록한다.
+ */
+public class PostAdmissionFilter extends OncePerRequestFilter {
+
+    public static final String REJECTED_METRIC = "post.admission.rejected";
+
+    private final Map<AdmissionBudget, AdmissionLimiter> limiters;
+
+    private final ObjectMapper objectMapper;
+
+    private final MeterRegistry meterRegistry;
+
+    private final LongSupplier nanoClock;
+
+    public PostAdmissionFilter(Map<AdmissionBudget, AdmissionLimiter> limiters, ObjectMapper objectMapper,
+                               MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.limiters = limiters;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        AdmissionBudget budget = AdmissionBudget.of(request);
+        AdmissionLimiter limiter = budget == null ? null : limiters.get(budget);
+
+        if (limiter == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long waitNanos = limiter.tryAcquireRate(request.getRemoteAddr(), nanoClock.getAsLong());
+
+        if (waitNanos > 0) {
+            reject(response, budget, "rate", HttpStatus.TOO_MANY_REQUESTS, TimeUnit.NANOSECONDS.toSeconds(waitNanos - 1) + 1);
+            return;
+        }
+
+        if (!limiter.tryEnter()) {
+            reject(response, budget, "concurrency", HttpStatus.SERVICE_UNAVAILABLE, 1);
+            return;
+        }
+
+        boolean async = false;
+        try {
+            filterChain.doFilter(request, response);
+
+            // 내보내기처럼 응답을 비동기로 쓰는 요청은 응답이 끝날 때 자리를 반납한다.
+            async = request.isAsyncStarted();
+            if (async) {
+                request.getAsyncContext().addListener(new ExitOnComplete(limiter));
+            }
+        } finally {
+            if (!async) {
+                limiter.exit();
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${post.admission.eviction-interval-ms:60000}")
+    public void evictIdleClients() {
+
+        long now = nanoClock.getAsLong();
+        limiters.values().forEach(limiter -> limiter.evictFull(now));
+    }
+
+    private void reject(HttpServletResponse response, AdmissionBudget budget, String reason,
+                        HttpStatus status, long retryAfterSeconds) throws IOException {
+
+        meterRegistry.counter(REJECTED_METRIC, "budget", budget.name().toLowerCase(), "reason", reason).increment();
+
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                new ErrorResponse(status.value(), "요청이 많습니다. 잠시 후 다시 시도해주세요."));
+    }
+
+    private record ExitOnComplete(AdmissionLimiter limiter) implements AsyncListener {
+
+        // 시간 초과, 오류로 끝나도 onComplete 가 호출된다.
+        @Override
+        public void onComplete(AsyncEvent event) {
+            limiter.exit();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package org.ohgiraffers.mission02board.admission;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/** 토큰 버킷 (GCRA, Generic Cell Rate Algorithm)
+ *  초당 rate 개씩 토큰이 차고, 최대 burst 개까지 쌓인다.
+ *  남은 토큰 수 대신 "다음 토큰이 찰 시각(theoreticalArrival)" 하나만 AtomicLong 에 저장하고 CAS 로 갱신하므로
+ *  락 없이 여러 스레드가 동시에 사용할 수 있다.
+ *
+ *  - 요청 1건 = emissionInterval(1초 / rate) 만큼 theoreticalArrival 을 뒤로 민다.
+ *  - theoreticalArrival 이 현재보다 burstTolerance 이상 앞서 있으면 토큰이 없는 것이다.
+ */
+public class TokenBucket {
+
+    private final long emissionIntervalNanos;
+
+    private final long burstToleranceNanos;
+
+    private final AtomicLong theoreticalArrival;
+
+    public TokenBucket(double rate, int burst, long nowNanos) {
+
+        if (rate <= 0 || burst < 1) {
+            throw new IllegalArgumentException("rate 는 0 보다 크고, burst 는 1 이상이어야 합니다.");
+        }
+
+        this.emissionIntervalNanos = (long) (1_000_000_000L / rate);
+        this.burstToleranceNanos = emissionIntervalNanos * (burst - 1);
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    // 토큰을 얻으면 0, 없으면 다음 토큰이 찰 때까지 기다려야 하는 시간(ns)
+    public long tryAcquire(long nowNanos) {
+
+        while (true) {
+            long arrival = theoreticalArrival.get();
+            long base = Math.max(arrival, nowNanos);
+            long waitNanos = base - burstToleranceNanos - nowNanos;
+
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+
+            if (theoreticalArrival.compareAndSet(arrival, base + emissionIntervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    // 토큰이 가득 찬 버킷은 새로 만든 버킷과 같으므로 지워도 된다.
+    public boolean isFull(long nowNanos) {
+        return theoreticalArrival.get() - nowNanos <= 0;
+    }
+}
@@ -0,0 +1,56 @@
+package org.ohgiraffers.mission02board.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.ohgiraffers.mission02board.admission.AdmissionBudget;
+import org.ohgiraffers.mission02board.admission.AdmissionLimiter;
+import org.ohgiraffers.mission02board.admission.PostAdmissionFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/** 게시글 API 유량 제어 설정 (PostAdmissionFilter)
+ *  post.admission.{read, scan, export, write} 마다
+ *  rate(클라이언트별 초당 요청 수), burst(연속으로 허용하는 요청 수), max-concurrency(동시 처리 수) 를 설정한다.
+ *  rate, max-concurrency 가 0 이면 제한하지 않는다.
+ *
+ *  max-concurrency 의 합은 커넥션 풀 크기(spring.datasource.hikari.maximum-pool-size) 근처로 잡는다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "post.admission.enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionConfig {
+
+    @Bean
+    public PostAdmissionFilter postAdmissionFilter(Environment environment, ObjectMapper objectMapper,
+                                                   MeterRegistry meterRegistry) {
+
+        Map<AdmissionBudget, AdmissionLimiter> limiters = new EnumMap<>(AdmissionBudget.class);
+
+        for (AdmissionBudget budget : AdmissionBudget.values()) {
+            String prefix = "post.admission." + budget.name().toLowerCase() + ".";
+
+            limiters.put(budget, new AdmissionLimiter(
+                    environment.getProperty(prefix + "rate", Double.class, 0.0),
+                    environment.getProperty(prefix + "burst", Integer.class, 1),
+                    environment.getProperty(prefix + "max-concurrency", Integer.class, 0)));
+        }
+
+        return new PostAdmissionFilter(limiters, objectMapper, meterRegistry, System::nanoTime);
+    }
+
+    // 다른 필터보다 먼저 거절해야 거절하는 비용이 가장 적다.
+    @Bean
+    public FilterRegistrationBean<PostAdmissionFilter> postAdmissionFilterRegistration(PostAdmissionFilter postAdmissionFilter) {
+
+        FilterRegistrationBean<PostAdmissionFilter> registration = new FilterRegistrationBean<>(postAdmissionFilter);
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+
+        return registration;
+    }
+}
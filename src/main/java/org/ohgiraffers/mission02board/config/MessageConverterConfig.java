@@ -0,0 +1,35 @@
+package org.ohgiraffers.mission02board.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/** 응답 표현(Content Negotiation)
+ *  요청의 Accept 헤더에 따라 같은 응답을 다른 형식으로 보낸다.
+ *  application/json             : 기본값 (브라우저, 외부 클라이언트)
+ *  application/cbor             : CBOR, 내부 서비스 간 호출용 바이너리 표현
+ *  application/x-jackson-smile  : Smile, Jackson 의 바이너리 JSON
+ *
+ *  바이너리 형식은 필드 이름, 숫자를 더 작게 인코딩하지만 본문(content) 문자열은 그대로 들어간다.
+ *  본문이 긴 응답은 형식보다 압축(server.compression)의 효과가 더 크다. (PayloadBenchmark 참고)
+ *
+ *  Spring Boot 가 설정한 Jackson2ObjectMapperBuilder 를 사용해 JSON 과 같은 설정(JavaTimeModule 등)으로 직렬화한다.
+ *  HttpMessageConverter 빈은 Spring Boot 가 기본 컨버터 목록에 추가해준다.
+ */
+@Configuration
+public class MessageConverterConfig {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
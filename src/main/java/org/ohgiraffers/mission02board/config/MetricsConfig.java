@@ -0,0 +1,20 @@
+package org.ohgiraffers.mission02board.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/** 메트릭 설정
+ *  TimedAspect 를 등록해야 @Timed 가 붙은 클래스, 메서드의 실행 시간과 호출 수가 기록된다.
+ */
+@Configuration
+public class MetricsConfig {
+
+    public static final String SERVICE_TIMER = "post.service";
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
@@ -0,0 +1,64 @@
+package org.ohgiraffers.mission02board.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+
+/** 게시글 단건 조회 캐시
+ *  Caffeine 은 W-TinyLFU 알고리즘으로 최대 크기를 넘는 항목을 내보내는 로컬(in-process) 캐시이다.
+ *  recordStats() 를 켜두면 hit / miss / eviction 수가 actuator 의 cache.* 메트릭으로 노출된다.
+ *
+ *  만료 시간(expire-after-write)은 DB 에서 읽어 캐시에 저장할 때만 정한다.
+ *  PostViewCounter 가 캐시된 게시글의 조회수를 더할 때(수정)는 남은 시간을 그대로 두어서,
+ *  자주 조회되는 게시글도 저장된 지 expire-after-write 가 지나면 다시 읽는다. (다른 인스턴스의 수정은 이 캐시를 비우지 않는다)
+ *
+ *  @EnableCaching(order) 를 가장 높은 우선순위로 두어 캐시 프록시가 트랜잭션 프록시보다 바깥에서 동작하게 한다.
+ *  캐시에 있으면 트랜잭션(커넥션)을 열지 않고, 수정/삭제 시 캐시 제거는 커밋이 끝난 뒤에 일어난다.
+ */
+@Configuration
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE)
+public class PostCacheConfig {
+
+    public static final String POST_CACHE = "post";
+
+    @Bean
+    public CacheManager cacheManager(@Value("${post.cache.maximum-size:10000}") long maximumSize,
+                                     @Value("${post.cache.expire-after-write:10m}") Duration expireAfterWrite) {
+
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(POST_CACHE);
+        cacheManager.setAllowNullValues(false);
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new ExpireAfterCreate(expireAfterWrite))
+                .recordStats());
+
+        return cacheManager;
+    }
+
+    /* 저장할 때만 만료 시간을 정하고, 수정, 조회는 남은 시간(currentDuration)을 바꾸지 않는다.*/
+    private record ExpireAfterCreate(Duration duration) implements Expiry<Object, Object> {
+
+        @Override
+        public long expireAfterCreate(Object key, Object value, long currentTime) {
+            return duration.toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(Object key, Object value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(Object key, Object value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
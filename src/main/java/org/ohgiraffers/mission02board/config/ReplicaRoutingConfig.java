@@ -0,0 +1,120 @@
+package org.ohgiraffers.mission02board.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.ohgiraffers.mission02board.routing.ReadYourWritesFilter;
+import org.ohgiraffers.mission02board.routing.ReplicaLagCacheEvictor;
+import org.ohgiraffers.mission02board.routing.ReplicaRoutingDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.TaskScheduler;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/** 복제(replica) DB 읽기 분산
+ *  post.datasource.replica.enabled=true 이면 spring.datasource 를 primary 로, post.datasource.replica.urls 의 DB 들을 복제 DB 로 사용한다.
+ *  복제 DB 의 계정, 커넥션 풀 설정(spring.datasource.hikari.*)은 primary 와 같다.
+ *
+ *  DataSource 빈을 직접 등록하므로 Spring Boot 의 기본 DataSource 는 만들어지지 않는다.
+ *  JPA 는 LazyConnectionDataSourceProxy -> ReplicaRoutingDataSource -> (primary | replica-N) 순서로 커넥션을 얻는다.
+ *
+ *  주의
+ *  복제 지연(replication lag)은 측정하지 않는다. 연결되는 복제 DB 는 모두 정상으로 보고,
+ *  방금 쓴 클라이언트는 sticky-window 동안 primary 에서 읽도록 해서 지연을 가린다.
+ *  다른 클라이언트가 그 사이 복제 DB 에서 읽은 예전 게시글이 캐시에 남지 않도록, sticky-window 가 지나면 캐시를 한 번 더 비운다. (ReplicaLagCacheEvictor)
+ */
+@Configuration
+@ConditionalOnProperty(name = "post.datasource.replica.enabled", havingValue = "true")
+public class ReplicaRoutingConfig {
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(DataSourceProperties properties, Environment environment,
+                                                             @Value("${post.datasource.replica.urls}") List<String> urls,
+                                                             @Value("${post.datasource.replica.probe-timeout:2s}") Duration probeTimeout) {
+
+        HikariDataSource primary = hikari(properties, environment, properties.determineUrl(), "primary");
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        Map<String, DataSource> probes = new LinkedHashMap<>();
+        for (int i = 0; i < urls.size(); i++) {
+            String name = "replica-" + i;
+            String url = urls.get(i).strip();
+            replicas.put(name, hikari(properties, environment, url, name));
+            // 상태 확인은 풀을 거치지 않고 매번 새로 연결한다. (풀이 바쁘다고 복제 DB 를 DOWN 으로 보지 않도록)
+            probes.put(name, probe(properties, url, probeTimeout));
+        }
+
+        return new ReplicaRoutingDataSource(primary, replicas, probes);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    @Bean
+    public ReplicaLagCacheEvictor replicaLagCacheEvictor(CacheManager cacheManager, TaskScheduler taskScheduler,
+                                                         @Value("${post.datasource.replica.sticky-window:5s}") Duration stickyWindow) {
+        return new ReplicaLagCacheEvictor(cacheManager.getCache(PostCacheConfig.POST_CACHE), taskScheduler, stickyWindow, Clock.systemUTC());
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(
+            @Value("${post.datasource.replica.sticky-window:5s}") Duration stickyWindow) {
+
+        FilterRegistrationBean<ReadYourWritesFilter> registration =
+                new FilterRegistrationBean<>(new ReadYourWritesFilter(stickyWindow, Clock.systemUTC()));
+        // 유량 제어(PostAdmissionFilter)를 통과한 요청만 처리한다.
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+
+        return registration;
+    }
+
+    /* 연결되지 않는 복제 DB 에 연결을 시도하면 OS 의 TCP 시간 초과(수십 초 ~ 몇 분)까지 기다릴 수 있다.
+    *   상태 확인은 조회수 반영, 아웃박스 릴레이와 같은 스케줄러 스레드에서 실행되므로, 연결과 응답 대기 시간을 probe-timeout 으로 제한한다.
+    *   (MySQL Connector/J 의 connectTimeout, socketTimeout, 단위 ms)*/
+    private DriverManagerDataSource probe(DataSourceProperties properties, String url, Duration timeout) {
+
+        DriverManagerDataSource dataSource =
+                new DriverManagerDataSource(url, properties.determineUsername(), properties.determinePassword());
+        dataSource.setDriverClassName(properties.determineDriverClassName());
+
+        Properties connectionProperties = new Properties();
+        connectionProperties.setProperty("connectTimeout", String.valueOf(timeout.toMillis()));
+        connectionProperties.setProperty("socketTimeout", String.valueOf(timeout.toMillis()));
+        dataSource.setConnectionProperties(connectionProperties);
+
+        return dataSource;
+    }
+
+    private HikariDataSource hikari(DataSourceProperties properties, Environment environment, String url, String poolName) {
+
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .url(url)
+                .build();
+
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(dataSource));
+        dataSource.setPoolName(poolName);
+
+        return dataSource;
+    }
+}
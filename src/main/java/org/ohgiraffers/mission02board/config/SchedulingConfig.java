@@ -0,0 +1,16 @@
+package org.ohgiraffers.mission02board.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/** @Scheduled 메서드를 실행한다.
+ *  PostViewCounter.flush() : 메모리에 모아둔 조회수를 주기적으로 DB 에 반영
+ *  PopularPostService.refresh() : 인기 게시글 상위 K 개를 주기적으로 다시 계산
+ *  PostOutboxRelay.relay() : 아웃박스에 저장된 게시글 이벤트를 구독자에게 전달
+ *  PostTotalCounter.reconcile() : 메모리에서 관리하는 전체 게시글 수를 count 쿼리로 다시 맞춤
+ *  PostAdmissionFilter.evictIdleClients() : 한동안 요청이 없던 클라이언트의 토큰 버킷을 제거
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
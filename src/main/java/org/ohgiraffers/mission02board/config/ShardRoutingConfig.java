@@ -0,0 +1,84 @@
+package org.ohgiraffers.mission02board.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.ohgiraffers.mission02board.service.PostTotalCounter;
+import org.ohgiraffers.mission02board.shard.PostShards;
+import org.ohgiraffers.mission02board.shard.ShardRoutingAspect;
+import org.ohgiraffers.mission02board.shard.ShardRoutingDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/** 게시글 샤딩
+ *  post.shard.enabled=true 이면 post.shard.urls 의 DB 들을 샤드로 사용한다. (urls 의 순서가 샤드 번호)
+ *  샤드의 계정, 커넥션 풀 설정은 spring.datasource 와 같고, post.shard.count 는 urls 의 개수와 같아야 한다.
+ *  ID 전략은 snowflake 여야 한다. (PostIdGenerator)
+ *
+ *  주의
+ *  - ddl-auto 는 0번 샤드에만 적용되므로, 나머지 샤드의 테이블은 같은 스키마로 미리 만들어 두어야 한다.
+ *  - 복제 DB 읽기 분산(post.datasource.replica.enabled)과 함께 사용할 수 없다.
+ *  - spring.jpa.open-in-view 는 false 여야 한다. 켜져 있으면 요청 동안 첫 커넥션을 계속 쓰므로, 대량 등록의 chunk 나
+ *    내보내기처럼 한 요청에서 여러 샤드를 차례대로 사용할 때 모두 첫 샤드로 가게 된다.
+ *  - 조회수 반영, 아웃박스 릴레이, 검색 색인, 내보내기는 샤드마다 차례대로 실행한다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "post.shard.enabled", havingValue = "true")
+public class ShardRoutingConfig {
+
+    @Bean
+    public ShardRoutingDataSource shardRoutingDataSource(DataSourceProperties properties, Environment environment,
+                                                         PostShards postShards,
+                                                         @Value("${post.shard.urls}") List<String> urls) {
+
+        if (urls.size() != postShards.count()) {
+            throw new IllegalStateException("post.shard.count(" + postShards.count() + ") 와 post.shard.urls 의 개수("
+                    + urls.size() + ")가 다릅니다.");
+        }
+
+        if (environment.getProperty("post.datasource.replica.enabled", Boolean.class, false)) {
+            throw new IllegalStateException("샤딩과 복제 DB 읽기 분산은 함께 사용할 수 없습니다.");
+        }
+
+        if (environment.getProperty("spring.jpa.open-in-view", Boolean.class, true)) {
+            throw new IllegalStateException("샤딩을 사용하려면 spring.jpa.open-in-view 를 false 로 설정해야 합니다.");
+        }
+
+        List<DataSource> shards = new ArrayList<>(urls.size());
+        for (int shard = 0; shard < urls.size(); shard++) {
+            HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                    .type(HikariDataSource.class)
+                    .url(urls.get(shard).strip())
+                    .build();
+
+            Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(dataSource));
+            dataSource.setPoolName("shard-" + shard);
+            shards.add(dataSource);
+        }
+
+        return new ShardRoutingDataSource(shards);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardRoutingDataSource shardRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(shardRoutingDataSource);
+    }
+
+    @Bean
+    public ShardRoutingAspect shardRoutingAspect(PostShards postShards, PostTotalCounter postTotalCounter,
+                                                 @Value("${post.shard.max-page-window:10000}") int maxPageWindow,
+                                                 @Value("${post.bulk-read.max-size:50}") int maxBulkReadSize) {
+        return new ShardRoutingAspect(postShards, postTotalCounter, maxPageWindow, maxBulkReadSize);
+    }
+}
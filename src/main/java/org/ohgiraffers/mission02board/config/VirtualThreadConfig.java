@@ -0,0 +1,40 @@
+package org.ohgiraffers.mission02board.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import java.util.concurrent.Executors;
+
+/** 가상 스레드(Virtual Thread) 실행 모드
+ *  post.threads.virtual=true 로 실행하면 Tomcat 이 요청마다 가상 스레드를 하나씩 만들어서 처리한다.
+ *  컨트롤러부터 서비스, JDBC 호출까지 같은 스레드에서 실행되므로, JDBC 를 기다리는 동안 플랫폼 스레드를 붙잡지 않는다.
+ *  StreamingResponseBody 같은 비동기 요청도 applicationTaskExecutor 를 통해 가상 스레드에서 실행된다.
+ *
+ *  주의
+ *  요청 수는 더 이상 Tomcat 스레드 풀로 제한되지 않는다. DB 로 동시에 나가는 요청은 Hikari 커넥션 풀 크기까지만 허용되고,
+ *  나머지는 connection-timeout 만큼만 기다린 뒤 503 으로 빠르게 실패한다. (spring.datasource.hikari.*)
+ *
+ *  synchronized 블록 안에서 I/O 를 기다리면 가상 스레드가 캐리어 스레드에 고정(pinning)되어 이점이 사라진다.
+ *  - MySQL Connector/J 는 9.0 부터 synchronized 대신 ReentrantLock 을 쓰므로 build.gradle 에서 버전을 올려서 사용한다.
+ *  - 그 밖의 라이브러리에서 고정되는지는 ./gradlew loadTestThreadModes (-Djdk.tracePinnedThreads=short) 로 확인하고,
+ *    같은 부하에서 플랫폼 스레드 모드와 처리량, 지연 시간을 비교한 뒤에 켠다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "post.threads.virtual", havingValue = "true")
+public class VirtualThreadConfig {
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> protocolHandler.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    @Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    public AsyncTaskExecutor applicationTaskExecutor() {
+        return new TaskExecutorAdapter(Executors.newVirtualThreadPerTaskExecutor());
+    }
+}
@@ -2,17 +2,36 @@ package org.ohgiraffers.mission02board.controller;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.ohgiraffers.mission02board.dto.*;
+import org.ohgiraffers.mission02board.service.PopularPostService;
+import org.ohgiraffers.mission02board.service.PostBulkService;
+import org.ohgiraffers.mission02board.service.PostCountMode;
+import org.ohgiraffers.mission02board.service.PostExportFormat;
+import org.ohgiraffers.mission02board.service.PostExportService;
+import org.ohgiraffers.mission02board.service.PostSearchService;
 import org.ohgiraffers.mission02board.service.PostService;
-import org.springframework.data.domain.Page;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.List;
 
 
 /** 레이어드 아키텍쳐
@@ -44,6 +63,14 @@ public class PostController {
 
     private final PostService postService;
 
+    private final PostBulkService postBulkService;
+
+    private final PostSearchService postSearchService;
+
+    private final PostExportService postExportService;
+
+    private final PopularPostService popularPostService;
+
     @PostMapping
     @Operation(summary = "게시글 작성", description = "제목(title), 내용(content) 입력해주세요")
     public ResponseEntity<CreatePostResponse> postCreate(@RequestBody CreatePostRequest request) {
@@ -54,40 +81,221 @@ public class PostController {
 
     }
 
+    /* 게시글 대량 등록
+    *   요청 본문 전체를 메모리에 올리지 않도록 InputStream 으로 받아서 한 건씩 읽고,
+    *   결과도 게시글마다 한 줄(NDJSON)씩 바로 응답으로 내보낸다.*/
+    @PostMapping(value = "/bulk",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "게시글 대량 등록", description = "게시글 json 배열 또는 NDJSON 을 입력해주세요")
+    public void postBulkCreate(InputStream requestBody, HttpServletResponse response) throws IOException {
+
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+
+        postBulkService.createPosts(requestBody, response.getOutputStream());
+    }
+
+    /* 조건부 조회
+    *   If-None-Match / If-Modified-Since 는 캐시된 응답(PostService.readPostById, @Cacheable)의 version, lastModifiedAt 과 비교하고,
+    *   바뀌지 않았으면 본문을 직렬화하지 않고 304(Not Modified)를 반환한다. (캐시에 있으면 DB 를 조회하지 않는다)
+    *   checkNotModified 가 true 를 반환하면 응답은 이미 304 로 설정되어 있으므로 null 을 반환한다.
+    *   304 도 조회로 보고 조회수를 올린다. (ETag 는 제목, 내용의 버전인 약한 ETag 이므로 조회수만 바뀐 경우에는 304 가 나간다.)
+    *   ETag 는 Accept 로 고른 표현(JSON, CBOR, Smile)마다 다르고, 캐시가 표현을 구분하도록 304 에도 Vary: Accept 를 보낸다.
+    *   약한 ETag 는 If-Match 에 쓸 수 없으므로, 수정할 때 보낼 강한 ETag 는 X-Version-ETag 헤더로 따로 보낸다. (304 에도 보낸다)*/
     @GetMapping("/{postId}")
-    public ResponseEntity<ReadPostResponse> postRead(@PathVariable Long postId) {
+    @Operation(summary = "게시글 조회",
+            description = "ETag 는 조건부 조회(If-None-Match)용 약한 ETag 입니다. "
+                    + "수정할 때는 X-Version-ETag 헤더의 값을 If-Match 로 보내주세요")
+    public ResponseEntity<ReadPostResponse> postRead(@PathVariable Long postId, WebRequest webRequest,
+                                                     HttpServletResponse servletResponse) {
+
+        servletResponse.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
 
         ReadPostResponse response = postService.readPostById(postId);
+        postService.recordView(postId, response.getTitle());
+
+        servletResponse.setHeader(PostETag.VERSION_HEADER, PostETag.ofVersion(response.getPostId(), response.getVersion()));
+
+        String eTag = PostETag.of(response.getPostId(), response.getVersion(), PostRepresentation.of(webRequest));
+
+        if (webRequest.checkNotModified(eTag, toEpochMilli(response.getLastModifiedAt()))) {
+            return null;
+        }
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok().eTag(eTag);
+
+        if (response.getLastModifiedAt() != null) {
+            builder.lastModified(response.getLastModifiedAt());
+        }
 
-        return  new ResponseEntity<>(response, HttpStatus.OK);
+        return builder.body(response);
     }
 
+    /* 수정, 삭제는 쿼리 한 번으로 처리하고, 응답 본문은 요청 값과 postId 로 만든다.
+    *   Prefer: return=minimal 헤더를 보내면 응답 본문 없이 204 를 반환한다.
+    *   수정에 성공하면 If-Match 가 없어도 다음 수정에 보낼 강한 ETag 를 반환한다.*/
     @PutMapping("/{postId}")
+    @Operation(summary = "게시글 수정",
+            description = "If-Match 에 조회 응답의 X-Version-ETag 또는 이전 수정 응답의 ETag 를 보내면, "
+                    + "그 사이에 다른 요청이 수정했을 때 412 를 반환합니다")
     public ResponseEntity<UpdatePostResponse> postUpdate(@PathVariable Long postId,
-                                                         @RequestBody UpdatePostRequest request){
+                                                         @RequestBody UpdatePostRequest request,
+                                                         @RequestHeader(value = "Prefer", required = false) String prefer,
+                                                         @RequestHeader(value = "If-Match", required = false) String ifMatch){
 
-        UpdatePostResponse response = postService.updatePost(postId, request);
+        // If-Match 로 버전을 보내면, 그 사이에 다른 요청이 수정했을 때 412 를 반환한다.
+        PostETag.IfMatch condition = PostETag.parseIfMatch(ifMatch, postId);
 
-        return new ResponseEntity<>(response, HttpStatus.OK);
+        UpdatePostResponse response;
+        try {
+            response = postService.updatePost(postId, request, expectedVersion(postId, condition));
+        } catch (EntityNotFoundException e) {
+            // If-Match 가 있으면 게시글이 없을 때도 조건을 만족하지 않은 것이다. (RFC 9110 13.1.1)
+            if (condition != null) {
+                throw new OptimisticLockingFailureException("If-Match 조건을 만족하는 게시글이 없습니다.", e);
+            }
+            throw e;
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        if (response.getVersion() != null) {
+            headers.setETag(PostETag.ofVersion(postId, response.getVersion()));
+        }
+
+        if (isReturnMinimal(prefer)) {
+            return new ResponseEntity<>(headers, HttpStatus.NO_CONTENT);
+        }
+
+        return new ResponseEntity<>(response, headers, HttpStatus.OK);
     }
 
     @DeleteMapping("/{postId}")
-    public ResponseEntity<DeletePostResponse> postDelete(@PathVariable Long postId) {
+    public ResponseEntity<DeletePostResponse> postDelete(@PathVariable Long postId,
+                                                         @RequestHeader(value = "Prefer", required = false) String prefer) {
 
         DeletePostResponse response = postService.deletePost(postId);
 
+        if (isReturnMinimal(prefer)) {
+            return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+        }
+
         return new ResponseEntity<>(response, HttpStatus.OK);
 
     }
 
     @GetMapping
-    public ResponseEntity<Page<ReadPostResponse>> postReadAll(@PageableDefault(
-            size = 5, sort = "postId", direction = Sort.Direction.DESC) Pageable pageable) {
+    @Operation(summary = "게시글 목록 조회", description = "count : approximate(기본값, 근사값) / exact(count 쿼리) / none(전체 개수 없음)")
+    public ResponseEntity<Slice<PostSummaryResponse>> postReadAll(@PageableDefault(
+            size = 5, sort = "postId", direction = Sort.Direction.DESC) Pageable pageable,
+            @RequestParam(defaultValue = "approximate") String count, WebRequest webRequest,
+            HttpServletResponse servletResponse) {
+
+        Slice<PostSummaryResponse>  response = postService.readAllPost(pageable, PostCountMode.from(count));
+
+        // 목록이 바뀌지 않았으면 본문을 직렬화하지 않고 304 를 반환한다. (ETag 와 Vary 는 단건 조회와 같다)
+        servletResponse.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        String eTag = PostETag.of(response, PostRepresentation.of(webRequest));
+
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+
+        return ResponseEntity.ok().eTag(eTag).body(response);
+    }
+
+    /* 여러 게시글 조회 : GET /api/v1/posts?ids=1,2,3
+    *   params = "ids" : ids 파라미터가 있을 때만 목록 조회(postReadAll) 대신 이 메서드가 처리한다.
+    *   단건 조회와 같이 찾은 게시글마다 조회를 기록한다.*/
+    @GetMapping(params = "ids")
+    @Operation(summary = "여러 게시글 조회", description = "ids 의 순서대로 조회하고, 없는 게시글은 missingIds 로 알려줍니다")
+    public ResponseEntity<BulkReadPostResponse> postReadByIds(@RequestParam List<Long> ids) {
+
+        BulkReadPostResponse response = postService.readPostsByIds(ids);
+        response.getPosts().forEach(post -> postService.recordView(post.getPostId(), post.getTitle()));
+
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+    @GetMapping("/cursor")
+    @Operation(summary = "게시글 커서 조회", description = "응답의 nextCursor 를 after 로 넘기면 다음 페이지를 조회합니다")
+    public ResponseEntity<CursorResponse<PostSummaryResponse>> postReadAfter(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "5") int size) {
+
+        CursorResponse<PostSummaryResponse> response = postService.readPostsAfter(after, size);
+
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
 
-        Page<ReadPostResponse>  response = postService.readAllPost(pageable);
+    @GetMapping("/popular")
+    @Operation(summary = "인기 게시글 조회", description = "최근 조회수와 작성 시각으로 계산한 점수가 높은 순서로 조회합니다")
+    public ResponseEntity<List<PopularPostResponse>> postReadPopular(@RequestParam(defaultValue = "10") int size) {
+
+        List<PopularPostResponse> response = popularPostService.readPopularPosts(size);
 
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
 
+    @GetMapping("/search")
+    @Operation(summary = "게시글 검색", description = "제목, 내용에 검색어(q)가 포함된 게시글을 관련도 순으로 조회합니다")
+    public ResponseEntity<CursorResponse<SearchPostResponse>> postSearch(
+            @RequestParam String q,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "10") int size) {
+
+        CursorResponse<SearchPostResponse> response = postSearchService.search(q, after, size);
+
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+    /* StreamingResponseBody
+    *   응답을 다 만든 뒤에 보내지 않고, 만들어지는 대로 클라이언트에게 흘려보낸다.
+    *   별도의 스레드에서 실행되므로 요청 스레드를 오래 붙잡지 않는다.*/
+    @GetMapping("/export")
+    @Operation(summary = "게시글 전체 내보내기", description = "format : ndjson(기본값) 또는 csv")
+    public ResponseEntity<StreamingResponseBody> postExport(@RequestParam(defaultValue = "ndjson") String format) {
+
+        PostExportFormat exportFormat = PostExportFormat.from(format);
+
+        StreamingResponseBody body = outputStream -> postExportService.exportPosts(exportFormat, outputStream);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(exportFormat.getMediaType());
+        headers.setContentDisposition(ContentDisposition.attachment().filename(exportFormat.getFileName()).build());
+
+        return new ResponseEntity<>(body, headers, HttpStatus.OK);
+    }
+
+    private boolean isReturnMinimal(String prefer) {
+        return prefer != null && prefer.contains("return=minimal");
+    }
+
+    /* If-Match 조건으로 수정할 버전을 정한다. null 이면 버전과 상관없이 수정한다. (헤더가 없거나 *)
+    *   일치할 수 있는 태그가 없으면 DB 를 조회하지 않고 412, 태그가 여러 개이면 현재 버전을 조회해서 그중에 있을 때만 수정한다.*/
+    private Long expectedVersion(Long postId, PostETag.IfMatch condition) {
+
+        if (condition == null || condition.any()) {
+            return null;
+        }
+
+        List<Long> versions = condition.versions();
+
+        if (versions.size() == 1) {
+            return versions.get(0);
+        }
+
+        Long currentVersion = versions.isEmpty() ? null : postService.readPostVersion(postId).getVersion();
+
+        if (currentVersion == null || !versions.contains(currentVersion)) {
+            throw new OptimisticLockingFailureException("If-Match 의 ETag 와 일치하는 버전이 없습니다.");
+        }
+
+        return currentVersion;
+    }
+
+    private long toEpochMilli(Instant instant) {
+        return instant == null ? -1 : instant.toEpochMilli();
+    }
 
 }
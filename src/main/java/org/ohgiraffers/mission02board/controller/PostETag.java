@@ -0,0 +1,145 @@
+package org.ohgiraffers.mission02board.controller;
+
+import org.ohgiraffers.mission02board.dto.PostSummaryResponse;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/** ETag
+ *  응답 본문의 버전을 나타내는 값으로, 클라이언트는 다음 요청에 If-None-Match 로 돌려보낸다.
+ *  값이 같으면 서버는 본문 없이 304(Not Modified)만 응답하고, 클라이언트는 가지고 있던 본문을 그대로 사용한다.
+ *
+ *  게시글 : W/"postId-version" (수정될 때마다 version 이 바뀐다.)
+ *           약한(weak) ETag 다. 본문의 조회수(viewCount)는 version 과 상관없이 바뀌므로,
+ *           같은 ETag 의 본문이 바이트 단위로 같다고 보장하지 않고 제목, 내용이 같다는 것만 나타낸다.
+ *  목록   : 페이지 정보(전체 개수 또는 다음 페이지 여부)와 목록에 포함된 게시글들의 postId, version 을 합쳐 만든 해시
+ *           목록 본문에는 조회수가 없으므로 강한(strong) ETag 다.
+ *
+ *  JSON 이 아닌 표현(CBOR, Smile)은 태그 끝에 +cbor, +smile 을 붙여서 표현마다 다른 ETag 를 쓴다. (PostRepresentation)
+ *
+ *  수정(If-Match)은 강한 비교를 하므로 약한 ETag 는 쓸 수 없다.
+ *  대신 단건 조회 응답의 X-Version-ETag 헤더와 수정 응답의 ETag 헤더로 강한 ETag "postId-version" 을 보내고,
+ *  클라이언트는 이 값을 그대로 If-Match 로 돌려보낸다.
+ */
+final class PostETag {
+
+    // 단건 조회 응답에서 수정할 때 If-Match 로 보낼 강한 ETag 를 담는 헤더
+    static final String VERSION_HEADER = "X-Version-ETag";
+
+    private PostETag() {
+    }
+
+    static String of(Long postId, Long version, PostRepresentation representation) {
+        return "W/\"" + postId + "-" + version + representation.suffix() + "\"";
+    }
+
+    /* 수정할 때 If-Match 로 보내는 버전 (강한 ETag)*/
+    static String ofVersion(Long postId, Long version) {
+        return "\"" + postId + "-" + version + "\"";
+    }
+
+    static String of(Slice<PostSummaryResponse> page, PostRepresentation representation) {
+
+        StringBuilder raw = new StringBuilder()
+                .append(page.getNumber()).append('/')
+                .append(page.getSize()).append('/')
+                .append(page instanceof Page<PostSummaryResponse> counted ? counted.getTotalElements() : page.hasNext()).append('/')
+                .append(page.getSort());
+
+        for (PostSummaryResponse post : page.getContent()) {
+            raw.append(',').append(post.getPostId()).append('-').append(post.getVersion());
+        }
+
+        return "\"" + DigestUtils.md5DigestAsHex(raw.toString().getBytes(StandardCharsets.UTF_8)) + representation.suffix() + "\"";
+    }
+
+    /* If-Match 조건 (parseIfMatch)
+    *   any      : "*", 게시글이 있으면 수정한다.
+    *   versions : 이 게시글의 강한 ETag("postId-version")들의 버전, 비어 있으면 어떤 버전과도 일치하지 않는다.*/
+    record IfMatch(boolean any, List<Long> versions) {
+    }
+
+    /* If-Match 헤더를 RFC 9110 (13.1.1) 대로 읽는다. 헤더가 없으면 null
+    *   If-Match = "*" / #entity-tag, entity-tag = [ W/ ] "opaque-tag"
+    *   If-Match 는 강한 비교를 하므로 약한 태그(W/)는 어떤 버전과도 일치하지 않고, 다른 게시글의 태그도 일치하지 않는다.
+    *   (일치하지 않으면 400 이 아니라 412)
+    *   문법에 맞지 않는 값만 IllegalArgumentException (400) 이다.*/
+    static IfMatch parseIfMatch(String ifMatch, Long postId) {
+
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return null;
+        }
+
+        if (ifMatch.strip().equals("*")) {
+            return new IfMatch(true, List.of());
+        }
+
+        String prefix = postId + "-";
+        List<Long> versions = new ArrayList<>();
+
+        for (String tag : entityTags(ifMatch)) {
+            if (tag.startsWith("W/")) {
+                continue;
+            }
+
+            String opaque = tag.substring(1, tag.length() - 1);
+
+            if (opaque.startsWith(prefix)) {
+                try {
+                    versions.add(Long.parseLong(opaque.substring(prefix.length())));
+                } catch (NumberFormatException e) {
+                    // 이 서버가 만든 태그가 아니면 일치하지 않는 것으로 본다.
+                }
+            }
+        }
+
+        return new IfMatch(false, versions);
+    }
+
+    /* 쉼표로 구분된 entity-tag 목록을 나눈다. 따옴표 안의 쉼표는 태그의 일부이고, 빈 항목(", ,")은 건너뛴다.*/
+    private static List<String> entityTags(String header) {
+
+        List<String> tags = new ArrayList<>();
+        int index = skip(header, 0, true);
+
+        while (index < header.length()) {
+            int start = index;
+
+            if (header.startsWith("W/", index)) {
+                index += 2;
+            }
+
+            int end = index < header.length() && header.charAt(index) == '"' ? header.indexOf('"', index + 1) : -1;
+
+            if (end < 0) {
+                throw new IllegalArgumentException("If-Match 값이 올바르지 않습니다.");
+            }
+
+            tags.add(header.substring(start, end + 1));
+
+            // 태그 뒤에는 쉼표(다음 태그) 또는 끝만 올 수 있다.
+            index = skip(header, end + 1, false);
+            if (index < header.length() && header.charAt(index) != ',') {
+                throw new IllegalArgumentException("If-Match 값이 올바르지 않습니다.");
+            }
+            index = skip(header, index, true);
+        }
+
+        return tags;
+    }
+
+    /* 공백(commas 가 true 이면 쉼표까지)을 건너뛴 위치*/
+    private static int skip(String value, int index, boolean commas) {
+
+        while (index < value.length()
+                && (Character.isWhitespace(value.charAt(index)) || (commas && value.charAt(index) == ','))) {
+            index++;
+        }
+
+        return index;
+    }
+}
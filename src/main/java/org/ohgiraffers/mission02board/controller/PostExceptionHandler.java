@@ -0,0 +1,61 @@
+package org.ohgiraffers.mission02board.controller;
+
+import jakarta.persistence.EntityNotFoundException;
+import org.hibernate.exception.JDBCConnectionException;
+import org.ohgiraffers.mission02board.dto.ErrorResponse;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/** @RestControllerAdvice
+ *  모든 컨트롤러에서 발생한 예외를 한 곳에서 처리하고, 그 결과를 응답 본문(json)으로 반환한다.
+ */
+@RestControllerAdvice
+public class PostExceptionHandler {
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ErrorResponse> handleIllegalArgument(IllegalArgumentException e) {
+
+        ErrorResponse response = new ErrorResponse(HttpStatus.BAD_REQUEST.value(), e.getMessage());
+
+        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(EntityNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleEntityNotFound(EntityNotFoundException e) {
+
+        ErrorResponse response = new ErrorResponse(HttpStatus.NOT_FOUND.value(), e.getMessage());
+
+        return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
+    }
+
+    // If-Match 로 보낸 버전과 현재 게시글의 버전이 다른 경우
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLockingFailure(OptimisticLockingFailureException e) {
+
+        ErrorResponse response = new ErrorResponse(HttpStatus.PRECONDITION_FAILED.value(), e.getMessage());
+
+        return new ResponseEntity<>(response, HttpStatus.PRECONDITION_FAILED);
+    }
+
+    /* 커넥션 풀이 가득 차서 connection-timeout 안에 커넥션을 얻지 못한 경우
+    *   요청을 계속 쌓아두지 않고 503 과 Retry-After 로 잠시 뒤에 다시 요청하도록 알려준다.
+    *   LazyConnectionDataSourceProxy 를 쓰면 트랜잭션을 시작할 때가 아니라 첫 쿼리에서 커넥션을 가져오므로,
+    *   CannotCreateTransactionException 대신 DataAccessResourceFailureException(CannotGetJdbcConnectionException) 이나
+    *   JDBCConnectionException 으로 나온다.*/
+    @ExceptionHandler({CannotCreateTransactionException.class, DataAccessResourceFailureException.class, JDBCConnectionException.class})
+    public ResponseEntity<ErrorResponse> handleConnectionUnavailable(RuntimeException e) {
+
+        ErrorResponse response = new ErrorResponse(HttpStatus.SERVICE_UNAVAILABLE.value(), "잠시 후 다시 시도해주세요.");
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "1");
+
+        return new ResponseEntity<>(response, headers, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+}
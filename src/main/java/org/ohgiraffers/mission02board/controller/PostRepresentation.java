@@ -0,0 +1,78 @@
+package org.ohgiraffers.mission02board.controller;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
+
+/** 응답 표현별 ETag
+ *  같은 게시글이라도 JSON, CBOR, Smile 본문은 서로 다른 표현이므로 ETag 도 달라야 한다.
+ *  ETag 가 같으면 JSON 을 캐시해 둔 클라이언트(또는 공유 캐시)가 CBOR 요청에 304 를 받고 JSON 본문을 그대로 쓰게 된다.
+ *
+ *  Accept 헤더로 HttpMessageConverter 가 고를 표현을 미리 정해서 ETag 에 suffix 를 붙인다. (JSON 은 붙이지 않는다)
+ *  - 표현마다 Accept 에서 가장 구체적으로 일치하는 범위의 q 값을 보고, q 가 가장 큰 표현을 고른다.
+ *  - q 가 같으면 JSON, CBOR, Smile 순서로 고른다. (Accept 가 없거나 *\/* 이면 JSON, 컨버터 순서와 같다)
+ */
+enum PostRepresentation {
+
+    JSON(MediaType.APPLICATION_JSON, ""),
+    CBOR(MediaType.APPLICATION_CBOR, "+cbor"),
+    SMILE(new MediaType("application", "x-jackson-smile"), "+smile");
+
+    private final MediaType mediaType;
+
+    private final String suffix;
+
+    PostRepresentation(MediaType mediaType, String suffix) {
+        this.mediaType = mediaType;
+        this.suffix = suffix;
+    }
+
+    String suffix() {
+        return suffix;
+    }
+
+    static PostRepresentation of(WebRequest webRequest) {
+
+        String accept = webRequest.getHeader(HttpHeaders.ACCEPT);
+
+        if (accept == null || accept.isBlank()) {
+            return JSON;
+        }
+
+        List<MediaType> accepted = MediaType.parseMediaTypes(accept);
+
+        PostRepresentation selected = JSON;
+        double selectedQuality = 0;
+
+        for (PostRepresentation representation : values()) {
+            double quality = representation.qualityIn(accepted);
+
+            if (quality > selectedQuality) {
+                selected = representation;
+                selectedQuality = quality;
+            }
+        }
+
+        return selected;
+    }
+
+    /* 이 표현을 포함하는 범위 중 가장 구체적인 범위(application/cbor > application/* > *\/*)의 q 값, 없으면 0*/
+    private double qualityIn(List<MediaType> accepted) {
+
+        MediaType mostSpecific = null;
+
+        for (MediaType range : accepted) {
+            if (range.includes(mediaType) && (mostSpecific == null || specificity(range) > specificity(mostSpecific))) {
+                mostSpecific = range;
+            }
+        }
+
+        return mostSpecific == null ? 0 : mostSpecific.getQualityValue();
+    }
+
+    private static int specificity(MediaType range) {
+        return range.isWildcardType() ? 0 : range.isWildcardSubtype() ? 1 : 2;
+    }
+}
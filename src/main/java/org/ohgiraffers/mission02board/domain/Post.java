@@ -1,9 +1,13 @@
 package org.ohgiraffers.mission02board.domain;
 
-import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.Id;
+import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.GenericGenerator;
+import org.ohgiraffers.mission02board.domain.id.PostIdGenerator;
+import org.ohgiraffers.mission02board.dto.PostSummaryResponse;
+
+import java.time.Instant;
 
 /** Entity
  *  실제 세계의 객체나 개념을 소프트웨어 내에서 모델링 한 것으로, 데이터 베이스의 테이블에 해당하는 클래스
@@ -30,16 +34,40 @@ import lombok.*;
 
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class Post {
+    // ID 생성 전략은 PostIdGenerator 참고 (pooled-lo 블록 예약 또는 snowflake)
     @Id
-    @GeneratedValue
+    @GeneratedValue(generator = "post_id")
+    @GenericGenerator(name = "post_id", type = PostIdGenerator.class)
     private Long postId;
 
     private String title;
 
-    private String content;
+    /* 목록에 보여줄 내용의 앞부분
+    *   내용 전체는 post_content 테이블(PostContent)에 따로 저장하고, 목록은 이 컬럼만 읽는다.*/
+    @Column(length = PostSummaryResponse.PREVIEW_LENGTH)
+    private String preview;
+
+    /* @Version
+    *   수정될 때마다 1씩 증가하는 버전, 낙관적 락(optimistic lock)과 ETag 에 사용한다.
+    *   버전이 다르면 다른 누군가가 먼저 수정한 것이므로 덮어쓰지 않는다.*/
+    @Version
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private Long version;
+
+    // 마지막으로 작성, 수정된 시각 (Last-Modified)
+    private Instant lastModifiedAt;
+
+    /* 조회수
+    *   조회할 때마다 UPDATE 하지 않고 PostViewCounter 가 메모리에 모아 두었다가 주기적으로 한 번에 더한다.
+    *   insertable, updatable = false : 엔티티 저장, 수정(변경 감지)이 조회수를 덮어쓰지 않게 한다. (처음 저장 시 DB 기본값 0)*/
+    @Column(nullable = false, insertable = false, updatable = false)
+    @ColumnDefault("0")
+    private Long viewCount;
 
-    public void update(String title, String content) {
-        this.title = title;
-        this.content = content;
+    // @PrePersist : 엔티티가 처음 저장되기 직전에 호출된다.
+    @PrePersist
+    void onCreate() {
+        this.lastModifiedAt = Instant.now();
     }
 }
@@ -0,0 +1,56 @@
+package org.ohgiraffers.mission02board.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+/** 게시글 내용 (post_content 테이블)
+ *  내용은 제목보다 훨씬 길 수 있으므로 post 테이블과 나눠서 저장한다.
+ *  목록, 개수, 존재 확인, 버전 조회는 post 테이블만 읽고, 내용은 단건 조회(와 내보내기, 검색 색인 생성)에서만 읽는다.
+ *  목록에 보여줄 앞부분은 post.preview 에 따로 저장한다.
+ *
+ *  postId 는 게시글과 같은 값을 직접 넣는다. (샤딩을 사용해도 같은 샤드에 저장된다.)
+ *  Persistable : ID 를 직접 넣는 엔티티는 save() 가 새 엔티티인지 알 수 없어 SELECT 후 merge 하므로,
+ *  처음 만든 엔티티는 새 엔티티라고 알려줘서 바로 INSERT 하게 한다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class PostContent implements Persistable<Long> {
+
+    // MySQL 에서는 mediumblob (16MB)
+    public static final int MAX_STORED_BYTES = 16 * 1024 * 1024 - 1;
+
+    @Id
+    private Long postId;
+
+    @Convert(converter = PostContentConverter.class)
+    @Column(length = MAX_STORED_BYTES)
+    private String content;
+
+    @Transient
+    private boolean isNew = true;
+
+    public PostContent(Long postId, String content) {
+        this.postId = postId;
+        this.content = content;
+    }
+
+    @Override
+    public Long getId() {
+        return postId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+}
@@ -0,0 +1,116 @@
+package org.ohgiraffers.mission02board.domain;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/** 게시글 내용 저장 형식
+ *  | 1byte 형식 | 내용 |
+ *  RAW     : UTF-8 그대로
+ *  DEFLATE : UTF-8 을 Deflate 로 압축한 값
+ *
+ *  threshold 바이트보다 긴 내용만 압축하고, 압축해도 작아지지 않으면 그대로 저장한다.
+ *  형식이 값 안에 들어있으므로 threshold 를 바꿔도 이미 저장된 내용을 그대로 읽을 수 있다.
+ */
+public final class PostContentCodec {
+
+    static final byte RAW = 0;
+
+    static final byte DEFLATE = 1;
+
+    private PostContentCodec() {
+    }
+
+    public static byte[] encode(String content, long threshold) {
+
+        if (content == null) {
+            return null;
+        }
+
+        byte[] raw = content.getBytes(StandardCharsets.UTF_8);
+
+        if (raw.length > threshold) {
+            byte[] compressed = deflate(raw);
+
+            if (compressed.length < raw.length) {
+                return withFormat(DEFLATE, compressed);
+            }
+        }
+
+        return withFormat(RAW, raw);
+    }
+
+    public static String decode(byte[] stored) {
+
+        if (stored == null) {
+            return null;
+        }
+
+        if (stored.length == 0) {
+            throw new IllegalStateException("게시글 내용의 저장 형식을 알 수 없습니다.");
+        }
+
+        byte[] body = Arrays.copyOfRange(stored, 1, stored.length);
+
+        return switch (stored[0]) {
+            case RAW -> new String(body, StandardCharsets.UTF_8);
+            case DEFLATE -> new String(inflate(body), StandardCharsets.UTF_8);
+            default -> throw new IllegalStateException("게시글 내용의 저장 형식을 알 수 없습니다. : " + stored[0]);
+        };
+    }
+
+    private static byte[] withFormat(byte format, byte[] body) {
+
+        byte[] stored = new byte[body.length + 1];
+        stored[0] = format;
+        System.arraycopy(body, 0, stored, 1, body.length);
+
+        return stored;
+    }
+
+    private static byte[] deflate(byte[] raw) {
+
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 2 + 16);
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] compressed) {
+
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream(compressed.length * 3);
+            byte[] buffer = new byte[8192];
+            while (!inflater.finished()) {
+                int length = inflater.inflate(buffer);
+                if (length == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalStateException("압축된 게시글 내용이 손상되었습니다.");
+                }
+                out.write(buffer, 0, length);
+            }
+
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("압축된 게시글 내용이 손상되었습니다.", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
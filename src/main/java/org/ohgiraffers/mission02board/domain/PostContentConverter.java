@@ -0,0 +1,29 @@
+package org.ohgiraffers.mission02board.domain;
+
+import jakarta.persistence.AttributeConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.util.unit.DataSize;
+
+/** 게시글 내용(String) <-> 저장 형식(byte[]) 변환 (PostContentCodec)
+ *  JPQL 로 내용을 조회(select new ...)하거나 수정(update ... set content)할 때도 이 변환을 거친다.
+ *
+ *  Hibernate 는 컨버터를 스프링 빈 컨테이너(SpringBeanContainer)로 만들기 때문에 @Value 로 설정을 받을 수 있다.
+ */
+public class PostContentConverter implements AttributeConverter<String, byte[]> {
+
+    private final long compressionThreshold;
+
+    public PostContentConverter(@Value("${post.content.compression-threshold:1KB}") DataSize compressionThreshold) {
+        this.compressionThreshold = compressionThreshold.toBytes();
+    }
+
+    @Override
+    public byte[] convertToDatabaseColumn(String content) {
+        return PostContentCodec.encode(content, compressionThreshold);
+    }
+
+    @Override
+    public String convertToEntityAttribute(byte[] stored) {
+        return PostContentCodec.decode(stored);
+    }
+}
@@ -0,0 +1,55 @@
+package org.ohgiraffers.mission02board.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.ohgiraffers.mission02board.event.PostEvent;
+import org.ohgiraffers.mission02board.event.PostEventType;
+
+import java.time.Instant;
+
+/** 트랜잭셔널 아웃박스(transactional outbox)
+ *  게시글 작성, 수정, 삭제와 같은 트랜잭션에서 이벤트를 이 테이블에 함께 저장한다.
+ *  게시글 변경이 커밋되면 이벤트도 반드시 남고, rollback 되면 이벤트도 남지 않는다.
+ *  PostOutboxRelay 가 저장된 순서(outboxId)대로 꺼내서 구독자에게 전달한 뒤 삭제한다.
+ *
+ *  outboxId 는 IDENTITY(auto_increment) 로, INSERT 할 때 DB 가 번호를 정한다.
+ *  같은 게시글의 변경은 게시글 행 락을 잡은 순서대로 INSERT 되므로, 같은 postId 안에서는 outboxId 순서가 커밋 순서와 같다.
+ */
+@Entity
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class PostOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long outboxId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private PostEventType type;
+
+    @Column(nullable = false)
+    private Long postId;
+
+    private String title;
+
+    /* 게시글 내용과 같은 형식(PostContentConverter)으로 저장한다. 기본 매핑(varchar(255))이면 긴 내용의 이벤트를 저장하지 못해
+    *   게시글 작성, 수정 트랜잭션 전체가 rollback 된다.*/
+    @Convert(converter = PostContentConverter.class)
+    @Column(length = PostContent.MAX_STORED_BYTES)
+    private String content;
+
+    private Instant createdAt;
+
+    public static PostOutbox from(PostEvent event) {
+        return new PostOutbox(null, event.getType(), event.getPostId(), event.getTitle(), event.getContent(), Instant.now());
+    }
+
+    public PostEvent toEvent() {
+        return new PostEvent(type, postId, title, content);
+    }
+}
@@ -0,0 +1,91 @@
+package org.ohgiraffers.mission02board.domain.id;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+import org.ohgiraffers.mission02board.shard.ShardedIdGenerator;
+
+import java.util.Map;
+import java.util.Properties;
+
+/** 게시글 ID 생성 전략
+ *  기존의 @GeneratedValue 는 게시글을 저장할 때마다 hibernate_sequence 테이블을 한 번씩 더 조회했다.
+ *  배포 환경마다 아래 두 가지 중 하나를 선택할 수 있다. (spring.jpa.properties.post.id.*)
+ *
+ *  pooled (기본값)
+ *  post_seq 에서 allocation-size 만큼의 ID 블록을 한 번에 예약하고(pooled-lo), 블록을 다 쓸 때까지는 DB 를 거치지 않는다.
+ *  MySQL 처럼 시퀀스가 없는 DB 에서는 post_seq 테이블로 시퀀스를 흉내 낸다.
+ *
+ *  snowflake
+ *  애플리케이션 안에서 시간 순서 64bit ID 를 만든다. 인스턴스마다 worker-id 를 다르게 설정해야 한다.
+ *
+ *  두 방식 모두 INSERT 전에 ID 를 알 수 있으므로, IDENTITY 와 달리 JDBC batch insert 가 동작한다.
+ *
+ *  샤딩(post.shard.count > 1)
+ *  샤드마다 post_seq 가 따로 있으면 ID 가 겹치므로 snowflake 만 사용할 수 있다.
+ *  ShardedIdGenerator 가 만든 ID 로 저장할 샤드가 정해진다.
+ */
+public class PostIdGenerator extends SequenceStyleGenerator {
+
+    public static final String STRATEGY = "post.id.strategy";
+
+    public static final String ALLOCATION_SIZE = "post.id.allocation-size";
+
+    public static final String WORKER_ID = "post.id.worker-id";
+
+    public static final String SHARD_COUNT = "post.shard.count";
+
+    private SnowflakeIdGenerator snowflake;
+
+    private ShardedIdGenerator shardedIdGenerator;
+
+    @Override
+    public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) throws MappingException {
+
+        Map<String, Object> settings = serviceRegistry.getService(ConfigurationService.class).getSettings();
+
+        if ("snowflake".equalsIgnoreCase(setting(settings, STRATEGY, "pooled"))) {
+            snowflake = new SnowflakeIdGenerator(Long.parseLong(setting(settings, WORKER_ID, "0")));
+        }
+
+        int shardCount = Integer.parseInt(setting(settings, SHARD_COUNT, "1"));
+
+        if (shardCount > 1) {
+            if (snowflake == null) {
+                throw new MappingException("샤딩(post.shard.count > 1)을 사용하려면 post.id.strategy 를 snowflake 로 설정해야 합니다.");
+            }
+
+            shardedIdGenerator = new ShardedIdGenerator(snowflake, shardCount);
+        }
+
+        parameters.put(SEQUENCE_PARAM, "post_seq");
+        parameters.put(INCREMENT_PARAM, setting(settings, ALLOCATION_SIZE, "100"));
+        parameters.put(OPT_PARAM, "pooled-lo");
+
+        super.configure(type, parameters, serviceRegistry);
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+
+        if (shardedIdGenerator != null) {
+            return shardedIdGenerator.nextId();
+        }
+
+        if (snowflake != null) {
+            return snowflake.nextId();
+        }
+
+        return super.generate(session, object);
+    }
+
+    private static String setting(Map<String, Object> settings, String key, String defaultValue) {
+
+        Object value = settings.get(key);
+
+        return value == null ? defaultValue : value.toString();
+    }
+}
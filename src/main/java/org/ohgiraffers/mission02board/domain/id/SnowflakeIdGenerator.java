@@ -0,0 +1,88 @@
+package org.ohgiraffers.mission02board.domain.id;
+
+/** Snowflake 방식 ID 생성기
+ *  DB 를 거치지 않고 애플리케이션 안에서 시간 순서로 정렬되는 64bit ID 를 만든다.
+ *
+ *  | 1bit 부호(0) | 41bit 타임스탬프(ms) | 10bit 워커 ID | 12bit 시퀀스 |
+ *
+ *  워커 ID 는 서버(인스턴스)마다 다르게 설정해야 ID 가 겹치지 않는다.
+ *  같은 밀리초 안에서는 시퀀스로 최대 4096 개까지 만들고, 넘치면 다음 밀리초까지 기다린다.
+ */
+public class SnowflakeIdGenerator {
+
+    // 2024-01-01T00:00:00Z
+    public static final long EPOCH = 1704067200000L;
+
+    public static final int WORKER_ID_BITS = 10;
+
+    public static final int SEQUENCE_BITS = 12;
+
+    public static final long MAX_WORKER_ID = (1L << WORKER_ID_BITS) - 1;
+
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private final long workerId;
+
+    private long lastTimestamp = -1L;
+
+    private long sequence = 0L;
+
+    public SnowflakeIdGenerator(long workerId) {
+
+        if (workerId < 0 || workerId > MAX_WORKER_ID) {
+            throw new IllegalArgumentException("workerId 는 0 이상 " + MAX_WORKER_ID + " 이하로 설정해주세요.");
+        }
+
+        this.workerId = workerId;
+    }
+
+    public synchronized long nextId() {
+
+        long timestamp = currentTimeMillis();
+
+        // 시스템 시계가 뒤로 돌아간 경우, 마지막으로 사용한 시간 기준으로 계속 발급해서 중복을 막는다.
+        if (timestamp < lastTimestamp) {
+            timestamp = lastTimestamp;
+        }
+
+        if (timestamp == lastTimestamp) {
+            sequence = (sequence + 1) & SEQUENCE_MASK;
+
+            if (sequence == 0) {
+                timestamp = waitNextMillis(lastTimestamp);
+            }
+        } else {
+            sequence = 0L;
+        }
+
+        lastTimestamp = timestamp;
+
+        return ((timestamp - EPOCH) << (WORKER_ID_BITS + SEQUENCE_BITS))
+                | (workerId << SEQUENCE_BITS)
+                | sequence;
+    }
+
+    public static long workerIdOf(long id) {
+        return (id >> SEQUENCE_BITS) & MAX_WORKER_ID;
+    }
+
+    public static long timestampOf(long id) {
+        return (id >> (WORKER_ID_BITS + SEQUENCE_BITS)) + EPOCH;
+    }
+
+    protected long currentTimeMillis() {
+        return System.currentTimeMillis();
+    }
+
+    private long waitNextMillis(long lastTimestamp) {
+
+        long timestamp = currentTimeMillis();
+
+        while (timestamp <= lastTimestamp) {
+            Thread.onSpinWait();
+            timestamp = currentTimeMillis();
+        }
+
+        return timestamp;
+    }
+}
@@ -0,0 +1,29 @@
+package org.ohgiraffers.mission02board.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkCreatePostResponse {
+
+    // 요청 본문에서 몇 번째(0부터) 게시글인지
+    private int index;
+
+    private Long postId;
+
+    private boolean created;
+
+    // 실패했을 때의 사유, 성공하면 null
+    private String message;
+
+    public static BulkCreatePostResponse created(int index, Long postId) {
+        return new BulkCreatePostResponse(index, postId, true, null);
+    }
+
+    public static BulkCreatePostResponse failed(int index, String message) {
+        return new BulkCreatePostResponse(index, null, false, message);
+    }
+}
@@ -0,0 +1,19 @@
+package org.ohgiraffers.mission02board.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkReadPostResponse {
+
+    // 요청한 ids 순서대로, 찾은 게시글만 담는다. (같은 postId 를 여러 번 요청하면 한 번만 담는다.)
+    private List<ReadPostResponse> posts;
+
+    // 찾지 못한 postId, 요청한 순서대로
+    private List<Long> missingIds;
+}
@@ -0,0 +1,20 @@
+package org.ohgiraffers.mission02board.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class CursorResponse<T> {
+
+    private List<T> content;
+
+    // 다음 페이지를 조회할 때 after 로 넘겨주는 값, 마지막 페이지면 null
+    private String nextCursor;
+
+    private boolean hasNext;
+}
@@ -0,0 +1,15 @@
+package org.ohgiraffers.mission02board.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ErrorResponse {
+
+    private int status;
+
+    private String message;
+}
@@ -0,0 +1,40 @@
+package org.ohgiraffers.mission02board.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/** 게시글 목록용 응답
+ *  목록에서는 내용 전체 대신 앞부분(preview)만 내려준다.
+ */
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class PostSummaryResponse {
+
+    public static final int PREVIEW_LENGTH = 100;
+
+    private Long postId;
+
+    private String title;
+
+    // 내용의 앞 PREVIEW_LENGTH 글자
+    private String preview;
+
+    private Long version;
+
+    // 내용의 앞부분 PREVIEW_LENGTH 글자, 마지막 글자가 surrogate pair 의 앞쪽이면 잘리지 않게 뺀다.
+    public static String preview(String content) {
+
+        if (content == null || content.length() <= PREVIEW_LENGTH) {
+            return content;
+        }
+
+        int end = PREVIEW_LENGTH;
+        if (Character.isHighSurrogate(content.charAt(end - 1))) {
+            end--;
+        }
+
+        return content.substring(0, end);
+    }
+}
@@ -0,0 +1,22 @@
+package org.ohgiraffers.mission02board.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/** 게시글의 버전 정보
+ *  조건부 조회(If-None-Match, If-Modified-Since)를 판단할 때 내용(content)까지 읽지 않도록 버전과 수정 시각만 조회한다.
+ */
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class PostVersion {
+
+    private Long postId;
+
+    private Long version;
+
+    private Instant lastModifiedAt;
+}
@@ -4,6 +4,8 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
+import java.time.Instant;
+
 @Getter
 @AllArgsConstructor
 @NoArgsConstructor
@@ -14,4 +16,16 @@ public class ReadPostResponse {
     private String title;
 
     private String content;
+
+    private Long version;
+
+    private Instant lastModifiedAt;
+
+    // 주기적으로 반영되는 조회수, 최대 post.view.flush-interval-ms 만큼 늦게 반영된다.
+    private Long viewCount;
+
+    // 조회수만 더한 복사본, 캐시된 응답은 여러 요청이 함께 읽으므로 바꾸지 않고 새로 만든다.
+    public ReadPostResponse plusViews(long views) {
+        return new ReadPostResponse(postId, title, content, version, lastModifiedAt, (viewCount == null ? 0 : viewCount) + views);
+    }
 }
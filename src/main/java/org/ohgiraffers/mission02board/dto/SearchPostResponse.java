@@ -0,0 +1,17 @@
+package org.ohgiraffers.mission02board.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class SearchPostResponse {
+
+    private Long postId;
+
+    private String title;
+
+    private double score;
+}
@@ -15,4 +15,7 @@ public class UpdatePostResponse {
 
     private String content;
 
+    // 수정된 뒤의 버전, 다음 수정의 If-Match 로 보낼 ETag("postId-version")에 쓴다.
+    private Long version;
+
 }
@@ -0,0 +1,41 @@
+package org.ohgiraffers.mission02board.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/** PostEvent
+ *  게시글이 작성, 수정, 삭제되었다는 것을 알리는 이벤트
+ *  PostService 는 이벤트만 발행하고, 작성, 수정, 삭제 이벤트는 같은 트랜잭션에서 아웃박스(PostOutbox)에 저장된다.
+ *  검색 색인처럼 게시글 변경을 따라가야 하는 기능들은 PostEventSubscriber 로 이벤트를 전달받아 처리한다.
+ *  삭제 이벤트는 postId 만, 조회 이벤트는 postId 와 제목만 담는다.
+ */
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class PostEvent {
+
+    private PostEventType type;
+
+    private Long postId;
+
+    private String title;
+
+    private String content;
+
+    public static PostEvent created(Long postId, String title, String content) {
+        return new PostEvent(PostEventType.CREATED, postId, title, content);
+    }
+
+    public static PostEvent updated(Long postId, String title, String content) {
+        return new PostEvent(PostEventType.UPDATED, postId, title, content);
+    }
+
+    public static PostEvent deleted(Long postId) {
+        return new PostEvent(PostEventType.DELETED, postId, null, null);
+    }
+
+    public static PostEvent read(Long postId, String title) {
+        return new PostEvent(PostEventType.READ, postId, title, null);
+    }
+}
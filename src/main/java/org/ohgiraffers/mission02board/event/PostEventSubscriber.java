@@ -0,0 +1,14 @@
+package org.ohgiraffers.mission02board.event;
+
+/** PostEventSubscriber
+ *  아웃박스(PostOutbox)에 저장된 게시글 작성, 수정, 삭제 이벤트를 받는 구독자
+ *  PostOutboxRelay 가 커밋된 이벤트를 같은 postId 안에서는 발생한 순서대로 전달한다.
+ *
+ *  주의
+ *  적어도 한 번(at-least-once) 전달하므로, 같은 이벤트를 두 번 받아도 결과가 같도록(멱등) 처리해야 한다.
+ *  예외를 던지면 그 게시글의 이벤트는 다음 전달 주기에 이 이벤트부터 다시 전달된다.
+ */
+public interface PostEventSubscriber {
+
+    void onPostEvent(PostEvent event);
+}
@@ -0,0 +1,17 @@
+package org.ohgiraffers.mission02board.event;
+
+public enum PostEventType {
+
+    CREATED,
+
+    UPDATED,
+
+    DELETED,
+
+    // 게시글 단건 조회 (인기 게시글 순위용), 트랜잭션 밖에서 발행된다.
+    READ;
+
+    public boolean isWrite() {
+        return this != READ;
+    }
+}
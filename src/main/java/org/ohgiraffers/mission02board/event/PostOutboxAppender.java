@@ -0,0 +1,24 @@
+package org.ohgiraffers.mission02board.event;
+
+import lombok.RequiredArgsConstructor;
+import org.ohgiraffers.mission02board.domain.PostOutbox;
+import org.ohgiraffers.mission02board.repository.PostOutboxRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/** 게시글 작성, 수정, 삭제 이벤트를 아웃박스 테이블에 저장한다.
+ *  BEFORE_COMMIT : 이벤트를 발행한 트랜잭션이 커밋되기 직전에, 같은 트랜잭션 안에서 실행된다.
+ *  PostService, PostBulkService 는 지금처럼 이벤트만 발행하면 된다.
+ */
+@Component
+@RequiredArgsConstructor
+public class PostOutboxAppender {
+
+    private final PostOutboxRepository postOutboxRepository;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, condition = "#event.type.write")
+    public void append(PostEvent event) {
+        postOutboxRepository.save(PostOutbox.from(event));
+    }
+}
@@ -0,0 +1,97 @@
+package org.ohgiraffers.mission02board.event;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.ohgiraffers.mission02board.domain.PostOutbox;
+import org.ohgiraffers.mission02board.repository.PostOutboxRepository;
+import org.ohgiraffers.mission02board.shard.PostShards;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/** 아웃박스 릴레이
+ *  post.outbox.relay-interval-ms 마다 아웃박스에 쌓인 이벤트를 post.outbox.batch-size 개씩 저장된 순서대로 꺼내
+ *  모든 PostEventSubscriber 에게 전달하고, 전달이 끝난 이벤트를 한 번에 삭제한다.
+ *  게시글 작성, 수정, 삭제 요청은 구독자를 기다리지 않고 아웃박스에 저장만 하고 바로 응답한다.
+ *
+ *  - 적어도 한 번(at-least-once) : 전달한 뒤 삭제하기 전에 종료되면 다음 실행 때 다시 전달된다.
+ *  - postId 별 순서 보장 : 어떤 게시글의 이벤트 전달이 실패하면, 같은 배치에 있는 그 게시글의 이후 이벤트는 건너뛰고
+ *    남겨둔다. 다음 주기에 실패한 이벤트부터 다시 순서대로 전달한다. 다른 게시글의 이벤트는 계속 전달한다.
+ *
+ *  샤딩을 사용하면 아웃박스는 게시글과 같은 샤드에 저장되므로(같은 트랜잭션), 샤드마다 차례대로 릴레이한다.
+ *  postId 가 같은 이벤트는 같은 샤드에 있으므로 postId 별 순서는 그대로 지켜진다.
+ *
+ *  주의
+ *  구독자가 같은 프로세스 안에 있으므로(검색 색인, 인기 게시글), 인스턴스가 하나일 때를 기준으로 한다.
+ *  인스턴스가 여러 개이면 이벤트를 메시지 브로커로 전달해서 인스턴스마다 받아야 한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PostOutboxRelay {
+
+    private final PostOutboxRepository postOutboxRepository;
+
+    private final List<PostEventSubscriber> subscribers;
+
+    private final PostShards postShards;
+
+    @Value("${post.outbox.batch-size:500}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${post.outbox.relay-interval-ms:200}")
+    public void relay() {
+        postShards.forEach(shard -> relayShard());
+    }
+
+    private void relayShard() {
+
+        List<PostOutbox> batch;
+
+        do {
+            batch = postOutboxRepository.findAllByOrderByOutboxIdAsc(PageRequest.of(0, batchSize));
+
+            List<Long> delivered = deliver(batch);
+
+            if (!delivered.isEmpty()) {
+                postOutboxRepository.deleteAllByIdInBatch(delivered);
+            }
+
+            // 실패한 이벤트가 있으면 다음 주기에 다시 시도한다.
+            if (delivered.size() < batch.size()) {
+                return;
+            }
+        } while (batch.size() == batchSize);
+    }
+
+    private List<Long> deliver(List<PostOutbox> batch) {
+
+        List<Long> delivered = new ArrayList<>(batch.size());
+        Set<Long> failedPostIds = new HashSet<>();
+
+        for (PostOutbox outbox : batch) {
+
+            if (failedPostIds.contains(outbox.getPostId())) {
+                continue;
+            }
+
+            try {
+                PostEvent event = outbox.toEvent();
+                subscribers.forEach(subscriber -> subscriber.onPostEvent(event));
+                delivered.add(outbox.getOutboxId());
+            } catch (RuntimeException e) {
+                log.warn("게시글 이벤트 전달 실패, 다음 주기에 다시 전달합니다. outboxId={}, postId={}",
+                        outbox.getOutboxId(), outbox.getPostId(), e);
+                failedPostIds.add(outbox.getPostId());
+            }
+        }
+
+        return delivered;
+    }
+}
@@ -0,0 +1,229 @@
+package org.ohgiraffers.mission02board.ranking;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/** 인기 게시글 순위 (top-K)
+ *  점수 = 조회 1건마다 1점 + 작성될 때 createdWeight 점, 모든 점수는 halfLife 가 지날 때마다 절반으로 줄어든다.
+ *  작성 가중치는 게시글마다 한 번만 더한다. 작성 이벤트는 아웃박스 릴레이가 at-least-once 로 전달하므로 같은 이벤트가 다시 올 수 있다.
+ *  오래 전에 많이 조회된 게시글보다 최근에 조회되고 최근에 작성된 게시글이 위로 올라온다.
+ *
+ *  forward decay
+ *  점수를 매번 줄이지 않고, 기준 시각(landmark) 이후로 늦게 들어온 조회일수록 e^(λ(t - landmark)) 만큼 크게 더한다.
+ *  모든 게시글이 같은 비율로 줄어들기 때문에 순서는 그대로이고, 조회를 기록할 때 O(1) 로 더하기만 하면 된다.
+ *  가중치가 너무 커지기 전에 refresh() 에서 기준 시각을 옮기고(rebase) 모든 점수를 다시 맞춘다.
+ *
+ *  조회 기록은 여러 스레드가 동시에(read lock), 기준 시각 이동은 혼자서(write lock) 한다.
+ *  조회 요청은 refresh() 가 주기적으로 만들어 둔 상위 K 개 목록(snapshot)만 읽으므로 O(K) 이다.
+ *
+ *  - 삭제된 게시글은 TOMBSTONE_MILLIS 동안 기억해 두고, 그 사이에 늦게 도착한 조회, 작성 이벤트는 무시한다.
+ *    (삭제 전에 시작된 조회 요청이나 아웃박스로 늦게 전달된 이벤트가 삭제된 게시글을 다시 순위에 넣지 않게 한다)
+ *  - 순위에 두는 게시글은 capacity * ENTRIES_PER_RANK 개까지로, 넘으면 refresh() 에서 점수가 낮은 게시글부터 제거한다.
+ */
+public class PopularPostRanking {
+
+    // 1 / 2^10 점보다 작아진 게시글은 순위에서 제거해서 메모리를 계속 차지하지 않게 한다.
+    private static final double PRUNE_SCORE = 1.0 / 1024;
+
+    // e^40 정도까지만 가중치를 키우고, 그 이상이면 기준 시각을 옮긴다. (double 정밀도 안에서 더하기 위해)
+    private static final double MAX_EXPONENT = 40;
+
+    // 삭제된 게시글을 기억하는 시간, 늦게 도착하는 조회 요청과 아웃박스 재전달보다 넉넉하게 둔다.
+    static final long TOMBSTONE_MILLIS = 10 * 60 * 1000L;
+
+    // 상위 K 개 밖에서 올라올 후보까지 K 의 몇 배를 남겨 둘지
+    static final int ENTRIES_PER_RANK = 10;
+
+    private static final Comparator<RankedPost> RANKING = Comparator
+            .comparingDouble(RankedPost::getScore).reversed()
+            .thenComparing(RankedPost::getPostId, Comparator.reverseOrder());
+
+    private final int capacity;
+
+    private final double createdWeight;
+
+    // λ = ln2 / halfLife
+    private final double decayRate;
+
+    private final ConcurrentMap<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    // 삭제된 postId -> 삭제된 시각(ms)
+    private final ConcurrentMap<Long, Long> tombstones = new ConcurrentHashMap<>();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private long landmark;
+
+    private volatile List<RankedPost> snapshot = List.of();
+
+    public PopularPostRanking(int capacity, long halfLifeMillis, double createdWeight, long nowMillis) {
+        this.capacity = capacity;
+        this.createdWeight = createdWeight;
+        this.decayRate = Math.log(2) / halfLifeMillis;
+        this.landmark = nowMillis;
+    }
+
+    public void recordRead(Long postId, String title, long nowMillis) {
+        add(postId, title, 1, false, nowMillis);
+    }
+
+    // 같은 게시글의 작성 이벤트가 다시 전달되면 제목만 바꾸고 점수는 그대로 둔다.
+    public void recordCreated(Long postId, String title, long nowMillis) {
+        add(postId, title, createdWeight, true, nowMillis);
+    }
+
+    // 제목만 바꾸고 점수는 그대로 둔다. 순위에 없는 게시글이면 무시한다.
+    public void updateTitle(Long postId, String title) {
+
+        Entry entry = entries.get(postId);
+        if (entry != null) {
+            entry.title = title;
+        }
+    }
+
+    public void remove(Long postId, long nowMillis) {
+
+        tombstones.put(postId, nowMillis);
+        entries.remove(postId);
+
+        List<RankedPost> current = snapshot;
+        if (current.stream().anyMatch(post -> post.getPostId().equals(postId))) {
+            snapshot = current.stream().filter(post -> !post.getPostId().equals(postId)).toList();
+        }
+    }
+
+    /* 현재 점수로 상위 K 개를 다시 골라 snapshot 을 교체한다. (크기 K 의 최소 힙, O(N log K))
+    *   점수가 PRUNE_SCORE 보다 작아진 게시글과 capacity * ENTRIES_PER_RANK 개를 넘는 점수가 낮은 게시글, 오래된 삭제 기록은 제거한다.*/
+    public void refresh(long nowMillis) {
+
+        rebaseIfNeeded(nowMillis);
+
+        tombstones.values().removeIf(removedAt -> nowMillis - removedAt > TOMBSTONE_MILLIS);
+
+        PriorityQueue<RankedPost> top = new PriorityQueue<>(capacity + 1, RANKING.reversed());
+        int maxEntries = capacity * ENTRIES_PER_RANK;
+        List<ScoredEntry> scored = entries.size() > maxEntries ? new ArrayList<>(entries.size()) : null;
+
+        lock.readLock().lock();
+        try {
+            double decay = Math.exp(-decayRate * (nowMillis - landmark));
+
+            for (Map.Entry<Long, Entry> mapEntry : entries.entrySet()) {
+                Entry entry = mapEntry.getValue();
+                double score = entry.weight.sum() * decay;
+
+                if (score < PRUNE_SCORE) {
+                    entries.remove(mapEntry.getKey(), entry);
+                    continue;
+                }
+
+                if (scored != null) {
+                    scored.add(new ScoredEntry(mapEntry.getKey(), entry, score));
+                }
+
+                // 제목을 모르는 게시글(재시작 전에 작성되어 아직 본문 조회가 없었던 게시글)은 목록에 보여줄 수 없으므로 건너뛴다.
+                if (entry.title == null) {
+                    continue;
+                }
+
+                top.offer(new RankedPost(mapEntry.getKey(), entry.title, score));
+                if (top.size() > capacity) {
+                    top.poll();
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        if (scored != null && scored.size() > maxEntries) {
+            // 상위 K 개보다 한참 아래에 있는 게시글이므로 정렬 비용(O(N log N))은 entries 가 넘칠 때만 든다.
+            scored.sort(Comparator.comparingDouble(ScoredEntry::score));
+            scored.subList(0, scored.size() - maxEntries).forEach(lowest -> entries.remove(lowest.postId(), lowest.entry()));
+        }
+
+        List<RankedPost> ranked = new ArrayList<>(top);
+        ranked.sort(RANKING);
+        snapshot = List.copyOf(ranked);
+    }
+
+    // 마지막 refresh() 시점의 상위 size 개
+    public List<RankedPost> top(int size) {
+
+        List<RankedPost> current = snapshot;
+
+        return current.subList(0, Math.min(size, current.size()));
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void add(Long postId, String title, double points, boolean created, long nowMillis) {
+
+        if (tombstones.containsKey(postId)) {
+            return;
+        }
+
+        lock.readLock().lock();
+        try {
+            Entry entry = entries.computeIfAbsent(postId, key -> new Entry());
+
+            // 확인한 뒤에 삭제되었으면 방금 만든(또는 찾은) 항목을 다시 지운다.
+            if (tombstones.containsKey(postId)) {
+                entries.remove(postId, entry);
+                return;
+            }
+
+            if (title != null) {
+                entry.title = title;
+            }
+
+            if (created && !entry.created.compareAndSet(false, true)) {
+                return;
+            }
+
+            entry.weight.add(points * Math.exp(decayRate * (nowMillis - landmark)));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void rebaseIfNeeded(long nowMillis) {
+
+        if (decayRate * (nowMillis - landmark) < MAX_EXPONENT) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            double scale = Math.exp(-decayRate * (nowMillis - landmark));
+
+            for (Entry entry : entries.values()) {
+                double rebased = entry.weight.sumThenReset() * scale;
+                entry.weight.add(rebased);
+            }
+
+            landmark = nowMillis;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private record ScoredEntry(Long postId, Entry entry, double score) {
+    }
+
+    private static class Entry {
+
+        private final DoubleAdder weight = new DoubleAdder();
+
+        // 작성 가중치를 이미 더했는지
+        private final AtomicBoolean created = new AtomicBoolean();
+
+        private volatile String title;
+    }
+}
@@ -0,0 +1,15 @@
+package org.ohgiraffers.mission02board.ranking;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class RankedPost {
+
+    private Long postId;
+
+    private String title;
+
+    private double score;
+}
@@ -0,0 +1,19 @@
+package org.ohgiraffers.mission02board.repository;
+
+import org.ohgiraffers.mission02board.domain.PostContent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface PostContentRepository extends JpaRepository<PostContent, Long> {
+
+    // content 파라미터도 PostContentConverter 를 거쳐서(압축해서) 저장된다.
+    @Modifying
+    @Query("update PostContent c set c.content = :content where c.postId = :postId")
+    int updateContent(@Param("postId") Long postId, @Param("content") String content);
+
+    @Modifying
+    @Query("delete from PostContent c where c.postId = :postId")
+    int deleteContentById(@Param("postId") Long postId);
+}
@@ -0,0 +1,16 @@
+package org.ohgiraffers.mission02board.repository;
+
+import org.ohgiraffers.mission02board.domain.PostOutbox;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+public interface PostOutboxRepository extends JpaRepository<PostOutbox, Long> {
+
+    /* 아직 전달되지 않은 이벤트를 저장된 순서대로 pageable 크기만큼 조회한다.
+    *   복제 DB 를 사용할 때도 지연 없이 읽도록 읽기 전용이 아닌 트랜잭션으로 primary 에서 조회한다. (ReplicaRoutingDataSource)*/
+    @Transactional
+    List<PostOutbox> findAllByOrderByOutboxIdAsc(Pageable pageable);
+}
@@ -1,7 +1,113 @@
 package org.ohgiraffers.mission02board.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.ohgiraffers.mission02board.domain.Post;
+import org.ohgiraffers.mission02board.dto.PostSummaryResponse;
+import org.ohgiraffers.mission02board.dto.PostVersion;
+import org.ohgiraffers.mission02board.dto.ReadPostResponse;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface PostRepository extends JpaRepository<Post, Long> {
+
+    /* 생성자 표현식(select new ...)
+    *   엔티티를 영속성 컨텍스트에 올리지 않고 조회 결과를 바로 DTO 로 만든다.
+    *   변경 감지용 스냅샷도, 엔티티 -> DTO 복사도 필요 없기 때문에 조회 전용 화면에 적합하다.
+    *   내용은 post_content 테이블에서 읽는다. (PostContentConverter 가 압축을 푼다.)*/
+    String READ_POST_RESPONSE = "select new org.ohgiraffers.mission02board.dto.ReadPostResponse(p.postId, p.title, c.content, "
+            + "p.version, p.lastModifiedAt, p.viewCount) from Post p left join PostContent c on c.postId = p.postId ";
+
+    String POST_SUMMARY_RESPONSE = "select new org.ohgiraffers.mission02board.dto.PostSummaryResponse(p.postId, p.title, "
+            + "p.preview, p.version) from Post p ";
+
+    @Query(READ_POST_RESPONSE + "where p.postId = :postId")
+    Optional<ReadPostResponse> findReadPostResponseById(@Param("postId") Long postId);
+
+    // 여러 게시글을 한 번에 조회한다. (PostLoader) 없는 postId 는 결과에서 빠진다.
+    @Query(READ_POST_RESPONSE + "where p.postId in :postIds")
+    List<ReadPostResponse> findReadPostResponsesByIdIn(@Param("postIds") Collection<Long> postIds);
+
+    // If-Match 에 태그가 여러 개일 때 현재 버전을 확인한다. 내용(content)은 읽지 않는다.
+    @Query("select new org.ohgiraffers.mission02board.dto.PostVersion(p.postId, p.version, p.lastModifiedAt) "
+            + "from Post p where p.postId = :postId")
+    Optional<PostVersion> findVersionById(@Param("postId") Long postId);
+
+    // 목록은 내용(post_content)을 읽지 않고, 저장해 둔 앞부분(preview)만 가져온다.
+    @Query(value = POST_SUMMARY_RESPONSE, countQuery = "select count(p) from Post p")
+    Page<PostSummaryResponse> findSummaries(Pageable pageable);
+
+    // 같은 목록을 count 쿼리 없이 조회한다. (size + 1 개를 읽어서 다음 페이지가 있는지만 판단)
+    @Query(POST_SUMMARY_RESPONSE)
+    Slice<PostSummaryResponse> findSummarySlice(Pageable pageable);
+
+    /* 커서(keyset) 기반 조회
+    *   OFFSET 대신 마지막으로 조회한 postId 보다 작은 게시글만 찾기 때문에, 몇 번째 페이지든 비용이 같다.
+    *   Slice 는 count 쿼리 없이 size + 1 개를 조회해서 다음 페이지가 있는지만 판단한다.*/
+    @Query(POST_SUMMARY_RESPONSE + "order by p.postId desc")
+    Slice<PostSummaryResponse> findSummariesOrderByPostIdDesc(Pageable pageable);
+
+    @Query(POST_SUMMARY_RESPONSE + "where p.postId < :postId order by p.postId desc")
+    Slice<PostSummaryResponse> findSummariesByPostIdLessThanOrderByPostIdDesc(@Param("postId") Long postId,
+                                                                             Pageable pageable);
+
+    // 내용까지 필요한 곳(검색 색인 생성)에서 사용한다.
+    @Query(READ_POST_RESPONSE + "order by p.postId desc")
+    Slice<ReadPostResponse> findReadPostResponsesOrderByPostIdDesc(Pageable pageable);
+
+    @Query(READ_POST_RESPONSE + "where p.postId < :postId order by p.postId desc")
+    Slice<ReadPostResponse> findReadPostResponsesByPostIdLessThanOrderByPostIdDesc(@Param("postId") Long postId,
+                                                                                  Pageable pageable);
+
+    /* @Modifying
+    *   조회가 아닌 UPDATE, DELETE 쿼리라는 것을 알려준다. 반환값은 변경된 행(row)의 수이다.
+    *   엔티티를 먼저 조회하지 않고 쿼리 한 번으로 수정, 삭제하기 때문에 DB 왕복이 한 번으로 줄어든다.
+    *   UPDATE 쿼리는 엔티티를 거치지 않으므로 버전과 수정 시각도 쿼리에서 직접 갱신한다.
+    *   내용은 PostContentRepository.updateContent 로 따로 수정한다.*/
+    @Modifying
+    @Query("update Post p set p.title = :title, p.preview = :preview, p.version = p.version + 1, "
+            + "p.lastModifiedAt = :lastModifiedAt where p.postId = :postId")
+    int updateTitleAndPreview(@Param("postId") Long postId,
+                              @Param("title") String title,
+                              @Param("preview") String preview,
+                              @Param("lastModifiedAt") Instant lastModifiedAt);
+
+    // 낙관적 락 : 클라이언트가 알고 있는 버전(version)과 같을 때만 수정한다.
+    @Modifying
+    @Query("update Post p set p.title = :title, p.preview = :preview, p.version = p.version + 1, "
+            + "p.lastModifiedAt = :lastModifiedAt where p.postId = :postId and p.version = :version")
+    int updateTitleAndPreviewIfVersion(@Param("postId") Long postId,
+                                       @Param("title") String title,
+                                       @Param("preview") String preview,
+                                       @Param("lastModifiedAt") Instant lastModifiedAt,
+                                       @Param("version") Long version);
+
+    @Modifying
+    @Query("delete from Post p where p.postId = :postId")
+    int deletePostById(@Param("postId") Long postId);
+
+    /* 전체 게시글을 한 건씩 흘려보내는(Stream) 조회
+    *   결과를 한 번에 List 로 받지 않고 fetch size 만큼씩 DB 커서로 가져오기 때문에, 게시글 수와 상관없이 메모리 사용량이 일정하다.
+    *   (MySQL 은 useCursorFetch=true 일 때 fetch size 를 지킨다.)
+    *   Stream 은 트랜잭션 안에서 사용하고, 다 쓴 뒤에는 반드시 닫아야 한다.
+    *   DTO 로 조회하므로 영속성 컨텍스트에 엔티티가 쌓이지 않는다.*/
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query(READ_POST_RESPONSE + "order by p.postId")
+    Stream<ReadPostResponse> streamAllBy();
 }
@@ -0,0 +1,60 @@
+package org.ohgiraffers.mission02board.routing;
+
+/** 자기 쓰기 읽기(read-your-writes)
+ *  복제(replica) DB 는 원본(primary)보다 조금 늦게 반영되므로, 방금 수정한 사용자가 복제 DB 에서 읽으면 수정 전 값을 볼 수 있다.
+ *  요청 스레드마다 상태를 두고, 아래 경우에는 읽기 전용 트랜잭션도 primary 로 보낸다.
+ *  - 최근에 쓰기를 한 클라이언트의 요청 (ReadYourWritesFilter 가 쿠키로 판단한다.)
+ *  - 같은 요청 안에서 이미 쓰기를 한 뒤의 읽기
+ *
+ *  상태는 ThreadLocal 이므로 요청 스레드에서만 유효하다. (StreamingResponseBody 처럼 다른 스레드에서 실행되는 작업은 해당되지 않는다.)
+ */
+public final class ReadYourWrites {
+
+    private static final ThreadLocal<State> STATE = new ThreadLocal<>();
+
+    private ReadYourWrites() {
+    }
+
+    /* 요청이 시작될 때 호출한다.
+    *   primaryForced : 처음부터 primary 에서 읽을지
+    *   onFirstWrite  : 요청 안에서 처음으로 쓰기 트랜잭션이 시작될 때 한 번 실행된다. (쿠키 발급)*/
+    public static void begin(boolean primaryForced, Runnable onFirstWrite) {
+        STATE.set(new State(primaryForced, onFirstWrite));
+    }
+
+    public static void clear() {
+        STATE.remove();
+    }
+
+    public static boolean isPrimaryForced() {
+        State state = STATE.get();
+        return state != null && state.primaryForced;
+    }
+
+    static void markWrite() {
+
+        State state = STATE.get();
+
+        if (state == null || state.written) {
+            return;
+        }
+
+        state.written = true;
+        state.primaryForced = true;
+        state.onFirstWrite.run();
+    }
+
+    private static class State {
+
+        private boolean primaryForced;
+
+        private boolean written;
+
+        private final Runnable onFirstWrite;
+
+        private State(boolean primaryForced, Runnable onFirstWrite) {
+            this.primaryForced = primaryForced;
+            this.onFirstWrite = onFirstWrite;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package org.ohgiraffers.mission02board.routing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+
+/** 쓰기를 한 클라이언트에게 stickyWindow 동안 "primary 에서 읽기" 쿠키를 발급하고,
+ *  쿠키가 유효한 요청은 읽기도 primary 로 보낸다. 복제 지연(replication lag)보다 stickyWindow 를 길게 잡아야 한다.
+ *  쿠키로 판단하므로 요청이 다른 인스턴스로 가도 같은 결과가 나온다.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    public static final String COOKIE_NAME = "post-primary-until";
+
+    private final Duration stickyWindow;
+
+    private final Clock clock;
+
+    public ReadYourWritesFilter(Duration stickyWindow, Clock clock) {
+        this.stickyWindow = stickyWindow;
+        this.clock = clock;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        ReadYourWrites.begin(isSticky(request), () -> issueCookie(response));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReadYourWrites.clear();
+        }
+    }
+
+    private boolean isSticky(HttpServletRequest request) {
+
+        Cookie[] cookies = request.getCookies();
+
+        if (cookies == null) {
+            return false;
+        }
+
+        for (Cookie cookie : cookies) {
+            if (COOKIE_NAME.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue()) > clock.millis();
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    // 응답이 이미 전송되기 시작했으면 헤더를 추가할 수 없으므로 발급하지 않는다.
+    private void issueCookie(HttpServletResponse response) {
+
+        if (response.isCommitted()) {
+            return;
+        }
+
+        Cookie cookie = new Cookie(COOKIE_NAME, String.valueOf(clock.millis() + stickyWindow.toMillis()));
+        cookie.setPath("/");
+        cookie.setHttpOnly(true);
+        cookie.setMaxAge((int) Math.max(1, stickyWindow.toSeconds()));
+        response.addCookie(cookie);
+    }
+}
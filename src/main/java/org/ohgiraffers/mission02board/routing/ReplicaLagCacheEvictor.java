@@ -0,0 +1,42 @@
+package org.ohgiraffers.mission02board.routing;
+
+import org.ohgiraffers.mission02board.event.PostEvent;
+import org.springframework.cache.Cache;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.Duration;
+
+/** 복제 지연 동안 캐시된 게시글을 한 번 더 제거한다.
+ *  수정, 삭제할 때 @CacheEvict 로 캐시를 비워도, 복제 DB 에 아직 반영되지 않은 동안 다른 클라이언트가 조회하면
+ *  복제 DB 의 예전 게시글이 다시 캐시에 저장되고 만료(10분)될 때까지 그대로 응답된다.
+ *
+ *  커밋된 뒤 delay(sticky-window, 복제 지연이 이보다 짧다고 가정하는 시간)가 지나면 같은 게시글을 캐시에서 다시 제거해서,
+ *  그 사이에 저장된 예전 게시글이 delay 보다 오래 남지 않게 한다. (ReplicaRoutingConfig 가 등록한다)
+ */
+public class ReplicaLagCacheEvictor {
+
+    private final Cache cache;
+
+    private final TaskScheduler taskScheduler;
+
+    private final Duration delay;
+
+    private final Clock clock;
+
+    public ReplicaLagCacheEvictor(Cache cache, TaskScheduler taskScheduler, Duration delay, Clock clock) {
+        this.cache = cache;
+        this.taskScheduler = taskScheduler;
+        this.delay = delay;
+        this.clock = clock;
+    }
+
+    /* AFTER_COMMIT : 롤백된 수정은 캐시와 상관없으므로 커밋된 뒤에만 예약한다.*/
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, condition = "#event.type.write")
+    public void onPostWritten(PostEvent event) {
+        Long postId = event.getPostId();
+        taskScheduler.schedule(() -> cache.evict(postId), clock.instant().plus(delay));
+    }
+}
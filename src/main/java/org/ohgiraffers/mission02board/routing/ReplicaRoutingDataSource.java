@@ -0,0 +1,146 @@
+package org.ohgiraffers.mission02board.routing;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/** 읽기 / 쓰기 DataSource 분리
+ *  커넥션을 가져올 때마다 determineCurrentLookupKey() 로 어느 DB 를 사용할지 정한다.
+ *  - 읽기 전용 트랜잭션(@Transactional(readOnly = true)) : 정상인 복제 DB 중 하나 (라운드 로빈)
+ *  - 그 외(쓰기 트랜잭션, 트랜잭션 밖의 JDBC 호출)      : primary
+ *  - 정상인 복제 DB 가 없거나, 자기 쓰기 읽기(ReadYourWrites) 상태이면 읽기도 primary
+ *
+ *  주의
+ *  트랜잭션이 시작될 때가 아니라 첫 쿼리를 실행할 때 커넥션을 가져와야 readOnly 여부를 알 수 있으므로,
+ *  반드시 LazyConnectionDataSourceProxy 로 감싸서 사용한다. (ReplicaRoutingConfig)
+ *
+ *  checkHealth() 가 주기적으로 복제 DB 에 연결해 보고, 연결되지 않는 복제 DB 는 다시 연결될 때까지 사용하지 않는다.
+ *  확인용 연결(probes)은 커넥션 풀을 거치지 않는다. 풀의 커넥션이 모두 사용 중이면 풀에서 빌리다 시간이 초과되어
+ *  정상인 복제 DB 를 DOWN 으로 판단하고, 가장 바쁠 때 모든 읽기를 primary 로 보내게 되기 때문이다.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    public static final String PRIMARY = "primary";
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 1;
+
+    private final DataSource primary;
+
+    private final Map<String, DataSource> replicas;
+
+    private final Map<String, DataSource> probes;
+
+    private final Set<String> healthyReplicas = ConcurrentHashMap.newKeySet();
+
+    private final AtomicInteger roundRobin = new AtomicInteger();
+
+    private volatile List<String> healthyReplicaNames = List.of();
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas) {
+        this(primary, replicas, replicas);
+    }
+
+    /* probes : 복제 DB 이름별 상태 확인용 DataSource (커넥션 풀을 거치지 않는 DriverManagerDataSource 등)*/
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, Map<String, DataSource> probes) {
+
+        this.primary = primary;
+        this.replicas = new LinkedHashMap<>(replicas);
+        this.probes = Map.copyOf(probes);
+
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        super.afterPropertiesSet();
+        checkHealth();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                ReadYourWrites.markWrite();
+            }
+
+            return PRIMARY;
+        }
+
+        if (ReadYourWrites.isPrimaryForced()) {
+            return PRIMARY;
+        }
+
+        List<String> candidates = healthyReplicaNames;
+
+        if (candidates.isEmpty()) {
+            return PRIMARY;
+        }
+
+        return candidates.get(Math.floorMod(roundRobin.getAndIncrement(), candidates.size()));
+    }
+
+    @Scheduled(fixedDelayString = "${post.datasource.replica.health-check-interval-ms:5000}",
+            initialDelayString = "${post.datasource.replica.health-check-interval-ms:5000}")
+    public void checkHealth() {
+
+        for (String replica : replicas.keySet()) {
+
+            boolean healthy = isValid(probes.get(replica));
+            boolean changed = healthy ? healthyReplicas.add(replica) : healthyReplicas.remove(replica);
+
+            if (changed) {
+                log.warn("복제 DB 상태 변경 : {} -> {}", replica, healthy ? "UP" : "DOWN");
+            }
+        }
+
+        // 라운드 로빈 순서가 매번 같도록 설정된 순서를 유지한다.
+        healthyReplicaNames = replicas.keySet().stream().filter(healthyReplicas::contains).toList();
+    }
+
+    public List<String> getHealthyReplicas() {
+        return healthyReplicaNames;
+    }
+
+    @Override
+    public void destroy() throws Exception {
+
+        for (DataSource dataSource : replicas.values()) {
+            if (dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+
+        if (primary instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private boolean isValid(DataSource dataSource) {
+
+        if (dataSource == null) {
+            return false;
+        }
+
+        try (Connection connection = dataSource.getConnection()) {
+            return connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+}
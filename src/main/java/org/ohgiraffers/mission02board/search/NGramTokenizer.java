@@ -0,0 +1,56 @@
+package org.ohgiraffers.mission02board.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/** n-gram 토크나이저
+ *  한국어는 조사, 어미가 단어에 붙어 있어서("게시글을", "게시글이") 띄어쓰기 단위로 자르면 검색이 잘 되지 않는다.
+ *  그래서 글자/숫자가 이어진 구간을 두 글자씩 겹치게 잘라(bigram) 색인한다.
+ *  예) "게시글을 작성" -> [게시, 시글, 글을, 작성]
+ *  한 글자짜리 구간은 그 글자 하나를 그대로 토큰으로 사용한다.
+ */
+public final class NGramTokenizer {
+
+    private static final int GRAM_SIZE = 2;
+
+    private NGramTokenizer() {
+    }
+
+    public static List<String> tokenize(String text) {
+
+        List<String> tokens = new ArrayList<>();
+
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+
+        String normalized = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+
+        for (int i = 0; i <= normalized.length(); i++) {
+            boolean letter = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+
+            if (letter && start < 0) {
+                start = i;
+            } else if (!letter && start >= 0) {
+                addGrams(normalized.substring(start, i), tokens);
+                start = -1;
+            }
+        }
+
+        return tokens;
+    }
+
+    private static void addGrams(String run, List<String> tokens) {
+
+        if (run.length() < GRAM_SIZE) {
+            tokens.add(run);
+            return;
+        }
+
+        for (int i = 0; i + GRAM_SIZE <= run.length(); i++) {
+            tokens.add(run.substring(i, i + GRAM_SIZE));
+        }
+    }
+}
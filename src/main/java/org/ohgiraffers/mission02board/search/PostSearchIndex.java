@@ -0,0 +1,145 @@
+package org.ohgiraffers.mission02board.search;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/** 역색인(inverted index)
+ *  토큰 -> (postId -> 가중치 빈도) 형태로 저장해서, 검색어의 토큰만 찾아보면 어떤 게시글에 들어있는지 바로 알 수 있다.
+ *  DB 의 LIKE '%검색어%' 처럼 모든 행을 훑지 않는다.
+ *
+ *  점수는 TF-IDF 로 계산한다.
+ *  TF  : 게시글 안에 토큰이 많이 나올수록 높다. 제목에 나온 토큰은 TITLE_WEIGHT 배로 센다.
+ *  IDF : 적은 게시글에만 나오는 토큰일수록 높다.
+ *
+ *  검색은 여러 스레드가 동시에, 색인 변경은 한 번에 하나씩만 하도록 ReadWriteLock 으로 보호한다.
+ */
+public class PostSearchIndex {
+
+    private static final int TITLE_WEIGHT = 3;
+
+    private static final Comparator<SearchHit> RANKING = Comparator
+            .comparingDouble(SearchHit::getScore).reversed()
+            .thenComparing(SearchHit::getPostId, Comparator.reverseOrder());
+
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+
+    private final Map<Long, IndexedPost> posts = new HashMap<>();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void put(Long postId, String title, String content) {
+
+        Map<String, Integer> terms = new HashMap<>();
+        NGramTokenizer.tokenize(title).forEach(term -> terms.merge(term, TITLE_WEIGHT, Integer::sum));
+        NGramTokenizer.tokenize(content).forEach(term -> terms.merge(term, 1, Integer::sum));
+
+        lock.writeLock().lock();
+        try {
+            removeTerms(postId);
+            posts.put(postId, new IndexedPost(title, terms.keySet()));
+            terms.forEach((term, frequency) ->
+                    postings.computeIfAbsent(term, key -> new HashMap<>()).put(postId, frequency));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long postId) {
+
+        lock.writeLock().lock();
+        try {
+            removeTerms(postId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /* 검색어의 모든 토큰을 포함한 게시글만 점수가 높은 순서(같으면 최신 순)로 반환한다.*/
+    public List<SearchHit> search(String query) {
+
+        Set<String> queryTerms = new LinkedHashSet<>(NGramTokenizer.tokenize(query));
+
+        if (queryTerms.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            List<Map<Long, Integer>> matched = new ArrayList<>(queryTerms.size());
+
+            for (String term : queryTerms) {
+                Map<Long, Integer> postingList = postings.get(term);
+
+                if (postingList == null) {
+                    return List.of();
+                }
+
+                matched.add(postingList);
+            }
+
+            // 가장 짧은 목록을 기준으로 교집합을 구해야 비교 횟수가 적다.
+            matched.sort(Comparator.comparingInt(Map::size));
+
+            List<SearchHit> hits = new ArrayList<>();
+            double totalPosts = posts.size();
+
+            for (Long postId : matched.get(0).keySet()) {
+                double score = 0;
+                boolean containsAll = true;
+
+                for (Map<Long, Integer> postingList : matched) {
+                    Integer frequency = postingList.get(postId);
+
+                    if (frequency == null) {
+                        containsAll = false;
+                        break;
+                    }
+
+                    score += (1 + Math.log(frequency)) * Math.log(1 + totalPosts / postingList.size());
+                }
+
+                if (containsAll) {
+                    hits.add(new SearchHit(postId, posts.get(postId).title(), score));
+                }
+            }
+
+            hits.sort(RANKING);
+
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+
+        lock.readLock().lock();
+        try {
+            return posts.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeTerms(Long postId) {
+
+        IndexedPost previous = posts.remove(postId);
+
+        if (previous == null) {
+            return;
+        }
+
+        for (String term : previous.terms()) {
+            Map<Long, Integer> postingList = postings.get(term);
+            postingList.remove(postId);
+
+            if (postingList.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+    }
+
+    private record IndexedPost(String title, Set<String> terms) {
+    }
+}
@@ -0,0 +1,15 @@
+package org.ohgiraffers.mission02board.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class SearchHit {
+
+    private Long postId;
+
+    private String title;
+
+    private double score;
+}
@@ -0,0 +1,82 @@
+package org.ohgiraffers.mission02board.service;
+
+import io.micrometer.core.annotation.Timed;
+import org.ohgiraffers.mission02board.config.MetricsConfig;
+import org.ohgiraffers.mission02board.dto.PopularPostResponse;
+import org.ohgiraffers.mission02board.event.PostEvent;
+import org.ohgiraffers.mission02board.event.PostEventSubscriber;
+import org.ohgiraffers.mission02board.ranking.PopularPostRanking;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+
+/** 인기 게시글
+ *  PostService 가 발행하는 조회 이벤트와 아웃박스로 전달되는 작성, 수정, 삭제 이벤트로 순위(PopularPostRanking)를 조금씩 갱신하고,
+ *  post.popular.refresh-interval-ms 마다 상위 post.popular.capacity 개를 다시 골라 둔다.
+ *  조회할 때는 골라 둔 목록만 읽으므로 DB 를 조회하지 않는다.
+ *
+ *  순위는 메모리에만 있으므로 재시작하면 처음부터 다시 쌓인다.
+ */
+@Service
+@Timed(value = MetricsConfig.SERVICE_TIMER, percentiles = {0.5, 0.99}, histogram = true)
+public class PopularPostService implements PostEventSubscriber {
+
+    private final PopularPostRanking ranking;
+
+    private final int capacity;
+
+    private final Clock clock;
+
+    @Autowired
+    public PopularPostService(@Value("${post.popular.capacity:100}") int capacity,
+                              @Value("${post.popular.half-life:6h}") Duration halfLife,
+                              @Value("${post.popular.created-weight:10}") double createdWeight) {
+        this(capacity, halfLife, createdWeight, Clock.systemUTC());
+    }
+
+    PopularPostService(int capacity, Duration halfLife, double createdWeight, Clock clock) {
+        this.capacity = capacity;
+        this.clock = clock;
+        this.ranking = new PopularPostRanking(capacity, halfLife.toMillis(), createdWeight, clock.millis());
+    }
+
+    // 조회는 트랜잭션 밖에서 발행되므로 바로 반영한다.
+    @EventListener(condition = "!#event.type.write")
+    public void onPostRead(PostEvent event) {
+        ranking.recordRead(event.getPostId(), event.getTitle(), clock.millis());
+    }
+
+    // 작성, 수정, 삭제는 커밋된 뒤에 아웃박스 릴레이(PostOutboxRelay)를 통해 전달받는다.
+    // 같은 이벤트가 다시 전달될 수 있으므로 순위는 몇 번 반영해도 결과가 같게 갱신한다. (작성 가중치는 한 번만, 제목 변경과 삭제는 원래 멱등)
+    @Override
+    public void onPostEvent(PostEvent event) {
+
+        switch (event.getType()) {
+            case CREATED -> ranking.recordCreated(event.getPostId(), event.getTitle(), clock.millis());
+            case UPDATED -> ranking.updateTitle(event.getPostId(), event.getTitle());
+            case DELETED -> ranking.remove(event.getPostId(), clock.millis());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${post.popular.refresh-interval-ms:10000}")
+    public void refresh() {
+        ranking.refresh(clock.millis());
+    }
+
+    public List<PopularPostResponse> readPopularPosts(int size) {
+
+        if (size < 1 || size > capacity) {
+            throw new IllegalArgumentException("size 는 1 이상 " + capacity + " 이하로 입력해주세요.");
+        }
+
+        return ranking.top(size).stream()
+                .map(post -> new PopularPostResponse(post.getPostId(), post.getTitle(), post.getScore()))
+                .toList();
+    }
+}
@@ -0,0 +1,164 @@
+package org.ohgiraffers.mission02board.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import lombok.RequiredArgsConstructor;
+import org.ohgiraffers.mission02board.config.MetricsConfig;
+import org.ohgiraffers.mission02board.domain.Post;
+import org.ohgiraffers.mission02board.domain.PostContent;
+import org.ohgiraffers.mission02board.dto.BulkCreatePostResponse;
+import org.ohgiraffers.mission02board.dto.CreatePostRequest;
+import org.ohgiraffers.mission02board.dto.PostSummaryResponse;
+import org.ohgiraffers.mission02board.event.PostEvent;
+import org.ohgiraffers.mission02board.repository.PostContentRepository;
+import org.ohgiraffers.mission02board.repository.PostRepository;
+import org.ohgiraffers.mission02board.shard.PostShards;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/** 게시글 대량 등록
+ *  요청 본문(json 배열 또는 NDJSON)을 한 건씩 읽어서 chunk-size 만큼 모이면 하나의 트랜잭션으로 저장한다.
+ *  chunk 를 저장한 뒤에는 영속성 컨텍스트를 비우기 때문에, 몇십만 건을 등록해도 메모리에 쌓이지 않는다.
+ *  INSERT 는 hibernate.jdbc.batch_size 단위로 묶여서 DB 로 전송된다. (order_inserts : post, post_content 테이블별로 모아서)
+ *
+ *  결과는 게시글마다 한 줄씩(NDJSON) 응답으로 바로 내보낸다.
+ *  샤딩을 사용하면 chunk 하나는 한 샤드에 저장된다. (chunk 의 첫 게시글 ID 로 샤드가 정해진다, ShardedIdGenerator)
+ */
+@Service
+@Timed(value = MetricsConfig.SERVICE_TIMER, percentiles = {0.5, 0.99}, histogram = true)
+@RequiredArgsConstructor
+public class PostBulkService {
+
+    private final PostRepository postRepository;
+
+    private final PostContentRepository postContentRepository;
+
+    private final EntityManager entityManager;
+
+    private final PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final PostShards postShards;
+
+    @Value("${post.bulk.chunk-size:500}")
+    private int chunkSize;
+
+    public void createPosts(InputStream requestBody, OutputStream responseBody) throws IOException {
+
+        ObjectWriter resultWriter = objectMapper.writerFor(BulkCreatePostResponse.class);
+        List<CreatePostRequest> chunk = new ArrayList<>(chunkSize);
+        int index = 0;
+
+        try (MappingIterator<CreatePostRequest> requests =
+                     objectMapper.readerFor(CreatePostRequest.class).readValues(requestBody)) {
+
+            while (requests.hasNextValue()) {
+                chunk.add(requests.nextValue());
+                index++;
+
+                if (chunk.size() == chunkSize) {
+                    write(saveChunk(index - chunk.size(), chunk), resultWriter, responseBody);
+                    chunk.clear();
+                }
+            }
+        } catch (JsonProcessingException e) {
+            // 형식이 잘못된 게시글부터는 읽을 수 없으므로, 앞에서 읽은 게시글까지만 저장하고 멈춘다.
+            write(saveChunk(index - chunk.size(), chunk), resultWriter, responseBody);
+            chunk.clear();
+            write(List.of(BulkCreatePostResponse.failed(index, "요청 본문을 읽을 수 없습니다.")), resultWriter, responseBody);
+            return;
+        }
+
+        write(saveChunk(index - chunk.size(), chunk), resultWriter, responseBody);
+    }
+
+    private List<BulkCreatePostResponse> saveChunk(int firstIndex, List<CreatePostRequest> chunk) {
+
+        if (chunk.isEmpty()) {
+            return List.of();
+        }
+
+        try {
+            return postShards.forNewPost(() ->
+                    new TransactionTemplate(transactionManager).execute(status -> save(firstIndex, chunk)));
+        } catch (DataAccessException | PersistenceException e) {
+            // chunk 중 하나라도 실패하면 전체가 rollback 되므로, 한 건씩 다시 저장해서 실패한 게시글만 골라낸다.
+            List<BulkCreatePostResponse> results = new ArrayList<>(chunk.size());
+
+            for (int i = 0; i < chunk.size(); i++) {
+                results.addAll(saveOne(firstIndex + i, chunk.get(i)));
+            }
+
+            return results;
+        }
+    }
+
+    private List<BulkCreatePostResponse> saveOne(int index, CreatePostRequest request) {
+
+        try {
+            return postShards.forNewPost(() ->
+                    new TransactionTemplate(transactionManager).execute(status -> save(index, List.of(request))));
+        } catch (DataAccessException | PersistenceException e) {
+            entityManager.clear();
+            return List.of(BulkCreatePostResponse.failed(index, "게시글을 저장하지 못했습니다."));
+        }
+    }
+
+    private List<BulkCreatePostResponse> save(int firstIndex, List<CreatePostRequest> chunk) {
+
+        List<BulkCreatePostResponse> results = new ArrayList<>(chunk.size());
+
+        for (int i = 0; i < chunk.size(); i++) {
+            CreatePostRequest request = chunk.get(i);
+
+            if (request == null || request.getTitle() == null || request.getTitle().isBlank()) {
+                results.add(BulkCreatePostResponse.failed(firstIndex + i, "제목(title)을 입력해주세요."));
+                continue;
+            }
+
+            Post savedPost = postRepository.save(Post.builder()
+                    .title(request.getTitle())
+                    .preview(PostSummaryResponse.preview(request.getContent()))
+                    .build());
+            postContentRepository.save(new PostContent(savedPost.getPostId(), request.getContent()));
+
+            eventPublisher.publishEvent(PostEvent.created(savedPost.getPostId(), savedPost.getTitle(), request.getContent()));
+            results.add(BulkCreatePostResponse.created(firstIndex + i, savedPost.getPostId()));
+        }
+
+        // 남은 INSERT 를 batch 로 내보내고, 저장한 엔티티들을 영속성 컨텍스트에서 분리한다.
+        entityManager.flush();
+        entityManager.clear();
+
+        return results;
+    }
+
+    private void write(List<BulkCreatePostResponse> results, ObjectWriter resultWriter,
+                       OutputStream responseBody) throws IOException {
+
+        for (BulkCreatePostResponse result : results) {
+            responseBody.write(resultWriter.writeValueAsBytes(result));
+            responseBody.write('\n');
+        }
+
+        responseBody.flush();
+    }
+}
@@ -0,0 +1,131 @@
+package org.ohgiraffers.mission02board.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.ohgiraffers.mission02board.domain.PostContentCodec;
+import org.ohgiraffers.mission02board.dto.PostSummaryResponse;
+import org.ohgiraffers.mission02board.shard.PostShards;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** 게시글 내용 이전 (post.content -> post_content)
+ *  내용을 post_content 테이블로 나누기 전에 저장된 게시글은 post 테이블의 content 컬럼에 내용이 남아 있고,
+ *  post_content 행과 preview 가 없다. (ddl-auto: update 는 컬럼을 추가만 하고 데이터를 옮기지 않는다)
+ *
+ *  애플리케이션이 요청을 받기 전(웹 서버 시작, 검색 색인 생성, @Scheduled 작업보다 먼저)에
+ *  batch-size 개씩 post_content 에 저장하고 preview 를 채운 뒤, 옮긴 게시글의 post.content 를 비운다.
+ *  - 옮긴 게시글은 content 가 null 이므로, 다시 실행해도 남은 게시글만 옮긴다. (중간에 종료돼도 이어서 옮긴다)
+ *  - post.content 컬럼이 없으면(새로 만든 DB) 아무것도 하지 않는다.
+ *  - 샤딩을 사용하면 샤드마다 옮긴다.
+ *  - 여러 인스턴스가 동시에 옮기다 같은 게시글이 겹치면 그 batch 만 rollback 하고 남은 게시글부터 계속한다.
+ *
+ *  리액티브 버전은 이전을 하지 않으므로, 같은 DB 를 쓸 때는 이 애플리케이션을 먼저 실행해서 이전을 끝낸다.
+ *  모든 환경에서 이전이 끝나면 post.content 컬럼은 직접 삭제해도 된다.
+ */
+@Slf4j
+@Component
+public class PostContentMigration implements SmartInitializingSingleton {
+
+    static final String LEGACY_COLUMN_SQL = "select content from post where 1 = 0";
+
+    static final String SELECT_SQL = "select p.post_id, p.content from post p"
+            + " where p.content is not null and p.post_id > ?"
+            + " and not exists (select 1 from post_content c where c.post_id = p.post_id)"
+            + " order by p.post_id limit ?";
+
+    static final String INSERT_CONTENT_SQL = "insert into post_content (post_id, content) values (?, ?)";
+
+    static final String UPDATE_POST_SQL = "update post set preview = ?, content = null where post_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final PostShards postShards;
+
+    private final long compressionThreshold;
+
+    private final int batchSize;
+
+    public PostContentMigration(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager, PostShards postShards,
+                                @Value("${post.content.compression-threshold:1KB}") DataSize compressionThreshold,
+                                @Value("${post.content.migration-batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.postShards = postShards;
+        this.compressionThreshold = compressionThreshold.toBytes();
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        postShards.forEach(this::migrate);
+    }
+
+    void migrate(int shard) {
+
+        if (!hasLegacyColumn()) {
+            return;
+        }
+
+        long lastPostId = Long.MIN_VALUE;
+        long migrated = 0;
+
+        while (true) {
+            List<LegacyPost> batch = jdbcTemplate.query(SELECT_SQL,
+                    (rs, rowNum) -> new LegacyPost(rs.getLong("post_id"), rs.getString("content")), lastPostId, batchSize);
+
+            if (batch.isEmpty()) {
+                break;
+            }
+
+            try {
+                transactionTemplate.executeWithoutResult(status -> save(batch));
+                migrated += batch.size();
+            } catch (DuplicateKeyException e) {
+                log.info("다른 인스턴스가 옮긴 게시글이 있어 이 batch 를 건너뜁니다. : {}번 샤드, postId {} 부터", shard, batch.get(0).postId());
+            }
+
+            lastPostId = batch.get(batch.size() - 1).postId();
+        }
+
+        if (migrated > 0) {
+            log.info("게시글 내용 이전 완료 : {}번 샤드 {}건", shard, migrated);
+        }
+    }
+
+    private boolean hasLegacyColumn() {
+        try {
+            jdbcTemplate.queryForList(LEGACY_COLUMN_SQL);
+            return true;
+        } catch (BadSqlGrammarException e) {
+            return false;
+        }
+    }
+
+    private void save(List<LegacyPost> batch) {
+
+        List<Object[]> contents = new ArrayList<>(batch.size());
+        List<Object[]> posts = new ArrayList<>(batch.size());
+
+        for (LegacyPost post : batch) {
+            contents.add(new Object[]{post.postId(), PostContentCodec.encode(post.content(), compressionThreshold)});
+            posts.add(new Object[]{PostSummaryResponse.preview(post.content()), post.postId()});
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_CONTENT_SQL, contents);
+        jdbcTemplate.batchUpdate(UPDATE_POST_SQL, posts);
+    }
+
+    private record LegacyPost(Long postId, String content) {
+    }
+}
@@ -0,0 +1,22 @@
+package org.ohgiraffers.mission02board.service;
+
+/** 전체 게시글 목록의 전체 개수(totalElements)를 구하는 방법
+ *  APPROXIMATE : 메모리에서 관리하는 게시글 수 (PostTotalCounter), count 쿼리를 실행하지 않는다. (기본값)
+ *  EXACT       : 매번 count 쿼리를 실행한다. InnoDB 에서는 인덱스 전체를 읽으므로 가장 비싸다.
+ *  NONE        : 전체 개수 없이 다음 페이지가 있는지만 알려준다. (Slice)
+ */
+public enum PostCountMode {
+
+    APPROXIMATE, EXACT, NONE;
+
+    public static PostCountMode from(String count) {
+
+        for (PostCountMode value : values()) {
+            if (value.name().equalsIgnoreCase(count)) {
+                return value;
+            }
+        }
+
+        throw new IllegalArgumentException("count 는 approximate, exact, none 중 하나로 입력해주세요.");
+    }
+}
@@ -0,0 +1,39 @@
+package org.ohgiraffers.mission02board.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/** PostCursor
+ *  커서 페이지네이션에서 사용하는 커서 값을 만들고 해석한다.
+ *  클라이언트는 커서를 그대로 돌려주기만 하면 되도록, 내부 값(postId)을 Base64 로 감싼 불투명한 문자열로 내보낸다.
+ */
+public final class PostCursor {
+
+    private static final String PREFIX = "post:";
+
+    private PostCursor() {
+    }
+
+    public static String encode(Long postId) {
+
+        byte[] raw = (PREFIX + postId).getBytes(StandardCharsets.UTF_8);
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+    }
+
+    public static Long decode(String cursor) {
+
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+
+            if (!raw.startsWith(PREFIX)) {
+                throw new IllegalArgumentException("유효하지 않은 커서입니다.");
+            }
+
+            return Long.parseLong(raw.substring(PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            // NumberFormatException 도 IllegalArgumentException 의 하위 타입이다.
+            throw new IllegalArgumentException("유효하지 않은 커서입니다.", e);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package org.ohgiraffers.mission02board.service;
+
+import org.springframework.http.MediaType;
+
+import java.nio.charset.StandardCharsets;
+
+public enum PostExportFormat {
+
+    NDJSON(MediaType.APPLICATION_NDJSON, "posts.ndjson"),
+
+    CSV(new MediaType("text", "csv", StandardCharsets.UTF_8), "posts.csv");
+
+    private final MediaType mediaType;
+
+    private final String fileName;
+
+    PostExportFormat(MediaType mediaType, String fileName) {
+        this.mediaType = mediaType;
+        this.fileName = fileName;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public static PostExportFormat from(String format) {
+
+        for (PostExportFormat value : values()) {
+            if (value.name().equalsIgnoreCase(format)) {
+                return value;
+            }
+        }
+
+        throw new IllegalArgumentException("format 은 ndjson 또는 csv 로 입력해주세요.");
+    }
+}
@@ -0,0 +1,98 @@
+package org.ohgiraffers.mission02board.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.ohgiraffers.mission02board.config.MetricsConfig;
+import org.ohgiraffers.mission02board.dto.ReadPostResponse;
+import org.ohgiraffers.mission02board.repository.PostRepository;
+import org.ohgiraffers.mission02board.shard.PostShards;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/** 게시글 전체 내보내기
+ *  DB 커서로 게시글을 한 건씩 DTO 로 읽어서 바로 응답으로 쓴다. (엔티티가 아니므로 영속성 컨텍스트에 남지 않는다.)
+ *  읽은 게시글이 메모리에 쌓이지 않으므로 테이블 크기와 상관없이 메모리 사용량이 일정하다.
+ *
+ *  트랜잭션은 한 샤드 안에서만 열 수 있으므로, 샤드마다 읽기 전용 트랜잭션을 열어서 차례대로 내보낸다.
+ */
+@Service
+@Timed(value = MetricsConfig.SERVICE_TIMER, percentiles = {0.5, 0.99}, histogram = true)
+@RequiredArgsConstructor
+public class PostExportService {
+
+    private final PostRepository postRepository;
+
+    private final ObjectMapper objectMapper;
+
+    private final PlatformTransactionManager transactionManager;
+
+    private final PostShards postShards;
+
+    public void exportPosts(PostExportFormat format, OutputStream outputStream) throws IOException {
+
+        ObjectWriter jsonWriter = objectMapper.writerFor(ReadPostResponse.class);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+
+        if (format == PostExportFormat.CSV) {
+            writer.write("postId,title,content\n");
+        }
+
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        try {
+            postShards.forEach(shard -> readOnly.executeWithoutResult(status -> writePosts(format, writer, jsonWriter)));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        writer.flush();
+    }
+
+    private void writePosts(PostExportFormat format, Writer writer, ObjectWriter jsonWriter) {
+
+        try (Stream<ReadPostResponse> posts = postRepository.streamAllBy()) {
+            Iterator<ReadPostResponse> iterator = posts.iterator();
+
+            while (iterator.hasNext()) {
+                ReadPostResponse post = iterator.next();
+
+                if (format == PostExportFormat.CSV) {
+                    writer.write(post.getPostId() + "," + csv(post.getTitle()) + "," + csv(post.getContent()) + "\n");
+                } else {
+                    writer.write(jsonWriter.writeValueAsString(post));
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // 쉼표, 따옴표, 줄바꿈이 들어간 값은 따옴표로 감싸고, 안의 따옴표는 두 번 쓴다. (RFC 4180)
+    private String csv(String value) {
+
+        if (value == null) {
+            return "";
+        }
+
+        if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+
+        return value;
+    }
+}
@@ -0,0 +1,216 @@
+package org.ohgiraffers.mission02board.service;
+
+import org.ohgiraffers.mission02board.dto.ReadPostResponse;
+import org.ohgiraffers.mission02board.repository.PostRepository;
+import org.ohgiraffers.mission02board.routing.ReadYourWrites;
+import org.ohgiraffers.mission02board.shard.PostShards;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/** 게시글 단건 조회 합치기 (request coalescing)
+ *  인기 게시글에 조회가 몰리면 같은 게시글을 읽는 같은 쿼리가 동시에 수백 번 실행된다.
+ *
+ *  - single-flight : 같은 postId 를 이미 조회하는 중이면 쿼리를 다시 실행하지 않고 그 결과를 함께 받는다.
+ *  - batching      : 처음 조회한 스레드(leader)가 post.loader.batch-window 동안 기다리며 다른 postId 도 모아서
+ *                    WHERE post_id IN (...) 쿼리 한 번으로 조회한다. (max-batch-size 개가 모이면 바로 조회)
+ *
+ *  캐시(@Cacheable)는 sync 없이 이 클래스를 부르므로, 캐시가 비어 있는 같은 postId 도 이 클래스의 single-flight 로 합친다.
+ *  batch-window 만큼 단건 조회의 지연 시간이 늘어나므로 짧게 둔다. (0 이면 single-flight 만 한다.)
+ *
+ *  주의
+ *  - 쿼리는 leader 스레드에서 실행된다. 기다리는 동안 커넥션을 잡고 있지 않도록 트랜잭션 밖에서 호출해야 한다.
+ *    모인 postId 는 샤드마다 읽기 전용 트랜잭션을 열어서 조회하므로, 복제 DB 가 있으면 복제 DB 에서 읽는다.
+ *    (기다리는 스레드와 batch-window 동안 기다리는 leader 는 트랜잭션 밖에 있다)
+ *  - primary 에서 읽어야 하는 요청(ReadYourWrites)은 다른 요청과 합치지 않고 바로 조회한다.
+ *  - 샤딩을 사용하면 모은 postId 를 샤드별로 나눠서 샤드마다 한 번씩 조회한다.
+ */
+@Component
+public class PostLoader {
+
+    private final PostRepository postRepository;
+
+    private final PostShards postShards;
+
+    private final TransactionTemplate readOnly;
+
+    private final long batchWindowNanos;
+
+    private final int maxBatchSize;
+
+    // 조회 중인 postId -> 결과
+    private final ConcurrentMap<Long, CompletableFuture<Optional<ReadPostResponse>>> inFlight = new ConcurrentHashMap<>();
+
+    /* 가상 스레드에서 synchronized 로 기다리면 캐리어 스레드를 붙잡으므로 ReentrantLock 을 사용한다.
+    *   부르는 쪽도 synchronized 안에서 부르면 안 된다. (그래서 PostService 는 @Cacheable sync 를 쓰지 않는다)*/
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // postId 를 모으는 중인 batch, lock 으로 보호한다.
+    private Batch collecting;
+
+    public PostLoader(PostRepository postRepository,
+                      PostShards postShards,
+                      PlatformTransactionManager transactionManager,
+                      @Value("${post.loader.batch-window:2ms}") Duration batchWindow,
+                      @Value("${post.loader.max-batch-size:100}") int maxBatchSize) {
+
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("post.loader.max-batch-size 는 1 이상이어야 합니다.");
+        }
+
+        this.postRepository = postRepository;
+        this.postShards = postShards;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.batchWindowNanos = batchWindow.toNanos();
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public Optional<ReadPostResponse> load(Long postId) {
+
+        if (ReadYourWrites.isPrimaryForced()) {
+            return readOnly.execute(status -> postRepository.findReadPostResponseById(postId));
+        }
+
+        CompletableFuture<Optional<ReadPostResponse>> future = new CompletableFuture<>();
+        CompletableFuture<Optional<ReadPostResponse>> running = inFlight.putIfAbsent(postId, future);
+
+        if (running != null) {
+            return await(running);
+        }
+
+        Batch batch = join(postId, future);
+
+        if (batch != null) {
+            batch.awaitFull(batchWindowNanos);
+            close(batch);
+            execute(batch);
+        }
+
+        return await(future);
+    }
+
+    /* batch 에 postId 를 넣는다. 새 batch 를 연 스레드(leader)이면 그 batch 를 반환한다.*/
+    private Batch join(Long postId, CompletableFuture<Optional<ReadPostResponse>> future) {
+
+        lock.lock();
+        try {
+            Batch batch = collecting;
+            boolean leader = batch == null;
+
+            if (leader) {
+                batch = new Batch();
+                collecting = batch;
+            }
+
+            batch.futures.put(postId, future);
+
+            if (batch.futures.size() >= maxBatchSize) {
+                collecting = null;
+                batch.full.countDown();
+            }
+
+            return leader ? batch : null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void close(Batch batch) {
+
+        lock.lock();
+        try {
+            if (collecting == batch) {
+                collecting = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void execute(Batch batch) {
+
+        Map<Integer, List<Long>> postIdsByShard = new TreeMap<>();
+        batch.futures.keySet().forEach(postId -> postIdsByShard
+                .computeIfAbsent(postShards.shardOf(postId), shard -> new ArrayList<>())
+                .add(postId));
+
+        Map<Long, ReadPostResponse> loaded = new HashMap<>();
+
+        try {
+            postIdsByShard.forEach((shard, postIds) -> postShards.on(shard, () -> readOnly.execute(status -> {
+                // 한 건이면 IN 대신 기존 단건 조회를 사용한다.
+                if (postIds.size() == 1) {
+                    postRepository.findReadPostResponseById(postIds.get(0))
+                            .ifPresent(post -> loaded.put(post.getPostId(), post));
+                } else {
+                    postRepository.findReadPostResponsesByIdIn(postIds)
+                            .forEach(post -> loaded.put(post.getPostId(), post));
+                }
+                return null;
+            })));
+
+            batch.futures.forEach((postId, future) -> future.complete(Optional.ofNullable(loaded.get(postId))));
+        } catch (RuntimeException | Error e) {
+            batch.futures.values().forEach(future -> future.completeExceptionally(e));
+            throw e;
+        } finally {
+            batch.futures.forEach(inFlight::remove);
+        }
+    }
+
+    private static Optional<ReadPostResponse> await(CompletableFuture<Optional<ReadPostResponse>> future) {
+
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static class Batch {
+
+        // join() 에서만 추가되고, close() 이후에는 바뀌지 않는다.
+        private final Map<Long, CompletableFuture<Optional<ReadPostResponse>>> futures = new HashMap<>();
+
+        private final CountDownLatch full = new CountDownLatch(1);
+
+        private void awaitFull(long timeoutNanos) {
+
+            if (timeoutNanos <= 0) {
+                return;
+            }
+
+            try {
+                full.await(timeoutNanos, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package org.ohgiraffers.mission02board.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+/** 검색 색인 생성 시점
+ *  SmartLifecycle 은 phase 가 작은 것부터 시작한다.
+ *  웹 서버(Integer.MAX_VALUE - 1)보다 먼저 시작하므로 색인을 다 만든 뒤에 검색 요청을 받는다.
+ *  @Scheduled 작업(PostOutboxRelay.relay())은 모든 SmartLifecycle 이 시작된 뒤(ContextRefreshedEvent)에 등록되므로,
+ *  색인을 만드는 동안에는 이벤트가 반영되지 않는다.
+ *  게시글 내용 이전(PostContentMigration, SmartInitializingSingleton)은 이보다 먼저 끝난다.
+ */
+@Component
+@RequiredArgsConstructor
+public class PostSearchIndexInitializer implements SmartLifecycle {
+
+    static final int PHASE = 0;
+
+    private final PostSearchService postSearchService;
+
+    private volatile boolean running;
+
+    @Override
+    public void start() {
+        postSearchService.buildIndex();
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+}
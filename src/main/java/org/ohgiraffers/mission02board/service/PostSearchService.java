@@ -0,0 +1,140 @@
+package org.ohgiraffers.mission02board.service;
+
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.ohgiraffers.mission02board.config.MetricsConfig;
+import org.ohgiraffers.mission02board.dto.CursorResponse;
+import org.ohgiraffers.mission02board.dto.ReadPostResponse;
+import org.ohgiraffers.mission02board.dto.SearchPostResponse;
+import org.ohgiraffers.mission02board.event.PostEvent;
+import org.ohgiraffers.mission02board.event.PostEventSubscriber;
+import org.ohgiraffers.mission02board.event.PostEventType;
+import org.ohgiraffers.mission02board.repository.PostRepository;
+import org.ohgiraffers.mission02board.search.PostSearchIndex;
+import org.ohgiraffers.mission02board.search.SearchHit;
+import org.ohgiraffers.mission02board.shard.PostShards;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+/** 게시글 검색
+ *  제목, 내용을 메모리의 역색인(PostSearchIndex)으로 검색하기 때문에 검색할 때는 DB 를 조회하지 않는다.
+ *  색인은 애플리케이션이 시작될 때 DB(샤딩을 사용하면 모든 샤드)의 게시글로 한 번 만들고,
+ *  이후에는 아웃박스 릴레이(PostOutboxRelay)가 전달하는 게시글 작성, 수정, 삭제 이벤트를 한 건씩 반영한다.
+ *
+ *  색인은 웹 서버가 요청을 받고 릴레이가 시작되기 전에 만든다. (PostSearchIndexInitializer)
+ *  만드는 도중에 이벤트가 반영되면, 삭제된 게시글을 이전에 읽은 페이지로 다시 넣는 것처럼 예전 내용으로 덮어쓸 수 있기 때문이다.
+ */
+@Slf4j
+@Service
+@Timed(value = MetricsConfig.SERVICE_TIMER, percentiles = {0.5, 0.99}, histogram = true)
+@RequiredArgsConstructor
+public class PostSearchService implements PostEventSubscriber {
+
+    private static final int BUILD_PAGE_SIZE = 500;
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final PostRepository postRepository;
+
+    private final PostShards postShards;
+
+    private final PostSearchIndex postSearchIndex = new PostSearchIndex();
+
+    public void buildIndex() {
+        postShards.forEach(shard -> buildIndexOfShard());
+        log.info("게시글 검색 색인 생성 완료 : {}건", postSearchIndex.size());
+    }
+
+    private void buildIndexOfShard() {
+
+        Pageable pageable = PageRequest.of(0, BUILD_PAGE_SIZE);
+        Slice<ReadPostResponse> postsSlice = postRepository.findReadPostResponsesOrderByPostIdDesc(pageable);
+
+        while (true) {
+            postsSlice.forEach(post -> postSearchIndex.put(post.getPostId(), post.getTitle(), post.getContent()));
+
+            if (!postsSlice.hasNext()) {
+                break;
+            }
+
+            Long lastPostId = postsSlice.getContent().get(postsSlice.getNumberOfElements() - 1).getPostId();
+            postsSlice = postRepository.findReadPostResponsesByPostIdLessThanOrderByPostIdDesc(lastPostId, pageable);
+        }
+    }
+
+    /* 커밋된 변경만 아웃박스를 거쳐 전달되므로, rollback 된 변경은 색인에 반영되지 않는다.
+    *   같은 이벤트가 다시 전달되어도 put, remove 를 반복할 뿐이므로 결과가 같다.*/
+    @Override
+    public void onPostEvent(PostEvent event) {
+
+        if (event.getType() == PostEventType.DELETED) {
+            postSearchIndex.remove(event.getPostId());
+        } else {
+            postSearchIndex.put(event.getPostId(), event.getTitle(), event.getContent());
+        }
+    }
+
+    public CursorResponse<SearchPostResponse> search(String query, String cursor, int size) {
+
+        if (query == null || query.strip().length() < 2) {
+            throw new IllegalArgumentException("검색어는 2글자 이상 입력해주세요.");
+        }
+
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("size 는 1 이상 " + MAX_PAGE_SIZE + " 이하로 입력해주세요.");
+        }
+
+        List<SearchHit> hits = postSearchIndex.search(query);
+        int from = (cursor == null || cursor.isBlank()) ? 0 : positionAfter(hits, cursor);
+        int to = Math.min(from + size, hits.size());
+
+        List<SearchPostResponse> posts = hits.subList(from, to).stream()
+                .map(hit -> new SearchPostResponse(hit.getPostId(), hit.getTitle(), hit.getScore()))
+                .toList();
+
+        boolean hasNext = to < hits.size();
+        String nextCursor = hasNext ? encodeCursor(hits.get(to - 1)) : null;
+
+        return new CursorResponse<>(posts, nextCursor, hasNext);
+    }
+
+    /* 커서는 마지막으로 본 (점수, postId) 이다.
+    *   검색 결과는 점수 내림차순, postId 내림차순이므로 그 다음 위치부터 이어서 보여준다.*/
+    private int positionAfter(List<SearchHit> hits, String cursor) {
+
+        double lastScore;
+        long lastPostId;
+
+        try {
+            String[] values = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":");
+            lastScore = Double.longBitsToDouble(Long.parseLong(values[0]));
+            lastPostId = Long.parseLong(values[1]);
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("유효하지 않은 커서입니다.", e);
+        }
+
+        for (int i = 0; i < hits.size(); i++) {
+            SearchHit hit = hits.get(i);
+
+            if (hit.getScore() < lastScore || (hit.getScore() == lastScore && hit.getPostId() < lastPostId)) {
+                return i;
+            }
+        }
+
+        return hits.size();
+    }
+
+    private String encodeCursor(SearchHit hit) {
+
+        String raw = Double.doubleToLongBits(hit.getScore()) + ":" + hit.getPostId();
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,15 +1,38 @@
 package org.ohgiraffers.mission02board.service;
 
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.ohgiraffers.mission02board.config.MetricsConfig;
+import org.ohgiraffers.mission02board.config.PostCacheConfig;
 import org.ohgiraffers.mission02board.domain.Post;
+import org.ohgiraffers.mission02board.domain.PostContent;
 import org.ohgiraffers.mission02board.dto.*;
+import org.ohgiraffers.mission02board.event.PostEvent;
+import org.ohgiraffers.mission02board.repository.PostContentRepository;
 import org.ohgiraffers.mission02board.repository.PostRepository;
-import org.springframework.data.domain.Page;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Set;
+
 /**
  * Service 를 인터페이스와 구현체로 나누는 이유
  * 1.다형성과 OCP원칙을 지키기 위해
@@ -30,62 +53,208 @@ import org.springframework.transaction.annotation.Transactional;
  */
 
 @Service
+@Timed(value = MetricsConfig.SERVICE_TIMER, percentiles = {0.5, 0.99}, histogram = true)
 @Transactional(readOnly = true)
 @RequiredArgsConstructor
 public class PostService {
 
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+
+    // 여러 게시글 조회(readPostsByIds)에서 한 번에 요청할 수 있는 postId 수
+    @Value("${post.bulk-read.max-size:50}")
+    private int maxBulkReadSize;
+
     private final PostRepository postRepository;
 
+    private final PostContentRepository postContentRepository;
+
+    // 게시글 변경을 검색 색인 등 다른 기능에 알리기 위해 이벤트를 발행한다.
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final PostViewCounter postViewCounter;
+
+    private final PostTotalCounter postTotalCounter;
+
+    private final PostLoader postLoader;
+
     @Transactional
     public CreatePostResponse createPost(CreatePostRequest request) {
 
         Post post = Post.builder()
                 .title(request.getTitle())
-                .content(request.getContent())
+                .preview(PostSummaryResponse.preview(request.getContent()))
                 .build();
 
         Post savedPost = postRepository.save(post);
+        postContentRepository.save(new PostContent(savedPost.getPostId(), request.getContent()));
+
+        eventPublisher.publishEvent(PostEvent.created(savedPost.getPostId(), savedPost.getTitle(), request.getContent()));
 
-        return new CreatePostResponse(savedPost.getPostId(), savedPost.getTitle(), savedPost.getContent());
+        return new CreatePostResponse(savedPost.getPostId(), savedPost.getTitle(), request.getContent());
     }
 
+    /* @Cacheable
+    *   같은 postId 로 다시 조회하면 DB 대신 캐시에 저장된 결과를 반환한다.
+    *   캐시에 없으면 PostLoader 가 같은 게시글 조회는 한 번으로(single-flight), 동시에 들어온 다른 게시글 조회는 IN 쿼리 하나로 합친다.
+    *   sync = true 를 쓰지 않는다. Caffeine 은 sync 조회를 ConcurrentHashMap.compute 안(synchronized)에서 실행하므로,
+    *   PostLoader 가 batch-window 와 쿼리를 기다리는 동안 가상 스레드가 캐리어 스레드를 붙잡고(pinning), 같은 bin 의 다른 키도 기다리게 된다.
+    *   PostLoader 가 조회를 모으는 동안 커넥션을 잡고 있지 않도록 트랜잭션을 열지 않는다. (NOT_SUPPORTED)*/
+    @Cacheable(cacheNames = PostCacheConfig.POST_CACHE, key = "#postId")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public ReadPostResponse readPostById(Long postId) {
 
-        Post foundPost = postRepository.findById(postId)
+        return postLoader.load(postId)
                 .orElseThrow(() -> new EntityNotFoundException("해당 postId로 조회된 게시글이 없습니다."));
+    }
+
+    /* 여러 게시글 조회
+    *   postId 마다 readPostById 를 부르면 요청 수만큼 트랜잭션과 쿼리가 필요하므로, IN 쿼리 한 번으로 조회한다.
+    *   결과는 요청한 순서대로 담고, 없는 postId 는 실패로 처리하지 않고 missingIds 로 알려준다.
+    *   캐시를 거치지 않으므로 항상 DB 의 최신 값을 읽는다.*/
+    public BulkReadPostResponse readPostsByIds(List<Long> postIds) {
+
+        Set<Long> distinctIds = new LinkedHashSet<>(postIds);
+
+        if (distinctIds.isEmpty() || distinctIds.contains(null)) {
+            throw new IllegalArgumentException("ids 를 입력해주세요.");
+        }
+
+        if (distinctIds.size() > maxBulkReadSize) {
+            throw new IllegalArgumentException("ids 는 한 번에 " + maxBulkReadSize + "개까지 조회할 수 있습니다.");
+        }
+
+        Map<Long, ReadPostResponse> postsById = new HashMap<>();
+        postRepository.findReadPostResponsesByIdIn(distinctIds).forEach(post -> postsById.put(post.getPostId(), post));
+
+        List<ReadPostResponse> posts = new ArrayList<>(postsById.size());
+        List<Long> missingIds = new ArrayList<>();
+
+        for (Long postId : distinctIds) {
+            ReadPostResponse post = postsById.get(postId);
+
+            if (post == null) {
+                missingIds.add(postId);
+            } else {
+                posts.add(post);
+            }
+        }
+
+        return new BulkReadPostResponse(posts, missingIds);
+    }
+
+    /* 조회 기록
+    *   readPostById 는 캐시에 있으면 실행되지 않으므로, 조회수와 조회(READ) 이벤트는 캐시와 관계없이 여기서 기록한다.
+    *   DB 를 사용하지 않으므로 트랜잭션을 열지 않는다. (NOT_SUPPORTED)*/
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void recordView(Long postId, String title) {
+
+        postViewCounter.increment(postId);
+        eventPublisher.publishEvent(PostEvent.read(postId, title));
+    }
+
+    public PostVersion readPostVersion(Long postId) {
 
-        return new ReadPostResponse(foundPost.getPostId(), foundPost.getTitle(), foundPost.getContent());
+        return postRepository.findVersionById(postId)
+                .orElseThrow(() -> new EntityNotFoundException("해당 postId로 조회된 게시글이 없습니다."));
     }
 
+    /* @CacheEvict : 수정, 삭제된 게시글은 캐시에서 제거해서 다음 조회 때 DB 에서 다시 읽어오게 한다.
+    *   expectedVersion 이 있으면 그 버전일 때만 수정하고(낙관적 락), 없으면 항상 수정한다.*/
     @Transactional
-    public UpdatePostResponse updatePost(Long postId, UpdatePostRequest request) {
+    @CacheEvict(cacheNames = PostCacheConfig.POST_CACHE, key = "#postId")
+    public UpdatePostResponse updatePost(Long postId, UpdatePostRequest request, Long expectedVersion) {
+
+        Instant now = Instant.now();
+
+        String preview = PostSummaryResponse.preview(request.getContent());
+
+        // 조회 없이 UPDATE 한 번으로 수정하고, 변경된 행이 없으면 게시글이 없는 것으로 판단한다.
+        int updatedCount = (expectedVersion == null)
+                ? postRepository.updateTitleAndPreview(postId, request.getTitle(), preview, now)
+                : postRepository.updateTitleAndPreviewIfVersion(
+                        postId, request.getTitle(), preview, now, expectedVersion);
 
-        Post foundPost = postRepository.findById(postId)
-                .orElseThrow(() -> new EntityNotFoundException("해당 postId로 조호된 게시글이 없습니다."));
-        //Dirty Checking
-        foundPost.update(request.getTitle(), request.getContent());
+        if (updatedCount == 0) {
+            if (expectedVersion != null && postRepository.existsById(postId)) {
+                throw new OptimisticLockingFailureException("다른 요청에 의해 게시글이 먼저 수정되었습니다.");
+            }
 
-        return new UpdatePostResponse(foundPost.getPostId(), foundPost.getTitle(), foundPost.getContent());
+            throw new EntityNotFoundException("해당 postId로 조회된 게시글이 없습니다.");
+        }
+
+        // 내용을 따로 저장하기 전에 만들어진 게시글은 내용 행이 없으므로 새로 저장한다.
+        if (postContentRepository.updateContent(postId, request.getContent()) == 0) {
+            postContentRepository.save(new PostContent(postId, request.getContent()));
+        }
+
+        // 수정된 뒤의 버전, 조건 없이 수정했으면 같은 트랜잭션에서 다시 읽는다. (UPDATE 의 행 잠금이 커밋까지 유지되므로 이 수정의 버전이다)
+        Long version = (expectedVersion != null)
+                ? expectedVersion + 1
+                : postRepository.findVersionById(postId).map(PostVersion::getVersion).orElse(null);
+
+        eventPublisher.publishEvent(PostEvent.updated(postId, request.getTitle(), request.getContent()));
+
+        return new UpdatePostResponse(postId, request.getTitle(), request.getContent(), version);
 
     }
 
     @Transactional
+    @CacheEvict(cacheNames = PostCacheConfig.POST_CACHE, key = "#postId")
     public DeletePostResponse deletePost(Long postId) {
 
-        Post post = postRepository.findById(postId)
-                .orElseThrow(() -> new EntityNotFoundException("해당 postId로 조호된 게시글이 없습니다."));
+        int deletedCount = postRepository.deletePostById(postId);
+
+        if (deletedCount == 0) {
+            throw new EntityNotFoundException("해당 postId로 조회된 게시글이 없습니다.");
+        }
 
-        postRepository.delete(post);
+        postContentRepository.deleteContentById(postId);
 
-        return new DeletePostResponse(post.getPostId(), post.getTitle(), post.getContent());
+        eventPublisher.publishEvent(PostEvent.deleted(postId));
+
+        // 삭제 전에 게시글을 조회하지 않으므로 응답에는 postId 만 담는다.
+        return new DeletePostResponse(postId, null, null);
 
     }
 
-    public Page<ReadPostResponse> readAllPost(Pageable pageable) {
+    /* 전체 개수(totalElements)는 countMode 에 따라 구한다. (PostCountMode)
+    *   APPROXIMATE 는 count 쿼리 대신 PostTotalCounter 의 값을 사용하고, 아직 값이 없으면 EXACT 와 같다.
+    *   NONE 은 Page 대신 Slice 를 반환한다.*/
+    public Slice<PostSummaryResponse> readAllPost(Pageable pageable, PostCountMode countMode) {
+
+        if (countMode == PostCountMode.NONE) {
+            return postRepository.findSummarySlice(pageable);
+        }
+
+        OptionalLong total = (countMode == PostCountMode.APPROXIMATE) ? postTotalCounter.total() : OptionalLong.empty();
+
+        if (total.isEmpty()) {
+            return postRepository.findSummaries(pageable);
+        }
+
+        // 마지막 페이지이면 PageImpl 이 offset + 조회한 개수로 전체 개수를 바로잡는다.
+        return new PageImpl<>(postRepository.findSummarySlice(pageable).getContent(), pageable, total.getAsLong());
+    }
+
+    public CursorResponse<PostSummaryResponse> readPostsAfter(String cursor, int size) {
+
+        if (size < 1 || size > MAX_CURSOR_PAGE_SIZE) {
+            throw new IllegalArgumentException("size 는 1 이상 " + MAX_CURSOR_PAGE_SIZE + " 이하로 입력해주세요.");
+        }
+
+        Pageable pageable = PageRequest.of(0, size);
+
+        Slice<PostSummaryResponse> postsSlice = (cursor == null || cursor.isBlank())
+                ? postRepository.findSummariesOrderByPostIdDesc(pageable)
+                : postRepository.findSummariesByPostIdLessThanOrderByPostIdDesc(PostCursor.decode(cursor), pageable);
+
+        List<PostSummaryResponse> posts = postsSlice.getContent();
 
-        Page<Post> postsPage = postRepository.findAll(pageable);
+        String nextCursor = postsSlice.hasNext()
+                ? PostCursor.encode(posts.get(posts.size() - 1).getPostId())
+                : null;
 
-        return postsPage.map(post -> new ReadPostResponse(post.getPostId(),post.getTitle(),post.getContent()));
+        return new CursorResponse<>(posts, nextCursor, postsSlice.hasNext());
     }
 
 
@@ -0,0 +1,90 @@
+package org.ohgiraffers.mission02board.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.ohgiraffers.mission02board.event.PostEvent;
+import org.ohgiraffers.mission02board.event.PostEventType;
+import org.ohgiraffers.mission02board.repository.PostRepository;
+import org.ohgiraffers.mission02board.shard.PostShards;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/** 전체 게시글 수
+ *  목록을 조회할 때마다 count 쿼리를 실행하는 대신, 게시글이 작성, 삭제되어 커밋될 때마다(AFTER_COMMIT) 메모리의 값을 더하고 뺀다.
+ *  다른 인스턴스에서 작성, 삭제된 게시글은 알 수 없으므로, reconcile() 이 post.count.reconcile-interval-ms 마다
+ *  count 쿼리로 실제 게시글 수에 다시 맞춘다. 그 사이에는 실제 값과 조금 다를 수 있다. (근사값)
+ *
+ *  전체 게시글 수 = base(마지막 count 결과 기준값) + adjustments(그 뒤로 더하고 뺀 값)
+ *  count 쿼리는 시작할 때의 스냅샷을 세므로, 쿼리가 실행되는 동안 커밋된 작성, 삭제는 count 에 없다고 보고
+ *  쿼리 전의 adjustments(before)를 빼서 base 를 정한다. (그 작성, 삭제를 잃지 않는다)
+ *
+ *  오차
+ *  쿼리 전의 adjustments 를 읽은 뒤, 쿼리가 스냅샷을 만들기 전에 커밋된 작성, 삭제는 count 에도 있고 adjustments 에도 더해져서 두 번 세어진다.
+ *  쿼리가 끝난 뒤의 adjustments(after)와의 차이, 즉 [before, after] 동안 커밋된 작성, 삭제 수가 reconcile 마다 생길 수 있는 오차의 최대값이고,
+ *  다음 reconcile 에서 다시 맞춘다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PostTotalCounter {
+
+    private final PostRepository postRepository;
+
+    private final PostShards postShards;
+
+    private final LongAdder adjustments = new LongAdder();
+
+    private volatile long base;
+
+    // 한 번도 count 하지 않았으면 false, 이때는 정확한 count 쿼리로 대신한다.
+    private volatile boolean reconciled;
+
+    public OptionalLong total() {
+
+        if (!reconciled) {
+            return OptionalLong.empty();
+        }
+
+        return OptionalLong.of(Math.max(0, base + adjustments.sum()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, condition = "#event.type.write")
+    public void onPostEvent(PostEvent event) {
+
+        if (event.getType() == PostEventType.CREATED) {
+            adjustments.increment();
+        } else if (event.getType() == PostEventType.DELETED) {
+            adjustments.decrement();
+        }
+    }
+
+    // 애플리케이션이 시작되면 바로 한 번 실행된다.
+    @Scheduled(fixedDelayString = "${post.count.reconcile-interval-ms:60000}")
+    public void reconcile() {
+
+        long adjustmentsBefore = adjustments.sum();
+        AtomicLong counted = new AtomicLong();
+
+        try {
+            postShards.forEach(shard -> counted.addAndGet(postRepository.count()));
+        } catch (DataAccessException e) {
+            log.warn("게시글 수를 다시 세지 못했습니다. 다음 주기에 다시 시도합니다.", e);
+            return;
+        }
+
+        base = counted.get() - adjustmentsBefore;
+        reconciled = true;
+
+        long overlapping = adjustments.sum() - adjustmentsBefore;
+        if (overlapping != 0) {
+            log.debug("count 쿼리 동안 커밋된 작성, 삭제 {}건만큼 게시글 수가 다를 수 있습니다.", overlapping);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package org.ohgiraffers.mission02board.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.ohgiraffers.mission02board.config.PostCacheConfig;
+import org.ohgiraffers.mission02board.shard.PostShards;
+import org.ohgiraffers.mission02board.dto.ReadPostResponse;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/** 게시글 조회수 (write-behind)
+ *  조회할 때마다 UPDATE 를 실행하면 인기 게시글의 같은 행에 쓰기가 몰려 락 경합이 생긴다.
+ *  조회수는 메모리의 LongAdder 에 더해두고(스레드별로 나눠서 더하므로 경합이 거의 없다),
+ *  flush() 가 post.view.flush-interval-ms 마다 쌓인 증가분을 batch UPDATE 한 번으로 DB 에 반영한다.
+ *
+ *  - 반영이 끝난 조회수는 단건 조회 캐시에 있는 게시글의 viewCount 에도 더한다.
+ *    캐시에서 제거하면 가장 많이 조회되는(캐시가 필요한) 게시글이 주기마다 캐시에서 빠지고 다시 조회된다.
+ *    (DB 에 반영된 직후, 캐시에 더하기 전에 캐시가 비어 있던 게시글을 다시 읽으면 그 주기의 조회수가 두 번 더해질 수 있다. 조회수는 근사값이다.)
+ *  - UPDATE 가 실패하면 증가분을 다시 더해 두고 다음 flush 에서 재시도한다.
+ *  - 애플리케이션이 정상 종료될 때(@PreDestroy) 남은 증가분을 반영한다. 비정상 종료 시에는 마지막 주기의 증가분이 유실될 수 있다.
+ *  - 샤딩을 사용하면 게시글이 있는 샤드별로 나눠서 batch UPDATE 한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PostViewCounter {
+
+    static final String FLUSH_SQL = "update post set view_count = view_count + ? where post_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final CacheManager cacheManager;
+
+    private final PostShards postShards;
+
+    private final ConcurrentMap<Long, LongAdder> pendingViews = new ConcurrentHashMap<>();
+
+    public void increment(Long postId) {
+        pendingViews.computeIfAbsent(postId, key -> new LongAdder()).increment();
+    }
+
+    @Scheduled(fixedDelayString = "${post.view.flush-interval-ms:5000}")
+    public void flush() {
+
+        List<Object[]> batchArgs = new ArrayList<>();
+
+        for (Map.Entry<Long, LongAdder> entry : pendingViews.entrySet()) {
+            long views = entry.getValue().sumThenReset();
+
+            if (views == 0) {
+                // 한 주기 동안 조회되지 않은 게시글은 맵에서 제거해서 맵이 계속 커지지 않게 한다.
+                // sumThenReset 이후에 들어온 조회가 있으면 제거하지 않는다. (0 인지 확인하고 제거하는 것을 한 번에 한다)
+                pendingViews.computeIfPresent(entry.getKey(), (postId, adder) -> adder.sum() == 0 ? null : adder);
+                continue;
+            }
+
+            batchArgs.add(new Object[]{views, entry.getKey()});
+        }
+
+        if (batchArgs.isEmpty()) {
+            return;
+        }
+
+        // 여러 인스턴스가 같은 행들을 갱신할 때 데드락이 생기지 않도록 항상 postId 순서로 UPDATE 한다.
+        batchArgs.sort((a, b) -> Long.compare((Long) a[1], (Long) b[1]));
+
+        Map<Integer, List<Object[]>> batchArgsByShard = new TreeMap<>();
+        batchArgs.forEach(args -> batchArgsByShard
+                .computeIfAbsent(postShards.shardOf((Long) args[1]), shard -> new ArrayList<>())
+                .add(args));
+
+        batchArgsByShard.forEach(this::flush);
+    }
+
+    private void flush(int shard, List<Object[]> batchArgs) {
+
+        try {
+            postShards.on(shard, () -> jdbcTemplate.batchUpdate(FLUSH_SQL, batchArgs));
+        } catch (DataAccessException e) {
+            log.warn("조회수 반영 실패, 다음 주기에 재시도합니다. : {}번 샤드 {}건", shard, batchArgs.size(), e);
+            batchArgs.forEach(args -> pendingViews
+                    .computeIfAbsent((Long) args[1], key -> new LongAdder())
+                    .add((Long) args[0]));
+            return;
+        }
+
+        addToCachedPosts(batchArgs);
+    }
+
+    /* 캐시에 있는 게시글만 조회수를 더한 복사본으로 바꾼다.
+    *   computeIfPresent 는 수정, 삭제의 캐시 제거(@CacheEvict)와 한 번에 하나씩 실행되므로, 제거된 게시글을 다시 넣지 않는다.*/
+    private void addToCachedPosts(List<Object[]> batchArgs) {
+
+        Cache cache = cacheManager.getCache(PostCacheConfig.POST_CACHE);
+
+        if (!(cache instanceof CaffeineCache caffeineCache)) {
+            return;
+        }
+
+        ConcurrentMap<Object, Object> cachedPosts = caffeineCache.getNativeCache().asMap();
+        batchArgs.forEach(args -> cachedPosts.computeIfPresent(args[1],
+                (postId, post) -> ((ReadPostResponse) post).plusViews((Long) args[0])));
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+}
@@ -0,0 +1,76 @@
+package org.ohgiraffers.mission02board.shard;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.function.IntConsumer;
+import java.util.function.Supplier;
+
+/** 게시글 샤드 (postId 해시 기반)
+ *  샤드 번호 = hash(postId) % count, postId 만 알면 어느 샤드에 있는지 알 수 있다.
+ *  Snowflake ID 는 시간 순서로 늘어나기 때문에, 그대로 나누면 최근 게시글이 한 샤드에 몰린다.
+ *  비트를 골고루 섞는 해시(SplitMix64)를 거쳐서 모든 샤드에 고르게 나눈다.
+ *
+ *  post.shard.count=1(기본값) 이면 모든 게시글이 0번 샤드이므로 샤딩하지 않는 것과 같다.
+ *
+ *  주의
+ *  count 를 바꾸면 대부분의 게시글의 샤드가 바뀌므로, 샤드 수를 늘리려면 데이터를 다시 나눠 옮겨야 한다.
+ */
+@Component
+public class PostShards {
+
+    private final int count;
+
+    public PostShards(@Value("${post.shard.count:1}") int count) {
+
+        if (count < 1) {
+            throw new IllegalArgumentException("post.shard.count 는 1 이상이어야 합니다.");
+        }
+
+        this.count = count;
+    }
+
+    public static int shardOf(long postId, int count) {
+
+        long z = postId;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        z = z ^ (z >>> 31);
+
+        return (int) Math.floorMod(z, (long) count);
+    }
+
+    public int count() {
+        return count;
+    }
+
+    public int shardOf(Long postId) {
+        return shardOf(postId, count);
+    }
+
+    // postId 가 있는 샤드에서 실행한다.
+    public <T> T onShardOf(Long postId, Supplier<T> work) {
+        return ShardContext.call(shardOf(postId), work);
+    }
+
+    public <T> T on(int shard, Supplier<T> work) {
+        return ShardContext.call(shard, work);
+    }
+
+    // 새 게시글 저장 : 샤드는 ID 를 만들 때 정해진다.
+    public <T> T forNewPost(Supplier<T> work) {
+        return ShardContext.call(null, work);
+    }
+
+    // 모든 샤드에서 한 번씩 차례대로 실행한다.
+    public void forEach(IntConsumer work) {
+
+        for (int shard = 0; shard < count; shard++) {
+            int current = shard;
+            ShardContext.call(current, () -> {
+                work.accept(current);
+                return null;
+            });
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package org.ohgiraffers.mission02board.shard;
+
+import java.util.function.Supplier;
+
+/** 현재 스레드가 사용할 샤드 번호
+ *  ShardRoutingDataSource 는 커넥션을 가져올 때 이 값으로 샤드 DB 를 고른다. (값이 없으면 0번 샤드)
+ *  트랜잭션은 한 샤드 안에서만 열 수 있으므로, 트랜잭션을 시작하기 전에 샤드를 정해야 한다.
+ *
+ *  새 게시글은 저장하기 전까지 postId 가 없으므로 샤드를 정하지 않은 채로(call(null, ...)) 시작하고,
+ *  ID 생성기(ShardedIdGenerator)가 ID 를 만들면서 bind() 로 샤드를 정한다.
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<Slot> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    public static <T> T call(Integer shard, Supplier<T> work) {
+
+        Slot previous = CURRENT.get();
+        CURRENT.set(new Slot(shard));
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    // 정해진 샤드, 정해지지 않았으면 null
+    public static Integer current() {
+        Slot slot = CURRENT.get();
+        return slot == null ? null : slot.shard;
+    }
+
+    public static boolean isOpen() {
+        return CURRENT.get() != null;
+    }
+
+    static void bind(int shard) {
+
+        Slot slot = CURRENT.get();
+
+        if (slot == null) {
+            throw new IllegalStateException("샤드 범위(ShardContext.call) 밖에서 새 게시글을 저장할 수 없습니다.");
+        }
+
+        if (slot.shard != null && slot.shard != shard) {
+            throw new IllegalStateException("이미 " + slot.shard + "번 샤드를 사용하는 중입니다.");
+        }
+
+        slot.shard = shard;
+    }
+
+    private static class Slot {
+
+        private Integer shard;
+
+        private Slot(Integer shard) {
+            this.shard = shard;
+        }
+    }
+}
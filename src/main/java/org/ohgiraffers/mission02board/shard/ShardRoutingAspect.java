@@ -0,0 +1,256 @@
+package org.ohgiraffers.mission02board.shard;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.ohgiraffers.mission02board.dto.BulkReadPostResponse;
+import org.ohgiraffers.mission02board.dto.CursorResponse;
+import org.ohgiraffers.mission02board.dto.PostSummaryResponse;
+import org.ohgiraffers.mission02board.dto.ReadPostResponse;
+import org.ohgiraffers.mission02board.service.PostCountMode;
+import org.ohgiraffers.mission02board.service.PostCursor;
+import org.ohgiraffers.mission02board.service.PostTotalCounter;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+
+/** PostService 샤드 라우팅
+ *  PostService 의 트랜잭션이 시작되기 전에 어느 샤드에서 실행할지 정한다.
+ *  - postId 로 시작하는 메서드 (조회, 수정, 삭제) : postId 의 샤드
+ *  - createPost                                   : ID 를 만들 때 정해지는 샤드
+ *  - readAllPost, readPostsAfter                  : 모든 샤드에 동시에 요청하고(scatter) postId 순서로 합친다(gather).
+ *  - readPostsByIds                               : postId 를 샤드별로 나눠서 동시에 요청하고, 요청한 순서대로 합친다.
+ *
+ *  @Order : 캐시(@Cacheable)보다는 안쪽, 트랜잭션(@Transactional)보다는 바깥쪽에서 실행되어야 한다.
+ *
+ *  주의
+ *  목록 조회는 postId 정렬만 지원한다. page 번호로 조회하면 각 샤드에서 (page + 1) * size 개씩 읽어서 합치므로
+ *  뒤쪽 페이지일수록 비용이 커진다. 깊은 페이지는 커서 조회(readPostsAfter)를 사용한다.
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class ShardRoutingAspect {
+
+    private final PostShards postShards;
+
+    private final PostTotalCounter postTotalCounter;
+
+    private final int maxPageWindow;
+
+    private final int maxBulkReadSize;
+
+    public ShardRoutingAspect(PostShards postShards, PostTotalCounter postTotalCounter, int maxPageWindow, int maxBulkReadSize) {
+        this.postShards = postShards;
+        this.postTotalCounter = postTotalCounter;
+        this.maxPageWindow = maxPageWindow;
+        this.maxBulkReadSize = maxBulkReadSize;
+    }
+
+    @Around("execution(* org.ohgiraffers.mission02board.service.PostService.*(Long, ..)) && args(postId, ..)")
+    public Object onShardOfPost(ProceedingJoinPoint joinPoint, Long postId) {
+        return postShards.onShardOf(postId, () -> proceed(joinPoint, joinPoint.getArgs()));
+    }
+
+    @Around("execution(* org.ohgiraffers.mission02board.service.PostService.createPost(..))")
+    public Object onNewPost(ProceedingJoinPoint joinPoint) {
+        return postShards.forNewPost(() -> proceed(joinPoint, joinPoint.getArgs()));
+    }
+
+    @Around("execution(* org.ohgiraffers.mission02board.service.PostService.readAllPost(..)) && args(pageable, countMode)")
+    public Slice<PostSummaryResponse> readAllPost(ProceedingJoinPoint joinPoint, Pageable pageable, PostCountMode countMode) {
+
+        Comparator<PostSummaryResponse> order = postIdOrder(pageable.getSort());
+        long window = pageable.getOffset() + pageable.getPageSize();
+
+        if (window > maxPageWindow) {
+            throw new IllegalArgumentException("page 가 너무 큽니다. 커서 조회(/api/v1/posts/cursor)를 사용해주세요.");
+        }
+
+        // PostTotalCounter 는 모든 샤드의 게시글 수이므로, 샤드에는 count 없이 요청하고 전체 개수는 한 번만 더한다.
+        OptionalLong counted = (countMode == PostCountMode.APPROXIMATE) ? postTotalCounter.total() : OptionalLong.empty();
+        boolean exact = countMode == PostCountMode.EXACT || (countMode == PostCountMode.APPROXIMATE && counted.isEmpty());
+        PostCountMode shardCountMode = exact ? PostCountMode.EXACT : PostCountMode.NONE;
+
+        // 각 샤드의 앞쪽 window 개 안에 합친 결과의 앞쪽 window 개가 모두 들어있다.
+        Pageable shardPageable = PageRequest.of(0, (int) window, pageable.getSort());
+
+        List<Slice<PostSummaryResponse>> slices =
+                scatter(shard -> cast(proceed(joinPoint, new Object[]{shardPageable, shardCountMode})));
+
+        List<PostSummaryResponse> merged = new ArrayList<>();
+        long total = 0;
+        boolean shardHasNext = false;
+
+        for (Slice<PostSummaryResponse> slice : slices) {
+            merged.addAll(slice.getContent());
+            shardHasNext |= slice.hasNext();
+            if (slice instanceof Page<PostSummaryResponse> page) {
+                total += page.getTotalElements();
+            }
+        }
+
+        merged.sort(order);
+
+        int from = (int) Math.min(pageable.getOffset(), merged.size());
+        int to = (int) Math.min(window, merged.size());
+        List<PostSummaryResponse> content = merged.subList(from, to);
+
+        if (exact) {
+            return new PageImpl<>(content, pageable, total);
+        }
+
+        if (counted.isPresent()) {
+            return new PageImpl<>(content, pageable, counted.getAsLong());
+        }
+
+        return new SliceImpl<>(content, pageable, shardHasNext || merged.size() > window);
+    }
+
+    @Around("execution(* org.ohgiraffers.mission02board.service.PostService.readPostsAfter(..)) && args(cursor, size)")
+    public CursorResponse<PostSummaryResponse> readPostsAfter(ProceedingJoinPoint joinPoint, String cursor, int size) {
+
+        List<CursorResponse<PostSummaryResponse>> responses =
+                scatter(shard -> cast(proceed(joinPoint, new Object[]{cursor, size})));
+
+        List<PostSummaryResponse> merged = new ArrayList<>();
+        boolean shardHasNext = false;
+
+        for (CursorResponse<PostSummaryResponse> response : responses) {
+            merged.addAll(response.getContent());
+            shardHasNext |= response.isHasNext();
+        }
+
+        merged.sort(Comparator.comparing(PostSummaryResponse::getPostId, Comparator.reverseOrder()));
+
+        boolean hasNext = shardHasNext || merged.size() > size;
+        List<PostSummaryResponse> content = merged.subList(0, Math.min(size, merged.size()));
+        String nextCursor = hasNext && !content.isEmpty()
+                ? PostCursor.encode(content.get(content.size() - 1).getPostId())
+                : null;
+
+        return new CursorResponse<>(content, nextCursor, hasNext);
+    }
+
+    /* 샤드마다 나눠서 조회하면 서비스는 샤드에 보낸 개수만 검사하므로, 요청 전체의 개수는 여기서 먼저 검사한다.*/
+    @Around("execution(* org.ohgiraffers.mission02board.service.PostService.readPostsByIds(..)) && args(postIds)")
+    public BulkReadPostResponse readPostsByIds(ProceedingJoinPoint joinPoint, List<Long> postIds) {
+
+        Set<Long> distinctIds = new LinkedHashSet<>(postIds);
+
+        if (distinctIds.isEmpty() || distinctIds.contains(null)) {
+            return cast(proceed(joinPoint, new Object[]{postIds}));
+        }
+
+        if (distinctIds.size() > maxBulkReadSize) {
+            throw new IllegalArgumentException("ids 는 한 번에 " + maxBulkReadSize + "개까지 조회할 수 있습니다.");
+        }
+
+        Map<Integer, List<Long>> postIdsByShard = new HashMap<>();
+        distinctIds.forEach(postId -> postIdsByShard
+                .computeIfAbsent(postShards.shardOf(postId), shard -> new ArrayList<>())
+                .add(postId));
+
+        List<BulkReadPostResponse> responses = scatter(shard -> postIdsByShard.containsKey(shard)
+                ? cast(proceed(joinPoint, new Object[]{postIdsByShard.get(shard)}))
+                : null);
+
+        Map<Long, ReadPostResponse> postsById = new HashMap<>();
+        for (BulkReadPostResponse response : responses) {
+            if (response != null) {
+                response.getPosts().forEach(post -> postsById.put(post.getPostId(), post));
+            }
+        }
+
+        List<ReadPostResponse> posts = new ArrayList<>(postsById.size());
+        List<Long> missingIds = new ArrayList<>();
+
+        for (Long postId : distinctIds) {
+            ReadPostResponse post = postsById.get(postId);
+
+            if (post == null) {
+                missingIds.add(postId);
+            } else {
+                posts.add(post);
+            }
+        }
+
+        return new BulkReadPostResponse(posts, missingIds);
+    }
+
+    /* 샤드마다 가상 스레드 하나씩 동시에 실행하고, 모든 결과를 샤드 순서대로 모은다.*/
+    private <T> List<T> scatter(IntFunction<T> work) {
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<T>> futures = new ArrayList<>(postShards.count());
+
+            for (int shard = 0; shard < postShards.count(); shard++) {
+                int current = shard;
+                futures.add(executor.submit(() -> postShards.on(current, () -> work.apply(current))));
+            }
+
+            List<T> results = new ArrayList<>(futures.size());
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+
+            return results;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Comparator<PostSummaryResponse> postIdOrder(Sort sort) {
+
+        Sort.Order postIdOrder = sort.getOrderFor("postId");
+
+        if (postIdOrder == null || sort.stream().count() != 1) {
+            throw new IllegalArgumentException("샤딩된 게시글 목록은 postId 정렬만 지원합니다.");
+        }
+
+        Comparator<PostSummaryResponse> ascending = Comparator.comparing(PostSummaryResponse::getPostId);
+
+        return postIdOrder.isAscending() ? ascending : ascending.reversed();
+    }
+
+    private static Object proceed(ProceedingJoinPoint joinPoint, Object[] args) {
+
+        try {
+            return joinPoint.proceed(args);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T cast(Object value) {
+        return (T) value;
+    }
+}
@@ -0,0 +1,48 @@
+package org.ohgiraffers.mission02board.shard;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/** 샤드 DataSource
+ *  커넥션을 가져올 때 ShardContext 의 샤드 번호로 샤드 DB 를 고른다. 샤드가 정해지지 않았으면 0번 샤드를 사용한다.
+ *  새 게시글은 INSERT 직전에 샤드가 정해지므로, LazyConnectionDataSourceProxy 로 감싸서 첫 쿼리 때 커넥션을 가져와야 한다.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    private final List<DataSource> shards;
+
+    public ShardRoutingDataSource(List<DataSource> shards) {
+
+        this.shards = List.copyOf(shards);
+
+        Map<Object, Object> targets = new HashMap<>();
+        for (int shard = 0; shard < shards.size(); shard++) {
+            targets.put(shard, shards.get(shard));
+        }
+
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(shards.get(0));
+        // 없는 샤드 번호는 0번 샤드로 보내지 않고 예외를 발생시킨다.
+        setLenientFallback(false);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ShardContext.current();
+    }
+
+    @Override
+    public void destroy() throws Exception {
+
+        for (DataSource dataSource : shards) {
+            if (dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package org.ohgiraffers.mission02board.shard;
+
+import org.ohgiraffers.mission02board.domain.id.SnowflakeIdGenerator;
+
+/** 샤드를 아는 ID 생성기
+ *  Snowflake ID 를 만들고, 그 ID 의 샤드(PostShards.shardOf)를 현재 스레드의 샤드로 정한다.
+ *  이미 샤드가 정해져 있으면(같은 트랜잭션에서 두 번째 이후로 저장하는 게시글) 그 샤드에 해당하는 ID 가 나올 때까지 다시 만든다.
+ *  해시가 고르게 나뉘므로 평균 count 번이면 찾는다.
+ */
+public class ShardedIdGenerator {
+
+    private final SnowflakeIdGenerator snowflake;
+
+    private final int count;
+
+    public ShardedIdGenerator(SnowflakeIdGenerator snowflake, int count) {
+        this.snowflake = snowflake;
+        this.count = count;
+    }
+
+    public long nextId() {
+
+        Integer bound = ShardContext.current();
+        long id = snowflake.nextId();
+
+        if (bound == null) {
+            ShardContext.bind(PostShards.shardOf(id, count));
+            return id;
+        }
+
+        while (PostShards.shardOf(id, count) != bound) {
+            id = snowflake.nextId();
+        }
+
+        return id;
+    }
+}
@@ -0,0 +1,166 @@
+package org.ohgiraffers.mission02board.admission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PostAdmissionFilterTest {
+
+    private final AtomicLong nanoTime = new AtomicLong();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private Map<AdmissionBudget, AdmissionLimiter> limiters;
+
+    private PostAdmissionFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        limiters = new EnumMap<>(AdmissionBudget.class);
+        limiters.put(AdmissionBudget.READ, new AdmissionLimiter(0, 1, 0));
+        limiters.put(AdmissionBudget.SCAN, new AdmissionLimiter(1, 2, 1));
+        limiters.put(AdmissionBudget.EXPORT, new AdmissionLimiter(0, 1, 1));
+        limiters.put(AdmissionBudget.WRITE, new AdmissionLimiter(1, 1, 0));
+        filter = new PostAdmissionFilter(limiters, new ObjectMapper(), meterRegistry, nanoTime::get);
+    }
+
+    @Test
+    @DisplayName("요청 경로와 메서드로 요청 종류를 나누는지 테스트")
+    void budget_test() {
+
+        //when & then
+        assertThat(AdmissionBudget.of(request("GET", "/api/v1/posts", "a"))).isEqualTo(AdmissionBudget.SCAN);
+        assertThat(AdmissionBudget.of(request("GET", "/api/v1/posts/search", "a"))).isEqualTo(AdmissionBudget.SCAN);
+        assertThat(AdmissionBudget.of(request("GET", "/api/v1/posts/export", "a"))).isEqualTo(AdmissionBudget.EXPORT);
+        assertThat(AdmissionBudget.of(request("GET", "/api/v1/posts/1", "a"))).isEqualTo(AdmissionBudget.READ);
+        assertThat(AdmissionBudget.of(request("PUT", "/api/v1/posts/1", "a"))).isEqualTo(AdmissionBudget.WRITE);
+        assertThat(AdmissionBudget.of(request("POST", "/api/v1/posts/bulk", "a"))).isEqualTo(AdmissionBudget.WRITE);
+        assertThat(AdmissionBudget.of(request("GET", "/actuator/health", "a"))).isNull();
+    }
+
+    @Test
+    @DisplayName("세미콜론 내용, URL 인코딩, 중복 슬래시, context path 가 있어도 컨트롤러와 같은 경로로 요청 종류를 나누는지 테스트")
+    void normalized_budget_test() {
+        //given
+        MockHttpServletRequest withContextPath = request("GET", "/board/api/v1/posts/export", "a");
+        withContextPath.setContextPath("/board");
+
+        //when & then
+        assertThat(AdmissionBudget.of(request("GET", "/api/v1/posts/export;x=1", "a"))).isEqualTo(AdmissionBudget.EXPORT);
+        assertThat(AdmissionBudget.of(request("GET", "/api/v1/posts/%65xport", "a"))).isEqualTo(AdmissionBudget.EXPORT);
+        assertThat(AdmissionBudget.of(request("GET", "/api/v1/posts;x=1", "a"))).isEqualTo(AdmissionBudget.SCAN);
+        assertThat(AdmissionBudget.of(request("GET", "/api/v1//posts/search", "a"))).isEqualTo(AdmissionBudget.SCAN);
+        assertThat(AdmissionBudget.of(request("GET", "/api/v1/%70osts/1", "a"))).isEqualTo(AdmissionBudget.READ);
+        assertThat(AdmissionBudget.of(withContextPath)).isEqualTo(AdmissionBudget.EXPORT);
+    }
+
+    @Test
+    @DisplayName("클라이언트의 토큰이 없으면 429 와 Retry-After 로 바로 거절하고, 다른 클라이언트와 다른 종류의 요청은 허용하는지 테스트")
+    void rate_limit_test() throws Exception {
+        //given
+        perform(request("GET", "/api/v1/posts", "10.0.0.1"));
+        perform(request("GET", "/api/v1/posts", "10.0.0.1"));
+
+        //when
+        MockHttpServletResponse rejected = perform(request("GET", "/api/v1/posts", "10.0.0.1"));
+
+        //then
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(rejected.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(rejected.getContentAsString()).contains("\"status\":429");
+        assertThat(meterRegistry.counter(PostAdmissionFilter.REJECTED_METRIC, "budget", "scan", "reason", "rate").count())
+                .isEqualTo(1);
+
+        assertThat(perform(request("GET", "/api/v1/posts", "10.0.0.2")).getStatus()).isEqualTo(200);
+        assertThat(perform(request("POST", "/api/v1/posts", "10.0.0.1")).getStatus()).isEqualTo(200);
+
+        // 1초가 지나면 토큰 1개가 다시 찬다.
+        nanoTime.addAndGet(1_000_000_000L);
+        assertThat(perform(request("GET", "/api/v1/posts", "10.0.0.1")).getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("동시 처리 수를 넘으면 503 으로 거절하고, 처리가 끝나면 자리를 반납하는지 테스트")
+    void concurrency_limit_test() throws Exception {
+        //given
+        MockHttpServletResponse[] inner = new MockHttpServletResponse[1];
+        FilterChain slowChain = (request, response) ->
+                inner[0] = perform(request("GET", "/api/v1/posts/cursor", "10.0.0.2"));
+
+        //when
+        filter.doFilter(request("GET", "/api/v1/posts", "10.0.0.1"), new MockHttpServletResponse(), slowChain);
+
+        //then
+        assertThat(inner[0].getStatus()).isEqualTo(503);
+        assertThat(inner[0].getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(limiters.get(AdmissionBudget.SCAN).inFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("내보내기는 응답이 끝날 때까지 EXPORT 자리만 차지하고, 목록 조회(SCAN)는 계속 허용하는지 테스트")
+    void export_budget_test() throws Exception {
+        //given : 비동기로 응답을 쓰는 내보내기
+        MockHttpServletRequest export = request("GET", "/api/v1/posts/export", "10.0.0.1");
+        export.setAsyncSupported(true);
+        filter.doFilter(export, new MockHttpServletResponse(), (request, response) -> request.startAsync());
+
+        //when
+        MockHttpServletResponse secondExport = perform(request("GET", "/api/v1/posts/export", "10.0.0.2"));
+        MockHttpServletResponse list = perform(request("GET", "/api/v1/posts", "10.0.0.2"));
+
+        //then
+        assertThat(secondExport.getStatus()).isEqualTo(503);
+        assertThat(list.getStatus()).isEqualTo(200);
+        assertThat(limiters.get(AdmissionBudget.EXPORT).inFlight()).isEqualTo(1);
+
+        // 응답이 끝나면 자리를 반납한다.
+        export.getAsyncContext().complete();
+        assertThat(limiters.get(AdmissionBudget.EXPORT).inFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("가득 찬 토큰 버킷은 정리되는지 테스트")
+    void evict_test() throws Exception {
+        //given
+        perform(request("GET", "/api/v1/posts", "10.0.0.1"));
+        assertThat(limiters.get(AdmissionBudget.SCAN).clients()).isEqualTo(1);
+
+        //when
+        nanoTime.addAndGet(10_000_000_000L);
+        filter.evictIdleClients();
+
+        //then
+        assertThat(limiters.get(AdmissionBudget.SCAN).clients()).isZero();
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequest request) {
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(request, response, new MockFilterChain());
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        return response;
+    }
+
+    private MockHttpServletRequest request(String method, String uri, String remoteAddr) {
+
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setRemoteAddr(remoteAddr);
+        return request;
+    }
+}
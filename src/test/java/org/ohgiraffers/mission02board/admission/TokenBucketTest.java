@@ -0,0 +1,85 @@
+package org.ohgiraffers.mission02board.admission;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TokenBucketTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    @DisplayName("burst 개까지 연속으로 허용하고, 그 다음은 토큰이 찰 때까지의 시간을 반환하는지 테스트")
+    void burst_test() {
+        //given
+        TokenBucket bucket = new TokenBucket(2, 3, 0);
+
+        //when & then
+        assertThat(bucket.tryAcquire(0)).isZero();
+        assertThat(bucket.tryAcquire(0)).isZero();
+        assertThat(bucket.tryAcquire(0)).isZero();
+        assertThat(bucket.tryAcquire(0)).isEqualTo(SECOND / 2);
+
+        // 0.5초가 지나면 토큰 1개가 찬다.
+        assertThat(bucket.tryAcquire(SECOND / 2)).isZero();
+        assertThat(bucket.tryAcquire(SECOND / 2)).isPositive();
+        assertThat(bucket.isFull(SECOND / 2)).isFalse();
+        assertThat(bucket.isFull(2 * SECOND)).isTrue();
+    }
+
+    @Test
+    @DisplayName("여러 스레드가 동시에 요청해도 burst 개만 허용하는지 테스트")
+    void concurrent_test() throws InterruptedException {
+        //given
+        TokenBucket bucket = new TokenBucket(1, 100, 0);
+        AtomicInteger acquired = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+
+        for (int i = 0; i < 8; i++) {
+            threads.add(Thread.ofVirtual().start(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int j = 0; j < 1_000; j++) {
+                    if (bucket.tryAcquire(0) == 0) {
+                        acquired.incrementAndGet();
+                    }
+                }
+            }));
+        }
+
+        //when
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        //then
+        assertThat(acquired.get()).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("동시 처리 수를 넘으면 거절하고, 반납하면 다시 허용하는지 테스트")
+    void concurrency_limiter_test() {
+        //given
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(2);
+
+        //when & then
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+
+        limiter.release();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.inFlight()).isEqualTo(2);
+    }
+}
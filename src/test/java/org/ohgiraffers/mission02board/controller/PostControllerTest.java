@@ -1,9 +1,16 @@
 package org.ohgiraffers.mission02board.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.ohgiraffers.mission02board.dto.*;
+import org.ohgiraffers.mission02board.service.PopularPostService;
+import org.ohgiraffers.mission02board.service.PostBulkService;
+import org.ohgiraffers.mission02board.service.PostCountMode;
+import org.ohgiraffers.mission02board.service.PostExportService;
+import org.ohgiraffers.mission02board.service.PostSearchService;
 import org.ohgiraffers.mission02board.service.PostService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -11,21 +18,33 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 /* 통합테스트 & 단위테스트
 *   통합테스트 :
@@ -55,6 +74,18 @@ public class PostControllerTest {
     @MockBean
     PostService postService;    //가짜 객체
 
+    @MockBean
+    PostBulkService postBulkService;
+
+    @MockBean
+    PostSearchService postSearchService;
+
+    @MockBean
+    PostExportService postExportService;
+
+    @MockBean
+    PopularPostService popularPostService;
+
     /* ObjectMapper
     *   특정 객체를 json 형태로 바꾸기 위해 사용한다.*/
     @Autowired
@@ -90,7 +121,7 @@ public class PostControllerTest {
         //given
         Long postId = 1L;
 //
-        ReadPostResponse response = new ReadPostResponse(1L, "테스트 제목", "테스트 내용");
+        ReadPostResponse response = new ReadPostResponse(1L, "테스트 제목", "테스트 내용", 0L, null, 0L);
 
         given(postService.readPostById(any())).willReturn(response);
 
@@ -100,8 +131,236 @@ public class PostControllerTest {
                 .andExpect(jsonPath("$.postId").value(1L))
                 .andExpect(jsonPath("$.title").value("테스트 제목"))
                 .andExpect(jsonPath("$.content").value("테스트 내용"))
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"1-0\""))
+                .andExpect(header().string(PostETag.VERSION_HEADER, "\"1-0\""))
+                .andDo(print());
+        //then
+        verify(postService).recordView(1L, "테스트 제목");
+    }
+
+    @Test
+    @DisplayName("ids 로 여러 게시글을 조회하면 찾은 게시글과 없는 postId 를 함께 반환하는지 테스트")
+    void read_posts_by_ids_test() throws Exception {
+
+        //given
+        BulkReadPostResponse response = new BulkReadPostResponse(
+                List.of(new ReadPostResponse(3L, "테스트 제목", "테스트 내용", 0L, null, 0L)), List.of(1L));
+
+        given(postService.readPostsByIds(List.of(3L, 1L))).willReturn(response);
+
+        //when & then
+        mockMvc.perform(get("/api/v1/posts").param("ids", "3,1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.posts[0].postId").value(3L))
+                .andExpect(jsonPath("$.missingIds[0]").value(1L))
                 .andDo(print());
+
+        verify(postService).recordView(3L, "테스트 제목");
+        verify(postService, never()).readAllPost(any(), any());
+    }
+
+    @Test
+    @DisplayName("Accept: application/cbor 로 조회하면 CBOR 로 응답하는지 테스트")
+    void read_post_cbor_test() throws Exception {
+
+        //given
+        ReadPostResponse response = new ReadPostResponse(1L, "테스트 제목", "테스트 내용", 0L, null, 0L);
+
+        given(postService.readPostById(any())).willReturn(response);
+
+        //when
+        byte[] body = mockMvc.perform(get("/api/v1/posts/{postId}", 1L)
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"1-0+cbor\""))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)))
+                .andReturn().getResponse().getContentAsByteArray();
+
         //then
+        ReadPostResponse decoded = CBORMapper.builder().findAndAddModules().build()
+                .readValue(body, ReadPostResponse.class);
+        assertThat(decoded.getPostId()).isEqualTo(1L);
+        assertThat(decoded.getTitle()).isEqualTo("테스트 제목");
+        assertThat(decoded.getContent()).isEqualTo("테스트 내용");
+    }
+
+    @Test
+    @DisplayName("JSON 의 ETag 로 CBOR 를 조건부 조회하면 304 가 아니라 CBOR 본문을 반환하는지 테스트")
+    void read_post_representation_etag_test() throws Exception {
+
+        //given
+        given(postService.readPostById(1L)).willReturn(new ReadPostResponse(1L, "테스트 제목", "테스트 내용", 0L, null, 0L));
+
+        //when & then
+        mockMvc.perform(get("/api/v1/posts/{postId}", 1L)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .header(HttpHeaders.IF_NONE_MATCH, "W/\"1-0\""))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"1-0+cbor\""))
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("Accept 의 q 값이 가장 큰 표현을 고르고, 없으면 JSON 을 고르는지 테스트")
+    void representation_test() {
+
+        //when & then
+        assertThat(PostRepresentation.of(accept(null))).isEqualTo(PostRepresentation.JSON);
+        assertThat(PostRepresentation.of(accept("*/*"))).isEqualTo(PostRepresentation.JSON);
+        assertThat(PostRepresentation.of(accept("application/cbor"))).isEqualTo(PostRepresentation.CBOR);
+        assertThat(PostRepresentation.of(accept("application/json;q=0.5, application/x-jackson-smile"))).isEqualTo(PostRepresentation.SMILE);
+        assertThat(PostRepresentation.of(accept("application/*;q=0.9, application/json;q=0.1"))).isEqualTo(PostRepresentation.CBOR);
+    }
+
+    @Test
+    @DisplayName("If-None-Match 의 ETag 가 캐시된 게시글의 버전과 같으면 DB 를 조회하지 않고 본문 없이 304 를 반환하는지 테스트")
+    void read_post_not_modified_test() throws Exception {
+
+        //given
+        given(postService.readPostById(1L)).willReturn(new ReadPostResponse(1L, "테스트 제목", "테스트 내용", 0L, null, 0L));
+
+        //when & then
+        mockMvc.perform(get("/api/v1/posts/{postId}", 1L)
+                        .header(HttpHeaders.IF_NONE_MATCH, "W/\"1-0\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""))
+                .andDo(print());
+
+        verify(postService, never()).readPostVersion(any());
+        verify(postService).recordView(1L, "테스트 제목");
+    }
+
+    @Test
+    @DisplayName("If-Match 로 수정하면 다음 수정에 보낼 강한 ETag 를 반환하는지 테스트")
+    void update_post_if_match_test() throws Exception {
+
+        //given
+        UpdatePostRequest request = new UpdatePostRequest("변경 제목", "변경 내용");
+
+        given(postService.updatePost(any(Long.class), any(UpdatePostRequest.class), eq(0L)))
+                .willReturn(new UpdatePostResponse(1L, "변경 제목", "변경 내용", 1L));
+
+        //when & then
+        mockMvc.perform(put("/api/v1/posts/{postId}", 1L)
+                        .header(HttpHeaders.IF_MATCH, "\"1-0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(request))
+                )
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-1\""))
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("조회 응답의 X-Version-ETag 를 If-Match 로 그대로 보내면 수정되는지 테스트")
+    void update_post_with_read_version_etag_test() throws Exception {
+
+        //given
+        UpdatePostRequest request = new UpdatePostRequest("변경 제목", "변경 내용");
+
+        given(postService.readPostById(1L)).willReturn(new ReadPostResponse(1L, "테스트 제목", "테스트 내용", 3L, null, 0L));
+        given(postService.updatePost(eq(1L), any(UpdatePostRequest.class), eq(3L)))
+                .willReturn(new UpdatePostResponse(1L, "변경 제목", "변경 내용", 4L));
+
+        String versionETag = mockMvc.perform(get("/api/v1/posts/{postId}", 1L))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(PostETag.VERSION_HEADER);
+
+        //when & then
+        mockMvc.perform(put("/api/v1/posts/{postId}", 1L)
+                        .header(HttpHeaders.IF_MATCH, versionETag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(request)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-4\""))
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("If-Match: * 이면 버전과 상관없이 수정하고, 게시글이 없으면 412 를 반환하는지 테스트")
+    void update_post_if_match_any_test() throws Exception {
+
+        //given
+        UpdatePostRequest request = new UpdatePostRequest("변경 제목", "변경 내용");
+
+        given(postService.updatePost(eq(1L), any(UpdatePostRequest.class), isNull()))
+                .willReturn(new UpdatePostResponse(1L, "변경 제목", "변경 내용", 1L));
+        given(postService.updatePost(eq(2L), any(UpdatePostRequest.class), isNull()))
+                .willThrow(new EntityNotFoundException("해당 postId로 조회된 게시글이 없습니다."));
+
+        //when & then
+        mockMvc.perform(put("/api/v1/posts/{postId}", 1L)
+                        .header(HttpHeaders.IF_MATCH, "*")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(request)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(put("/api/v1/posts/{postId}", 2L)
+                        .header(HttpHeaders.IF_MATCH, "*")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(request)))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    @DisplayName("If-Match 의 약한 ETag 는 일치하지 않으므로 수정하지 않고 412 를 반환하는지 테스트")
+    void update_post_if_match_weak_test() throws Exception {
+
+        //given
+        UpdatePostRequest request = new UpdatePostRequest("변경 제목", "변경 내용");
+
+        //when & then
+        mockMvc.perform(put("/api/v1/posts/{postId}", 1L)
+                        .header(HttpHeaders.IF_MATCH, "W/\"1-0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(request)))
+                .andExpect(status().isPreconditionFailed())
+                .andDo(print());
+
+        verify(postService, never()).updatePost(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("If-Match 에 태그가 여러 개이면 현재 버전과 같은 태그의 버전으로 수정하는지 테스트")
+    void update_post_if_match_list_test() throws Exception {
+
+        //given
+        UpdatePostRequest request = new UpdatePostRequest("변경 제목", "변경 내용");
+
+        given(postService.readPostVersion(1L)).willReturn(new PostVersion(1L, 1L, null));
+        given(postService.updatePost(any(Long.class), any(UpdatePostRequest.class), eq(1L)))
+                .willReturn(new UpdatePostResponse(1L, "변경 제목", "변경 내용", 2L));
+
+        //when & then
+        mockMvc.perform(put("/api/v1/posts/{postId}", 1L)
+                        .header(HttpHeaders.IF_MATCH, "\"1-0\", W/\"1-1\", \"1-1\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(request)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-2\""))
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("If-Match 의 버전이 맞지 않으면 412 를 반환하는지 테스트")
+    void update_post_precondition_failed_test() throws Exception {
+
+        //given
+        UpdatePostRequest request = new UpdatePostRequest("변경 제목", "변경 내용");
+
+        given(postService.updatePost(any(Long.class), any(UpdatePostRequest.class), eq(0L)))
+                .willThrow(new OptimisticLockingFailureException("다른 요청에 의해 게시글이 먼저 수정되었습니다."));
+
+        //when & then
+        mockMvc.perform(put("/api/v1/posts/{postId}", 1L)
+                        .header(HttpHeaders.IF_MATCH, "\"1-0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(request))
+                )
+                .andExpect(status().isPreconditionFailed())
+                .andDo(print());
     }
 
     @Test
@@ -112,9 +371,9 @@ public class PostControllerTest {
         Long postId = 1L;
 
         UpdatePostRequest request = new UpdatePostRequest("변경 제목", "변경 내용");
-        UpdatePostResponse response = new UpdatePostResponse(1L, "변경 제목", "변경 내용");
+        UpdatePostResponse response = new UpdatePostResponse(1L, "변경 제목", "변경 내용", 1L);
 
-        given(postService.updatePost(any(Long.class), any(UpdatePostRequest.class))).willReturn(response);
+        given(postService.updatePost(any(Long.class), any(UpdatePostRequest.class), any())).willReturn(response);
 
         //when & then
         mockMvc.perform(put("/api/v1/posts/{postId}", postId)
@@ -125,6 +384,8 @@ public class PostControllerTest {
                 .andExpect(jsonPath("$.postId").value(1L))
                 .andExpect(jsonPath("$.title").value("변경 제목"))
                 .andExpect(jsonPath("$.content").value("변경 내용"))
+                .andExpect(jsonPath("$.version").value(1L))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-1\""))
                 .andDo(print());
         //then
     }
@@ -161,24 +422,174 @@ public class PostControllerTest {
         int size = 5;
         PageRequest pageRequest = PageRequest.of(page, size);
 
-        ReadPostResponse readPostResponse = new ReadPostResponse(1L, "테스트 제목", "테스트 내용");
+        PostSummaryResponse postSummaryResponse = new PostSummaryResponse(1L, "테스트 제목", "테스트 내용", 0L);
 
-        List<ReadPostResponse> responses = new ArrayList<>();
+        List<PostSummaryResponse> responses = new ArrayList<>();
 
-        responses.add(readPostResponse);
+        responses.add(postSummaryResponse);
 
-        Page<ReadPostResponse> pageResponses = new PageImpl<>(responses, pageRequest, responses.size());
+        Page<PostSummaryResponse> pageResponses = new PageImpl<>(responses, pageRequest, responses.size());
 
-        given(postService.readAllPost(any())).willReturn(pageResponses);
+        given(postService.readAllPost(any(), eq(PostCountMode.APPROXIMATE))).willReturn(pageResponses);
 
         //when & then
         mockMvc.perform(get("/api/v1/posts"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.content[0].postId").value(readPostResponse.getPostId()))
-                .andExpect(jsonPath("$.content[0].title").value(readPostResponse.getTitle()))
-                .andExpect(jsonPath("$.content[0].content").value(readPostResponse.getContent()))
+                .andExpect(jsonPath("$.content[0].postId").value(postSummaryResponse.getPostId()))
+                .andExpect(jsonPath("$.content[0].title").value(postSummaryResponse.getTitle()))
+                .andExpect(jsonPath("$.content[0].preview").value(postSummaryResponse.getPreview()))
+                .andDo(print());
+
+    }
+
+    @Test
+    @DisplayName("count=none 으로 조회하면 전체 개수 없이 다음 페이지 여부만 반환하는지 테스트")
+    void readAll_post_test_2() throws Exception {
+
+        //given
+        PostSummaryResponse postSummaryResponse = new PostSummaryResponse(1L, "테스트 제목", "테스트 내용", 0L);
+        given(postService.readAllPost(any(), eq(PostCountMode.NONE)))
+                .willReturn(new SliceImpl<>(List.of(postSummaryResponse), PageRequest.of(0, 5), true));
+
+        //when & then
+        mockMvc.perform(get("/api/v1/posts").param("count", "none"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].postId").value(1L))
+                .andExpect(jsonPath("$.last").value(false))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+
+        mockMvc.perform(get("/api/v1/posts").param("count", "maybe"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("인기 게시글을 조회하는 기능")
+    void read_popular_posts_test() throws Exception {
+
+        //given
+        given(popularPostService.readPopularPosts(2)).willReturn(List.of(
+                new PopularPostResponse(3L, "인기 게시글", 12.5),
+                new PopularPostResponse(1L, "테스트 제목", 3.0)));
+
+        //when & then
+        mockMvc.perform(get("/api/v1/posts/popular").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].postId").value(3L))
+                .andExpect(jsonPath("$[0].score").value(12.5))
+                .andExpect(jsonPath("$[1].postId").value(1L))
+                .andDo(print());
+
+        verify(postService, never()).readPostById(any());
+    }
+
+    @Test
+    @DisplayName("게시글을 커서로 조회하는 기능")
+    void read_posts_after_test() throws Exception {
+
+        //given
+        PostSummaryResponse postSummaryResponse = new PostSummaryResponse(2L, "테스트 제목", "테스트 내용", 0L);
+
+        CursorResponse<PostSummaryResponse> response =
+                new CursorResponse<>(List.of(postSummaryResponse), "bmV4dA", true);
+
+        given(postService.readPostsAfter(any(), anyInt())).willReturn(response);
+
+        //when & then
+        mockMvc.perform(get("/api/v1/posts/cursor").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].postId").value(2L))
+                .andExpect(jsonPath("$.nextCursor").value("bmV4dA"))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("잘못된 커서로 조회하면 400 을 반환하는지 테스트")
+    void read_posts_after_bad_request_test() throws Exception {
+
+        //given
+        given(postService.readPostsAfter(any(), anyInt()))
+                .willThrow(new IllegalArgumentException("유효하지 않은 커서입니다."));
+
+        //when & then
+        mockMvc.perform(get("/api/v1/posts/cursor").param("after", "잘못된 커서"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("유효하지 않은 커서입니다."))
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("없는 게시글을 수정하면 404 를 반환하는지 테스트")
+    void update_post_not_found_test() throws Exception {
+
+        //given
+        UpdatePostRequest request = new UpdatePostRequest("변경 제목", "변경 내용");
+
+        given(postService.updatePost(any(Long.class), any(UpdatePostRequest.class), any()))
+                .willThrow(new EntityNotFoundException("해당 postId로 조회된 게시글이 없습니다."));
+
+        //when & then
+        mockMvc.perform(put("/api/v1/posts/{postId}", 99L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(request))
+                )
+                .andExpect(status().isNotFound())
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("Prefer: return=minimal 로 삭제하면 본문 없이 204 를 반환하는지 테스트")
+    void delete_post_minimal_test() throws Exception {
+
+        //given
+        given(postService.deletePost(any())).willReturn(new DeletePostResponse(1L, null, null));
+
+        //when & then
+        mockMvc.perform(delete("/api/v1/posts/{postId}", 1L).header("Prefer", "return=minimal"))
+                .andExpect(status().isNoContent())
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("첫 쿼리에서 커넥션을 얻지 못하면 503 과 Retry-After 를 반환하는지 테스트")
+    void connection_unavailable_test() throws Exception {
+
+        //given
+        given(postService.readPostById(any()))
+                .willThrow(new CannotGetJdbcConnectionException("Failed to obtain JDBC Connection"));
+
+        //when & then
+        mockMvc.perform(get("/api/v1/posts/{postId}", 1L))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
                 .andDo(print());
+    }
+
+    @Test
+    @DisplayName("게시글을 검색하는 기능")
+    void search_post_test() throws Exception {
+
+        //given
+        SearchPostResponse searchPostResponse = new SearchPostResponse(1L, "테스트 제목", 1.5);
 
+        given(postSearchService.search(any(), any(), anyInt()))
+                .willReturn(new CursorResponse<>(List.of(searchPostResponse), null, false));
+
+        //when & then
+        mockMvc.perform(get("/api/v1/posts/search").param("q", "테스트"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].postId").value(1L))
+                .andExpect(jsonPath("$.content[0].title").value("테스트 제목"))
+                .andExpect(jsonPath("$.hasNext").value(false))
+                .andDo(print());
     }
 
+    private ServletWebRequest accept(String accept) {
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        if (accept != null) {
+            request.addHeader(HttpHeaders.ACCEPT, accept);
+        }
+        return new ServletWebRequest(request);
+    }
 }
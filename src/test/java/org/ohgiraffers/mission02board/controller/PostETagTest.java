@@ -0,0 +1,33 @@
+package org.ohgiraffers.mission02board.controller;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class PostETagTest {
+
+    @Test
+    @DisplayName("If-Match 의 *, 태그 목록, 약한 태그, 다른 게시글의 태그를 RFC 9110 대로 읽는지 테스트")
+    void parse_if_match_test() {
+
+        //when & then
+        assertThat(PostETag.parseIfMatch(null, 1L)).isNull();
+        assertThat(PostETag.parseIfMatch(" * ", 1L).any()).isTrue();
+        assertThat(PostETag.parseIfMatch("\"1-3\"", 1L).versions()).containsExactly(3L);
+        assertThat(PostETag.parseIfMatch("\"1-3\", \"1-4\"", 1L).versions()).containsExactly(3L, 4L);
+        assertThat(PostETag.parseIfMatch(", W/\"1-3\" ,, \"2-4\", \"a,b\", \"1-5+cbor\"", 1L).versions()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("문법에 맞지 않는 If-Match 는 IllegalArgumentException 을 발생시키는지 테스트")
+    void parse_if_match_invalid_test() {
+
+        //when & then
+        assertThrows(IllegalArgumentException.class, () -> PostETag.parseIfMatch("1-3", 1L));
+        assertThrows(IllegalArgumentException.class, () -> PostETag.parseIfMatch("\"1-3", 1L));
+        assertThrows(IllegalArgumentException.class, () -> PostETag.parseIfMatch("\"1-3\" \"1-4\"", 1L));
+        assertThrows(IllegalArgumentException.class, () -> PostETag.parseIfMatch("*, \"1-3\"", 1L));
+    }
+}
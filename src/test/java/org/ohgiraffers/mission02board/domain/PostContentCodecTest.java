@@ -0,0 +1,67 @@
+package org.ohgiraffers.mission02board.domain;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class PostContentCodecTest {
+
+    private static final long THRESHOLD = 1024;
+
+    @Test
+    @DisplayName("threshold 보다 짧은 내용은 압축하지 않고 그대로 저장하는지 테스트")
+    void encode_raw_test() {
+        //given
+        String content = "짧은 게시글 내용";
+
+        //when
+        byte[] stored = PostContentCodec.encode(content, THRESHOLD);
+
+        //then
+        assertThat(stored[0]).isEqualTo(PostContentCodec.RAW);
+        assertThat(stored).hasSize(content.getBytes(StandardCharsets.UTF_8).length + 1);
+        assertThat(PostContentCodec.decode(stored)).isEqualTo(content);
+    }
+
+    @Test
+    @DisplayName("threshold 보다 긴 내용은 압축해서 저장하고, 원래 내용으로 복원하는지 테스트")
+    void encode_deflate_test() {
+        //given
+        String content = "게시글 내용이 반복됩니다. ".repeat(500);
+
+        //when
+        byte[] stored = PostContentCodec.encode(content, THRESHOLD);
+
+        //then
+        assertThat(stored[0]).isEqualTo(PostContentCodec.DEFLATE);
+        assertThat(stored.length).isLessThan(content.getBytes(StandardCharsets.UTF_8).length / 10);
+        assertThat(PostContentCodec.decode(stored)).isEqualTo(content);
+    }
+
+    @Test
+    @DisplayName("threshold 와 같은 길이의 내용은 압축하지 않고, null 은 null 로 저장하는지 테스트")
+    void encode_threshold_test() {
+        //given
+        String content = "a".repeat((int) THRESHOLD);
+
+        //when
+        byte[] stored = PostContentCodec.encode(content, THRESHOLD);
+
+        //then
+        assertThat(stored[0]).isEqualTo(PostContentCodec.RAW);
+        assertThat(PostContentCodec.encode(null, THRESHOLD)).isNull();
+        assertThat(PostContentCodec.decode(null)).isNull();
+    }
+
+    @Test
+    @DisplayName("알 수 없는 형식이나 손상된 값은 IllegalStateException 을 발생시키는지 테스트")
+    void decode_invalid_test() {
+        //when & then
+        assertThrows(IllegalStateException.class, () -> PostContentCodec.decode(new byte[]{9, 1, 2}));
+        assertThrows(IllegalStateException.class, () -> PostContentCodec.decode(new byte[]{PostContentCodec.DEFLATE, 1, 2, 3}));
+    }
+}
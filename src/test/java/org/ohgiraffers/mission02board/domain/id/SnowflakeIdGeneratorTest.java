@@ -0,0 +1,55 @@
+package org.ohgiraffers.mission02board.domain.id;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class SnowflakeIdGeneratorTest {
+
+    @Test
+    @DisplayName("발급한 ID 가 중복 없이 증가하는지 테스트")
+    void next_id_test() {
+        //given
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(7);
+        Set<Long> ids = new HashSet<>();
+        long previous = 0L;
+
+        //when & then
+        for (int i = 0; i < 10_000; i++) {
+            long id = generator.nextId();
+
+            assertThat(id).isGreaterThan(previous);
+            assertThat(ids.add(id)).isTrue();
+            previous = id;
+        }
+    }
+
+    @Test
+    @DisplayName("ID 에서 워커 ID 와 발급 시간을 다시 꺼낼 수 있는지 테스트")
+    void decode_id_test() {
+        //given
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(42);
+        long before = System.currentTimeMillis();
+
+        //when
+        long id = generator.nextId();
+
+        //then
+        assertThat(SnowflakeIdGenerator.workerIdOf(id)).isEqualTo(42L);
+        assertThat(SnowflakeIdGenerator.timestampOf(id)).isBetween(before, System.currentTimeMillis());
+    }
+
+    @Test
+    @DisplayName("범위를 벗어난 워커 ID 는 IllegalArgumentException 을 발생시키는지 테스트")
+    void invalid_worker_id_test() {
+
+        //when & then
+        assertThrows(IllegalArgumentException.class, () ->
+                new SnowflakeIdGenerator(SnowflakeIdGenerator.MAX_WORKER_ID + 1));
+    }
+}
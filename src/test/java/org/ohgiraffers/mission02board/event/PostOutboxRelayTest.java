@@ -0,0 +1,116 @@
+package org.ohgiraffers.mission02board.event;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.ohgiraffers.mission02board.domain.PostOutbox;
+import org.ohgiraffers.mission02board.repository.PostOutboxRepository;
+import org.ohgiraffers.mission02board.shard.PostShards;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class PostOutboxRelayTest {
+
+    @Mock
+    private PostOutboxRepository postOutboxRepository;
+
+    private RecordingSubscriber subscriber;
+
+    private PostOutboxRelay postOutboxRelay;
+
+    @BeforeEach
+    void setUp() {
+        subscriber = new RecordingSubscriber();
+        postOutboxRelay = new PostOutboxRelay(postOutboxRepository, List.of(subscriber), new PostShards(1));
+        ReflectionTestUtils.setField(postOutboxRelay, "batchSize", 10);
+    }
+
+    @Test
+    @DisplayName("아웃박스의 이벤트를 저장된 순서대로 전달하고, 전달한 이벤트를 삭제하는지 테스트")
+    void relay_test() {
+        //given
+        given(postOutboxRepository.findAllByOrderByOutboxIdAsc(any())).willReturn(List.of(
+                outbox(1L, PostEventType.CREATED, 10L),
+                outbox(2L, PostEventType.CREATED, 20L),
+                outbox(3L, PostEventType.UPDATED, 10L)));
+
+        //when
+        postOutboxRelay.relay();
+
+        //then
+        assertThat(subscriber.received).extracting(PostEvent::getType, PostEvent::getPostId).containsExactly(
+                tuple(PostEventType.CREATED, 10L),
+                tuple(PostEventType.CREATED, 20L),
+                tuple(PostEventType.UPDATED, 10L));
+        verify(postOutboxRepository).deleteAllByIdInBatch(List.of(1L, 2L, 3L));
+    }
+
+    @Test
+    @DisplayName("전달에 실패한 게시글의 이후 이벤트는 남겨두고, 다른 게시글의 이벤트는 계속 전달하는지 테스트")
+    void relay_failure_test() {
+        //given
+        subscriber.failingPostIds.add(10L);
+        given(postOutboxRepository.findAllByOrderByOutboxIdAsc(any())).willReturn(List.of(
+                outbox(1L, PostEventType.CREATED, 10L),
+                outbox(2L, PostEventType.CREATED, 20L),
+                outbox(3L, PostEventType.DELETED, 10L)));
+
+        //when
+        postOutboxRelay.relay();
+
+        //then
+        assertThat(subscriber.received).extracting(PostEvent::getPostId).containsExactly(20L);
+        verify(postOutboxRepository).deleteAllByIdInBatch(List.of(2L));
+    }
+
+    @Test
+    @DisplayName("전달할 이벤트가 없으면 삭제하지 않는지 테스트")
+    void relay_empty_test() {
+        //given
+        given(postOutboxRepository.findAllByOrderByOutboxIdAsc(any())).willReturn(List.of());
+
+        //when
+        postOutboxRelay.relay();
+
+        //then
+        verify(postOutboxRepository, never()).deleteAllByIdInBatch(any());
+    }
+
+    private PostOutbox outbox(Long outboxId, PostEventType type, Long postId) {
+        return new PostOutbox(outboxId, type, postId, "제목" + postId, "내용" + postId, Instant.now());
+    }
+
+    /* 테스트용 구독자 : 받은 이벤트를 기록하고, failingPostIds 의 게시글 이벤트는 실패시킨다.*/
+    private static class RecordingSubscriber implements PostEventSubscriber {
+
+        private final List<PostEvent> received = new ArrayList<>();
+
+        private final Set<Long> failingPostIds = new HashSet<>();
+
+        @Override
+        public void onPostEvent(PostEvent event) {
+
+            if (failingPostIds.contains(event.getPostId())) {
+                throw new IllegalStateException("구독자 처리 실패");
+            }
+
+            received.add(event);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package org.ohgiraffers.mission02board.ranking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+public class PopularPostRankingTest {
+
+    private static final long HOUR = 60 * 60 * 1000L;
+
+    private PopularPostRanking ranking;
+
+    @BeforeEach
+    void setUp() {
+        // 상위 2개, 반감기 1시간, 작성 가중치 조회 5건
+        ranking = new PopularPostRanking(2, HOUR, 5, 0);
+    }
+
+    @Test
+    @DisplayName("조회가 많은 게시글 순서로 상위 K 개만 남기는지 테스트")
+    void top_k_test() {
+        //given
+        for (int i = 0; i < 3; i++) ranking.recordRead(1L, "게시글1", 0);
+        for (int i = 0; i < 7; i++) ranking.recordRead(2L, "게시글2", 0);
+        ranking.recordRead(3L, "게시글3", 0);
+
+        //when
+        ranking.refresh(0);
+        List<RankedPost> top = ranking.top(10);
+
+        //then
+        assertThat(top).extracting(RankedPost::getPostId).containsExactly(2L, 1L);
+        assertThat(top.get(0).getScore()).isCloseTo(7, within(1e-9));
+    }
+
+    @Test
+    @DisplayName("반감기가 지나면 점수가 절반이 되어, 최근 조회된 게시글이 위로 올라오는지 테스트")
+    void decay_test() {
+        //given
+        for (int i = 0; i < 4; i++) ranking.recordRead(1L, "예전에 인기", 0);
+        for (int i = 0; i < 3; i++) ranking.recordRead(2L, "요즘 인기", 2 * HOUR);
+
+        //when
+        ranking.refresh(2 * HOUR);
+
+        //then
+        List<RankedPost> top = ranking.top(2);
+        assertThat(top).extracting(RankedPost::getPostId).containsExactly(2L, 1L);
+        assertThat(top.get(1).getScore()).isCloseTo(1, within(1e-9));
+    }
+
+    @Test
+    @DisplayName("새로 작성된 게시글은 작성 가중치만큼 점수를 받는지 테스트")
+    void created_test() {
+        //given
+        ranking.recordCreated(1L, "새 게시글", HOUR);
+        for (int i = 0; i < 4; i++) ranking.recordRead(2L, "조회된 게시글", HOUR);
+
+        //when
+        ranking.refresh(HOUR);
+
+        //then
+        assertThat(ranking.top(2)).extracting(RankedPost::getPostId).containsExactly(1L, 2L);
+    }
+
+    @Test
+    @DisplayName("같은 작성 이벤트가 다시 전달되어도 작성 가중치는 한 번만 더하는지 테스트")
+    void created_redelivery_test() {
+        //given
+        ranking.recordCreated(1L, "새 게시글", 0);
+        ranking.recordRead(1L, "새 게시글", 0);
+
+        //when
+        ranking.recordCreated(1L, "새 게시글", 0);
+        ranking.refresh(0);
+
+        //then
+        assertThat(ranking.top(1).get(0).getScore()).isCloseTo(6, within(1e-9));
+    }
+
+    @Test
+    @DisplayName("삭제된 게시글은 다음 refresh 전이라도 목록에서 빠지는지 테스트")
+    void remove_test() {
+        //given
+        ranking.recordRead(1L, "게시글1", 0);
+        ranking.recordRead(2L, "게시글2", 0);
+        ranking.refresh(0);
+
+        //when
+        ranking.remove(1L, 0);
+
+        //then
+        assertThat(ranking.top(2)).extracting(RankedPost::getPostId).containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("삭제된 뒤에 늦게 도착한 조회, 작성 이벤트는 삭제 기록이 남아 있는 동안 게시글을 다시 순위에 넣지 않는지 테스트")
+    void remove_tombstone_test() {
+        //given
+        ranking.recordRead(1L, "게시글1", 0);
+        ranking.remove(1L, 0);
+
+        //when
+        ranking.recordRead(1L, "게시글1", HOUR / 60);
+        ranking.recordCreated(1L, "게시글1", HOUR / 60);
+        ranking.refresh(HOUR / 60);
+
+        //then
+        assertThat(ranking.top(2)).isEmpty();
+        assertThat(ranking.size()).isZero();
+
+        // 삭제 기록이 지워진 뒤에는 다시 기록한다.
+        long later = PopularPostRanking.TOMBSTONE_MILLIS + 1;
+        ranking.refresh(later);
+        ranking.recordRead(1L, "게시글1", later);
+        assertThat(ranking.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("순위에 두는 게시글이 capacity * ENTRIES_PER_RANK 개를 넘으면 점수가 낮은 게시글부터 제거하는지 테스트")
+    void bounded_entries_test() {
+        //given : 상위 2개이므로 20개까지 남긴다.
+        int maxEntries = 2 * PopularPostRanking.ENTRIES_PER_RANK;
+        for (long postId = 1; postId <= maxEntries + 5; postId++) {
+            for (int i = 0; i < postId; i++) ranking.recordRead(postId, "게시글" + postId, 0);
+        }
+
+        //when
+        ranking.refresh(0);
+
+        //then
+        assertThat(ranking.size()).isEqualTo(maxEntries);
+        assertThat(ranking.top(2)).extracting(RankedPost::getPostId).containsExactly(25L, 24L);
+
+        // 점수가 가장 낮던 게시글 1~5 는 제거되어, 다시 조회되면 처음부터 센다.
+        ranking.recordRead(1L, "게시글1", 0);
+        ranking.refresh(0);
+        assertThat(ranking.size()).isEqualTo(maxEntries);
+    }
+
+    @Test
+    @DisplayName("기준 시각을 옮긴 뒤에도 점수와 순서가 유지되는지 테스트")
+    void rebase_test() {
+        //given
+        for (int i = 0; i < 2; i++) ranking.recordRead(1L, "게시글1", 0);
+        ranking.recordRead(2L, "게시글2", 0);
+
+        //when : 반감기 60번이 지나면 기준 시각을 옮긴다.
+        long later = 60 * HOUR;
+        for (int i = 0; i < 2; i++) ranking.recordRead(3L, "게시글3", later);
+        ranking.refresh(later);
+        ranking.recordRead(3L, "게시글3", later);
+        ranking.recordRead(4L, "게시글4", later);
+        ranking.refresh(later);
+
+        //then
+        List<RankedPost> top = ranking.top(2);
+        assertThat(top).extracting(RankedPost::getPostId).containsExactly(3L, 4L);
+        assertThat(top.get(0).getScore()).isCloseTo(3, within(1e-9));
+        assertThat(ranking.size()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,44 @@
+package org.ohgiraffers.mission02board.routing;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.ohgiraffers.mission02board.event.PostEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class ReplicaLagCacheEvictorTest {
+
+    @Test
+    @DisplayName("커밋 후 sticky-window 가 지나면 복제 DB 에서 다시 채워진 게시글을 캐시에서 제거하는지 테스트")
+    void evict_after_sticky_window_test() {
+        //given
+        Cache cache = new ConcurrentMapCache("post");
+        TaskScheduler taskScheduler = mock(TaskScheduler.class);
+        Instant now = Instant.parse("2024-01-01T00:00:00Z");
+        ReplicaLagCacheEvictor evictor = new ReplicaLagCacheEvictor(
+                cache, taskScheduler, Duration.ofSeconds(5), Clock.fixed(now, ZoneOffset.UTC));
+
+        //when
+        evictor.onPostWritten(PostEvent.updated(1L, "수정된 제목", "수정된 내용"));
+        cache.put(1L, "복제 DB 의 예전 게시글");
+
+        //then
+        ArgumentCaptor<Runnable> eviction = ArgumentCaptor.forClass(Runnable.class);
+        verify(taskScheduler).schedule(eviction.capture(), eq(now.plusSeconds(5)));
+
+        eviction.getValue().run();
+        assertThat(cache.get(1L)).isNull();
+    }
+}
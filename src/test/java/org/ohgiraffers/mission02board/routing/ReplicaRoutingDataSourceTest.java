@@ -0,0 +1,195 @@
+package org.ohgiraffers.mission02board.routing;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+/* 내장 H2 DB 를 primary, replica 로 각각 띄우고, 어느 DB 에서 읽었는지 marker 테이블의 값으로 확인한다.*/
+public class ReplicaRoutingDataSourceTest {
+
+    private final List<EmbeddedDatabase> databases = new ArrayList<>();
+
+    private EmbeddedDatabase primary;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("primary");
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReadYourWrites.clear();
+        databases.forEach(EmbeddedDatabase::shutdown);
+    }
+
+    @Test
+    @DisplayName("읽기 전용 트랜잭션은 복제 DB 로, 쓰기 트랜잭션은 primary 로 보내는지 테스트")
+    void routing_test() {
+        //given
+        Routing routing = routing(Map.of("replica-0", database("replica-0")));
+
+        //when & then
+        assertThat(routing.read()).isEqualTo("replica-0");
+        assertThat(routing.write()).isEqualTo("primary");
+    }
+
+    @Test
+    @DisplayName("복제 DB 가 여러 개이면 번갈아 가며 읽는지 테스트")
+    void round_robin_test() {
+        //given
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-0", database("replica-0"));
+        replicas.put("replica-1", database("replica-1"));
+        Routing routing = routing(replicas);
+
+        //when
+        List<String> reads = List.of(routing.read(), routing.read(), routing.read(), routing.read());
+
+        //then
+        assertThat(reads).containsExactly("replica-0", "replica-1", "replica-0", "replica-1");
+    }
+
+    @Test
+    @DisplayName("연결되지 않는 복제 DB 는 건너뛰고, 모두 안 되면 primary 에서 읽는지 테스트")
+    void health_check_test() throws SQLException {
+        //given
+        DataSource brokenReplica = mock(DataSource.class);
+        given(brokenReplica.getConnection()).willThrow(new SQLException("connection refused"));
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-0", brokenReplica);
+        replicas.put("replica-1", database("replica-1"));
+        Routing routing = routing(replicas);
+
+        //when & then
+        assertThat(routing.dataSource.getHealthyReplicas()).containsExactly("replica-1");
+        assertThat(routing.read()).isEqualTo("replica-1");
+        assertThat(routing.read()).isEqualTo("replica-1");
+
+        Routing allBroken = routing(Map.of("replica-0", brokenReplica));
+        assertThat(allBroken.read()).isEqualTo("primary");
+    }
+
+    @Test
+    @DisplayName("커넥션 풀이 가득 차도 풀을 거치지 않는 확인용 연결이 되면 복제 DB 를 계속 사용하는지 테스트")
+    void probe_bypasses_pool_test() throws SQLException {
+        //given
+        DataSource saturatedPool = mock(DataSource.class);
+        given(saturatedPool.getConnection()).willThrow(new SQLException("Connection is not available, request timed out"));
+
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(primary,
+                Map.of("replica-0", saturatedPool), Map.of("replica-0", database("replica-0")));
+
+        //when
+        dataSource.afterPropertiesSet();
+
+        //then
+        assertThat(dataSource.getHealthyReplicas()).containsExactly("replica-0");
+    }
+
+    @Test
+    @DisplayName("같은 요청에서 쓰기를 한 뒤의 읽기는 primary 에서 읽고, 쿠키 발급 콜백이 한 번 실행되는지 테스트")
+    void read_your_writes_test() {
+        //given
+        Routing routing = routing(Map.of("replica-0", database("replica-0")));
+        List<String> issued = new ArrayList<>();
+        ReadYourWrites.begin(false, () -> issued.add("cookie"));
+
+        //when
+        String before = routing.read();
+        routing.write();
+        String after = routing.read();
+        routing.write();
+
+        //then
+        assertThat(before).isEqualTo("replica-0");
+        assertThat(after).isEqualTo("primary");
+        assertThat(issued).containsExactly("cookie");
+    }
+
+    @Test
+    @DisplayName("최근에 쓰기를 한 클라이언트의 요청은 처음부터 primary 에서 읽는지 테스트")
+    void sticky_test() {
+        //given
+        Routing routing = routing(Map.of("replica-0", database("replica-0")));
+
+        //when
+        ReadYourWrites.begin(true, () -> { });
+
+        //then
+        assertThat(routing.read()).isEqualTo("primary");
+    }
+
+    private EmbeddedDatabase database(String name) {
+
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("create table marker (name varchar(20))");
+        jdbcTemplate.update("insert into marker values (?)", name);
+
+        databases.add(database);
+        return database;
+    }
+
+    private Routing routing(Map<String, DataSource> replicas) {
+
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(primary, replicas);
+        dataSource.afterPropertiesSet();
+
+        return new Routing(dataSource);
+    }
+
+    /* 실제 설정(ReplicaRoutingConfig)과 같이 LazyConnectionDataSourceProxy 로 감싸서 트랜잭션을 연다.*/
+    private static class Routing {
+
+        private final ReplicaRoutingDataSource dataSource;
+
+        private final JdbcTemplate jdbcTemplate;
+
+        private final TransactionTemplate readOnly;
+
+        private final TransactionTemplate readWrite;
+
+        private Routing(ReplicaRoutingDataSource dataSource) {
+            DataSource lazy = new LazyConnectionDataSourceProxy(dataSource);
+            DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(lazy);
+
+            this.dataSource = dataSource;
+            this.jdbcTemplate = new JdbcTemplate(lazy);
+            this.readOnly = new TransactionTemplate(transactionManager);
+            this.readOnly.setReadOnly(true);
+            this.readWrite = new TransactionTemplate(transactionManager);
+        }
+
+        private String read() {
+            return readOnly.execute(status -> jdbcTemplate.queryForObject("select name from marker", String.class));
+        }
+
+        private String write() {
+            return readWrite.execute(status -> jdbcTemplate.queryForObject("select name from marker", String.class));
+        }
+    }
+}
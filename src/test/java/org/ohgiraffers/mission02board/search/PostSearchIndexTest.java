@@ -0,0 +1,69 @@
+package org.ohgiraffers.mission02board.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PostSearchIndexTest {
+
+    private PostSearchIndex postSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        postSearchIndex = new PostSearchIndex();
+        postSearchIndex.put(1L, "스프링 게시판 만들기", "게시글을 작성하고 조회하는 기능");
+        postSearchIndex.put(2L, "오늘의 점심", "게시판에 점심 메뉴를 올립니다");
+        postSearchIndex.put(3L, "JPA 정리", "Spring Data JPA 로 게시글을 저장한다");
+    }
+
+    @Test
+    @DisplayName("조사가 붙은 한국어 단어도 검색되는지 테스트")
+    void search_korean_test() {
+
+        //when
+        List<SearchHit> hits = postSearchIndex.search("게시글");
+
+        //then
+        assertThat(hits).extracting(SearchHit::getPostId).containsExactlyInAnyOrder(1L, 3L);
+    }
+
+    @Test
+    @DisplayName("제목에 검색어가 있는 게시글이 더 높은 점수를 받는지 테스트")
+    void search_ranking_test() {
+
+        //when
+        List<SearchHit> hits = postSearchIndex.search("게시판");
+
+        //then
+        assertThat(hits).extracting(SearchHit::getPostId).containsExactly(1L, 2L);
+    }
+
+    @Test
+    @DisplayName("영문은 대소문자 구분 없이 검색되는지 테스트")
+    void search_case_insensitive_test() {
+
+        //when
+        List<SearchHit> hits = postSearchIndex.search("jpa");
+
+        //then
+        assertThat(hits).extracting(SearchHit::getPostId).containsExactly(3L);
+    }
+
+    @Test
+    @DisplayName("수정, 삭제된 게시글이 색인에 반영되는지 테스트")
+    void update_and_remove_test() {
+
+        //when
+        postSearchIndex.put(2L, "오늘의 저녁", "저녁 메뉴");
+        postSearchIndex.remove(1L);
+
+        //then
+        assertThat(postSearchIndex.search("게시판")).isEmpty();
+        assertThat(postSearchIndex.search("저녁")).extracting(SearchHit::getPostId).containsExactly(2L);
+        assertThat(postSearchIndex.size()).isEqualTo(2);
+    }
+}
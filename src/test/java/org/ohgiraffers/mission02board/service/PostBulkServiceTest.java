@@ -0,0 +1,100 @@
+package org.ohgiraffers.mission02board.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.ohgiraffers.mission02board.domain.Post;
+import org.ohgiraffers.mission02board.repository.PostContentRepository;
+import org.ohgiraffers.mission02board.repository.PostRepository;
+import org.ohgiraffers.mission02board.shard.PostShards;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class PostBulkServiceTest {
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private PostContentRepository postContentRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private PostBulkService postBulkService;
+
+    @BeforeEach
+    void setUp() {
+        postBulkService = new PostBulkService(postRepository, postContentRepository, entityManager, transactionManager,
+                new ObjectMapper(), eventPublisher, new PostShards(1));
+        ReflectionTestUtils.setField(postBulkService, "chunkSize", 2);
+
+        AtomicLong postId = new AtomicLong();
+        given(postRepository.save(any())).willAnswer(invocation -> {
+            Post post = invocation.getArgument(0);
+            return new Post(postId.incrementAndGet(), post.getTitle(), post.getPreview(), 0L, null, 0L);
+        });
+    }
+
+    @Test
+    @DisplayName("json 배열로 받은 게시글을 chunk 단위로 저장하고, 게시글마다 결과를 반환하는지 테스트")
+    void create_posts_json_array_test() throws Exception {
+        //given
+        String body = "[{\"title\":\"제목1\",\"content\":\"내용1\"},"
+                + "{\"title\":\"제목2\",\"content\":\"내용2\"},"
+                + "{\"title\":\"제목3\",\"content\":\"내용3\"}]";
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        //when
+        postBulkService.createPosts(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), out);
+
+        //then (3건, chunk 2개)
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(3);
+        assertThat(lines[2]).contains("\"index\":2", "\"postId\":3", "\"created\":true");
+        verify(entityManager, times(2)).clear();
+        verify(postContentRepository, times(3)).save(any());
+    }
+
+    @Test
+    @DisplayName("NDJSON 중 제목이 없는 게시글만 실패로 응답하는지 테스트")
+    void create_posts_ndjson_test() throws Exception {
+        //given
+        String body = "{\"title\":\"제목1\",\"content\":\"내용1\"}\n"
+                + "{\"title\":\"\",\"content\":\"제목 없음\"}\n";
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        //when
+        postBulkService.createPosts(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), out);
+
+        //then
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines[0]).contains("\"created\":true");
+        assertThat(lines[1]).contains("\"index\":1", "\"created\":false");
+        verify(postRepository, times(1)).save(any());
+    }
+}
@@ -0,0 +1,51 @@
+package org.ohgiraffers.mission02board.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.ohgiraffers.mission02board.dto.PostSummaryResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/* post 테이블에 content 컬럼이 남아 있는 기존 DB 를 만들어서, 내용이 post_content 로 옮겨지는지 확인한다.*/
+@SpringBootTest
+@ActiveProfiles("test")
+public class PostContentMigrationTest {
+
+    private static final long LEGACY_POST_ID = 900_001L;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PostContentMigration postContentMigration;
+
+    @Autowired
+    private PostService postService;
+
+    @Test
+    @DisplayName("기존 게시글의 내용을 post_content 로 옮기고 preview 를 채우며, 다시 실행해도 한 번만 옮기는지 테스트")
+    void migrate_test() {
+        //given
+        String content = "기존 게시글 내용 ".repeat(20);
+        jdbcTemplate.execute("alter table post add column if not exists content varchar(255)");
+        jdbcTemplate.update("insert into post (post_id, title, version, view_count, content) values (?, ?, 0, 0, ?)",
+                LEGACY_POST_ID, "기존 게시글", content);
+
+        //when
+        postContentMigration.migrate(0);
+        postContentMigration.migrate(0);
+
+        //then
+        assertThat(postService.readPostById(LEGACY_POST_ID).getContent()).isEqualTo(content);
+        assertThat(jdbcTemplate.queryForObject("select preview from post where post_id = ?", String.class, LEGACY_POST_ID))
+                .isEqualTo(PostSummaryResponse.preview(content));
+        assertThat(jdbcTemplate.queryForObject("select content from post where post_id = ?", String.class, LEGACY_POST_ID))
+                .isNull();
+        assertThat(jdbcTemplate.queryForObject("select count(*) from post_content where post_id = ?", Integer.class, LEGACY_POST_ID))
+                .isEqualTo(1);
+    }
+}
@@ -0,0 +1,66 @@
+package org.ohgiraffers.mission02board.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.ohgiraffers.mission02board.dto.ReadPostResponse;
+import org.ohgiraffers.mission02board.repository.PostRepository;
+import org.ohgiraffers.mission02board.shard.PostShards;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+public class PostExportServiceTest {
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("게시글을 NDJSON 으로 한 줄씩 내보내는지 테스트")
+    void export_ndjson_test() throws Exception {
+        //given
+        PostExportService postExportService = new PostExportService(postRepository, new ObjectMapper(),
+                transactionManager, new PostShards(1));
+        given(postRepository.streamAllBy()).willReturn(Stream.of(
+                new ReadPostResponse(1L, "제목1", "내용1", 0L, null, 0L),
+                new ReadPostResponse(2L, "제목2", "내용2", 0L, null, 0L)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        //when
+        postExportService.exportPosts(PostExportFormat.NDJSON, out);
+
+        //then
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(lines[1]).contains("\"postId\":2", "\"title\":\"제목2\"", "\"content\":\"내용2\"");
+    }
+
+    @Test
+    @DisplayName("CSV 로 내보낼 때 쉼표와 따옴표가 들어간 값을 감싸는지 테스트")
+    void export_csv_test() throws Exception {
+        //given
+        PostExportService postExportService = new PostExportService(postRepository, new ObjectMapper(),
+                transactionManager, new PostShards(1));
+        given(postRepository.streamAllBy()).willReturn(Stream.of(new ReadPostResponse(1L, "제목, \"인용\"", "내용", 0L, null, 0L)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        //when
+        postExportService.exportPosts(PostExportFormat.CSV, out);
+
+        //then
+        assertThat(out.toString(StandardCharsets.UTF_8))
+                .isEqualTo("postId,title,content\n1,\"제목, \"\"인용\"\"\",내용\n");
+    }
+}
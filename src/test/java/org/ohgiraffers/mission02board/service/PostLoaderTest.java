@@ -0,0 +1,233 @@
+package org.ohgiraffers.mission02board.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.ohgiraffers.mission02board.dto.ReadPostResponse;
+import org.ohgiraffers.mission02board.repository.PostRepository;
+import org.ohgiraffers.mission02board.shard.PostShards;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/* 여러 스레드가 동시에 조회하게 만들고, 리포지토리가 몇 번 호출되었는지(= 쿼리 수)를 센다.*/
+public class PostLoaderTest {
+
+    private static final int THREADS = 50;
+
+    private final PostRepository postRepository = mock(PostRepository.class);
+
+    private final AtomicInteger queries = new AtomicInteger();
+
+    private final CountingTransactionManager transactionManager = new CountingTransactionManager();
+
+    @Test
+    @DisplayName("같은 게시글을 동시에 조회하면 쿼리를 한 번만 실행하고 결과를 함께 받는지 테스트")
+    void single_flight_test() throws Exception {
+        //given
+        PostLoader postLoader = new PostLoader(postRepository, new PostShards(1), transactionManager, Duration.ofMillis(200), 100);
+        given(postRepository.findReadPostResponseById(1L)).willAnswer(invocation -> {
+            queries.incrementAndGet();
+            Thread.sleep(50);
+            return Optional.of(post(1L));
+        });
+
+        //when
+        List<Optional<ReadPostResponse>> results = concurrently(THREADS, index -> postLoader.load(1L));
+
+        //then
+        assertThat(queries.get()).isEqualTo(1);
+        assertThat(results).hasSize(THREADS).allSatisfy(result -> assertThat(result).map(ReadPostResponse::getPostId).contains(1L));
+    }
+
+    @Test
+    @DisplayName("다른 게시글 조회가 동시에 들어오면 IN 쿼리 한 번으로 조회하고, 없는 게시글은 빈 결과를 받는지 테스트")
+    void batching_test() throws Exception {
+        //given
+        PostLoader postLoader = new PostLoader(postRepository, new PostShards(1), transactionManager, Duration.ofMillis(200), 100);
+        given(postRepository.findReadPostResponsesByIdIn(anyCollection())).willAnswer(invocation -> {
+            queries.incrementAndGet();
+            Collection<Long> postIds = invocation.getArgument(0);
+            // 짝수 postId 만 있다.
+            return postIds.stream().filter(postId -> postId % 2 == 0).map(PostLoaderTest::post).toList();
+        });
+
+        //when
+        List<Optional<ReadPostResponse>> results = concurrently(THREADS, index -> postLoader.load(index + 1));
+
+        //then
+        assertThat(queries.get()).isEqualTo(1);
+        verify(postRepository, never()).findReadPostResponseById(any());
+        for (int index = 0; index < THREADS; index++) {
+            long postId = index + 1;
+            assertThat(results.get(index).isPresent()).isEqualTo(postId % 2 == 0);
+        }
+    }
+
+    @Test
+    @DisplayName("모은 게시글은 leader 스레드가 연 읽기 전용 트랜잭션 하나에서 조회하는지 테스트 (복제 DB 라우팅)")
+    void read_only_transaction_test() throws Exception {
+        //given
+        PostLoader postLoader = new PostLoader(postRepository, new PostShards(1), transactionManager, Duration.ofMillis(200), 100);
+        given(postRepository.findReadPostResponsesByIdIn(anyCollection())).willAnswer(invocation -> {
+            assertThat(TransactionSynchronizationManager.isCurrentTransactionReadOnly()).isTrue();
+            Collection<Long> postIds = invocation.getArgument(0);
+            return postIds.stream().map(PostLoaderTest::post).toList();
+        });
+
+        //when
+        List<Optional<ReadPostResponse>> results = concurrently(THREADS, index -> postLoader.load(index + 1));
+
+        //then
+        assertThat(transactionManager.begun.get()).isEqualTo(1);
+        assertThat(results).allSatisfy(result -> assertThat(result).isPresent());
+    }
+
+    @Test
+    @DisplayName("max-batch-size 개가 모이면 batch-window 를 기다리지 않고 바로 조회하는지 테스트")
+    void max_batch_size_test() throws Exception {
+        //given
+        PostLoader postLoader = new PostLoader(postRepository, new PostShards(1), transactionManager, Duration.ofSeconds(30), 10);
+        given(postRepository.findReadPostResponsesByIdIn(anyCollection())).willAnswer(invocation -> {
+            queries.incrementAndGet();
+            Collection<Long> postIds = invocation.getArgument(0);
+            assertThat(postIds).hasSize(10);
+            return postIds.stream().map(PostLoaderTest::post).toList();
+        });
+        long startedAt = System.nanoTime();
+
+        //when
+        List<Optional<ReadPostResponse>> results = concurrently(THREADS, index -> postLoader.load(index + 1));
+
+        //then
+        assertThat(Duration.ofNanos(System.nanoTime() - startedAt)).isLessThan(Duration.ofSeconds(10));
+        assertThat(queries.get()).isEqualTo(THREADS / 10);
+        assertThat(results).allSatisfy(result -> assertThat(result).isPresent());
+    }
+
+    @Test
+    @DisplayName("조회에 실패하면 기다리던 요청 모두 예외를 받고, 다음 조회는 다시 쿼리를 실행하는지 테스트")
+    void failure_test() throws Exception {
+        //given
+        PostLoader postLoader = new PostLoader(postRepository, new PostShards(1), transactionManager, Duration.ofMillis(200), 100);
+        given(postRepository.findReadPostResponseById(1L))
+                .willThrow(new QueryTimeoutException("timeout"))
+                .willReturn(Optional.of(post(1L)));
+
+        //when
+        List<Throwable> failures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(5)) {
+            List<Future<Optional<ReadPostResponse>>> futures = new ArrayList<>();
+            for (int index = 0; index < 5; index++) {
+                futures.add(executor.submit(() -> postLoader.load(1L)));
+            }
+            for (Future<Optional<ReadPostResponse>> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    failures.add(e.getCause());
+                }
+            }
+        }
+
+        //then
+        assertThat(failures).isNotEmpty().allSatisfy(failure -> assertThat(failure).isInstanceOf(QueryTimeoutException.class));
+        assertThat(postLoader.load(1L)).isPresent();
+    }
+
+    @Test
+    @DisplayName("샤딩을 사용하면 모은 게시글을 샤드별로 나눠서 조회하는지 테스트")
+    void sharded_batching_test() throws Exception {
+        //given
+        PostShards postShards = new PostShards(3);
+        PostLoader postLoader = new PostLoader(postRepository, postShards, transactionManager, Duration.ofMillis(200), 100);
+        given(postRepository.findReadPostResponsesByIdIn(anyCollection())).willAnswer(invocation -> {
+            queries.incrementAndGet();
+            Collection<Long> postIds = invocation.getArgument(0);
+            assertThat(postIds).extracting(postShards::shardOf).containsOnly(postShards.shardOf(postIds.iterator().next()));
+            return postIds.stream().map(PostLoaderTest::post).toList();
+        });
+
+        //when
+        concurrently(THREADS, index -> postLoader.load(index + 1));
+
+        //then
+        assertThat(queries.get()).isEqualTo(3);
+    }
+
+    /* 모든 스레드가 준비된 뒤에 동시에 시작하고, 결과를 index 순서대로 모은다.*/
+    private static <T> List<T> concurrently(int threads, LongFunction<T> work) throws Exception {
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<T>> futures = new ArrayList<>(threads);
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            for (int index = 0; index < threads; index++) {
+                long current = index;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return work.apply(current);
+                }));
+            }
+
+            start.countDown();
+
+            List<T> results = new ArrayList<>(threads);
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        }
+    }
+
+    /* 실제 DB 없이 트랜잭션 동기화(readOnly 표시)만 하고, 시작된 트랜잭션 수를 센다.*/
+    private static class CountingTransactionManager extends AbstractPlatformTransactionManager {
+
+        private final AtomicInteger begun = new AtomicInteger();
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+            begun.incrementAndGet();
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+
+    private static ReadPostResponse post(Long postId) {
+        return new ReadPostResponse(postId, "제목" + postId, "내용" + postId, 0L, null, 0L);
+    }
+}
@@ -0,0 +1,29 @@
+package org.ohgiraffers.mission02board.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.SmartLifecycle;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class PostSearchIndexInitializerTest {
+
+    @Test
+    @DisplayName("웹 서버보다 먼저 시작해서, 요청을 받기 전에 검색 색인을 만드는지 테스트")
+    void build_before_web_server_test() {
+        //given
+        PostSearchService postSearchService = mock(PostSearchService.class);
+        PostSearchIndexInitializer initializer = new PostSearchIndexInitializer(postSearchService);
+
+        //when
+        initializer.start();
+
+        //then
+        verify(postSearchService).buildIndex();
+        assertThat(initializer.isRunning()).isTrue();
+        // 웹 서버(WebServerStartStopLifecycle)의 phase 는 SmartLifecycle.DEFAULT_PHASE - 1 이다.
+        assertThat(initializer.getPhase()).isLessThan(SmartLifecycle.DEFAULT_PHASE - 1);
+    }
+}
@@ -0,0 +1,163 @@
+package org.ohgiraffers.mission02board.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.ohgiraffers.mission02board.config.PostCacheConfig;
+import org.ohgiraffers.mission02board.dto.ReadPostResponse;
+import org.ohgiraffers.mission02board.dto.UpdatePostRequest;
+import org.ohgiraffers.mission02board.repository.PostContentRepository;
+import org.ohgiraffers.mission02board.repository.PostRepository;
+import org.ohgiraffers.mission02board.shard.PostShards;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MonitorInfo;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/* 캐시는 스프링 프록시를 통해 동작하기 때문에, 캐시 설정과 PostService 만 올린 작은 컨텍스트에서 테스트한다.
+*   PostLoader 는 실제 객체를 사용하고, 한 건씩 조회하므로 단건 조회 쿼리(findReadPostResponseById)로 확인한다.
+*   동시에 조회한 요청이 합쳐지도록 batch-window 를 넉넉하게 둔다.*/
+@SpringJUnitConfig({PostCacheConfig.class, PostService.class, PostLoader.class, PostShards.class})
+@TestPropertySource(properties = "post.loader.batch-window=200ms")
+public class PostServiceCacheTest {
+
+    private static final int THREADS = 20;
+
+    @MockBean
+    private PostRepository postRepository;
+
+    @MockBean
+    private PostContentRepository postContentRepository;
+
+    @MockBean
+    private PostViewCounter postViewCounter;
+
+    @MockBean
+    private PostTotalCounter postTotalCounter;
+
+    @MockBean
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache(PostCacheConfig.POST_CACHE).clear();
+        given(postRepository.findReadPostResponseById(1L))
+                .willReturn(Optional.of(new ReadPostResponse(1L, "테스트 제목", "테스트 내용", 0L, null, 0L)));
+    }
+
+    @Test
+    @DisplayName("같은 게시글을 두 번 조회하면 DB 는 한 번만 조회하는지 테스트")
+    void read_post_cache_hit_test() {
+
+        //when
+        postService.readPostById(1L);
+        postService.readPostById(1L);
+
+        //then
+        verify(postRepository, times(1)).findReadPostResponseById(1L);
+    }
+
+    @Test
+    @DisplayName("게시글을 수정하면 캐시가 제거되어 다시 DB 에서 조회하는지 테스트")
+    void update_post_cache_evict_test() {
+
+        //given
+        given(postRepository.updateTitleAndPreview(any(), any(), any(), any())).willReturn(1);
+
+        //when
+        postService.readPostById(1L);
+        postService.updatePost(1L, new UpdatePostRequest("변경 제목", "변경 내용"), null);
+        postService.readPostById(1L);
+
+        //then
+        verify(postRepository, times(2)).findReadPostResponseById(1L);
+    }
+
+    @Test
+    @DisplayName("캐시 프록시를 거쳐 조회해도 DB 를 조회하는 동안 모니터(synchronized)를 잡고 있지 않는지 테스트")
+    void read_post_without_monitor_test() {
+
+        //given
+        AtomicReference<MonitorInfo[]> lockedMonitors = new AtomicReference<>();
+        given(postRepository.findReadPostResponseById(1L)).willAnswer(invocation -> {
+            long threadId = Thread.currentThread().threadId();
+            lockedMonitors.set(ManagementFactory.getThreadMXBean().getThreadInfo(new long[]{threadId}, true, false)[0].getLockedMonitors());
+            return Optional.of(new ReadPostResponse(1L, "테스트 제목", "테스트 내용", 0L, null, 0L));
+        });
+
+        //when
+        postService.readPostById(1L);
+
+        //then : 모니터를 잡고 기다리면 가상 스레드가 캐리어 스레드를 붙잡는다.
+        assertThat(lockedMonitors.get()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("캐시에 없는 게시글을 캐시 프록시로 동시에 조회하면 IN 쿼리 한 번으로 합치고 캐시에 저장하는지 테스트")
+    void read_post_coalescing_through_cache_test() throws Exception {
+
+        //given
+        given(postRepository.findReadPostResponsesByIdIn(anyCollection())).willAnswer(invocation -> {
+            Collection<Long> postIds = invocation.getArgument(0);
+            return postIds.stream().map(postId -> new ReadPostResponse(postId, "제목" + postId, "내용" + postId, 0L, null, 0L)).toList();
+        });
+
+        //when : 게시글 5개를 스레드 4개씩 동시에 조회한다.
+        List<ReadPostResponse> results = new ArrayList<>(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<ReadPostResponse>> futures = new ArrayList<>(THREADS);
+            for (int index = 0; index < THREADS; index++) {
+                long postId = index % 5 + 1;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return postService.readPostById(postId);
+                }));
+            }
+
+            start.countDown();
+
+            for (Future<ReadPostResponse> future : futures) {
+                results.add(future.get());
+            }
+        }
+
+        //then
+        verify(postRepository, times(1)).findReadPostResponsesByIdIn(anyCollection());
+        verify(postRepository, never()).findReadPostResponseById(any());
+        for (int index = 0; index < THREADS; index++) {
+            assertThat(results.get(index).getPostId()).isEqualTo(index % 5 + 1);
+        }
+        for (long postId = 1; postId <= 5; postId++) {
+            assertThat(cacheManager.getCache(PostCacheConfig.POST_CACHE).get(postId)).isNotNull();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package org.ohgiraffers.mission02board.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.ohgiraffers.mission02board.dto.BulkCreatePostResponse;
+import org.ohgiraffers.mission02board.dto.CreatePostRequest;
+import org.ohgiraffers.mission02board.dto.CreatePostResponse;
+import org.ohgiraffers.mission02board.dto.ReadPostResponse;
+import org.ohgiraffers.mission02board.dto.UpdatePostRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/* 실제 엔티티 매핑과 DB(H2) 로 게시글 작성, 수정, 조회를 확인한다. (아웃박스 저장까지 같은 트랜잭션에서 커밋된다)*/
+@SpringBootTest
+@ActiveProfiles("test")
+public class PostServiceIntegrationTest {
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private PostBulkService postBulkService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("255자보다 긴 내용으로 작성, 수정해도 게시글과 아웃박스 이벤트가 저장되고, 수정한 내용을 조회하는지 테스트")
+    void long_content_test() {
+        //given
+        String content = "긴 게시글 내용 ".repeat(300);
+        String updatedContent = "수정된 긴 게시글 내용 ".repeat(300);
+
+        //when
+        CreatePostResponse created = postService.createPost(new CreatePostRequest("제목", content));
+        ReadPostResponse beforeUpdate = postService.readPostById(created.getPostId());
+        postService.updatePost(created.getPostId(), new UpdatePostRequest("수정된 제목", updatedContent), null);
+        ReadPostResponse afterUpdate = postService.readPostById(created.getPostId());
+
+        //then
+        assertThat(content.length()).isGreaterThan(255);
+        assertThat(beforeUpdate.getContent()).isEqualTo(content);
+        assertThat(afterUpdate.getTitle()).isEqualTo("수정된 제목");
+        assertThat(afterUpdate.getContent()).isEqualTo(updatedContent);
+    }
+
+    @Test
+    @DisplayName("부하 테스트가 미리 저장하는 길이(100, 800, 4000자)의 내용으로 대량 등록해도 모두 저장되는지 테스트")
+    void bulk_long_content_test() throws Exception {
+        //given
+        int[] contentLengths = {100, 800, 4_000};
+        ByteArrayOutputStream requestBody = new ByteArrayOutputStream();
+        for (int length : contentLengths) {
+            requestBody.write(objectMapper.writeValueAsBytes(new CreatePostRequest("대량 등록 " + length, "가".repeat(length))));
+            requestBody.write('\n');
+        }
+
+        //when
+        ByteArrayOutputStream responseBody = new ByteArrayOutputStream();
+        postBulkService.createPosts(new ByteArrayInputStream(requestBody.toByteArray()), responseBody);
+
+        //then
+        String[] lines = responseBody.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(contentLengths.length);
+
+        for (int i = 0; i < lines.length; i++) {
+            BulkCreatePostResponse result = objectMapper.readValue(lines[i], BulkCreatePostResponse.class);
+
+            assertThat(result.isCreated()).isTrue();
+            assertThat(postService.readPostById(result.getPostId()).getContent()).hasSize(contentLengths[i]);
+        }
+    }
+}
@@ -10,18 +10,31 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.ohgiraffers.mission02board.domain.Post;
 import org.ohgiraffers.mission02board.dto.*;
+import org.ohgiraffers.mission02board.event.PostEvent;
+import org.ohgiraffers.mission02board.event.PostEventType;
+import org.ohgiraffers.mission02board.repository.PostContentRepository;
 import org.ohgiraffers.mission02board.repository.PostRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalLong;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.assertj.core.api.Assertions.*;
 import static org.junit.jupiter.api.Assertions.*;
@@ -34,6 +47,21 @@ public class PostServiceTest {
     @Mock
     private PostRepository postRepository;  //가짜 객체
 
+    @Mock
+    private PostContentRepository postContentRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PostViewCounter postViewCounter;
+
+    @Mock
+    private PostTotalCounter postTotalCounter;
+
+    @Mock
+    private PostLoader postLoader;
+
     /* @InjectionMocks
     *   Mock 객체가 주입 될 클래스를 지정한다.*/
     @InjectMocks
@@ -43,6 +71,10 @@ public class PostServiceTest {
 
     private Post savedPost;
 
+    private PostSummaryResponse postSummary;
+
+    private PostSummaryResponse savedPostSummary;
+
     private CreatePostRequest createPostRequest;
 
     private UpdatePostRequest updatePostRequest;
@@ -50,8 +82,10 @@ public class PostServiceTest {
     @BeforeEach
     void setUp() {
         //초기화
-        post = new Post(1L, "테스트 제목", "테스트 내용");
-        savedPost = new Post(2L, "저장되어 있던 테스트 제목", "저장되어 있던 테스트 내용");
+        post = new Post(1L, "테스트 제목", "테스트 내용", 0L, null, 0L);
+        savedPost = new Post(2L, "저장되어 있던 테스트 제목", "저장되어 있던 테스트 내용", 0L, null, 0L);
+        postSummary = new PostSummaryResponse(1L, "테스트 제목", "테스트 내용", 0L);
+        savedPostSummary = new PostSummaryResponse(2L, "저장되어 있던 테스트 제목", "저장되어 있던 테스트 내용", 0L);
         createPostRequest = new CreatePostRequest("테스트 제목", "테스트 내용");
         updatePostRequest = new UpdatePostRequest("변경된 테스트 제목", "변경된 테스트 내용");
     }
@@ -76,11 +110,28 @@ public class PostServiceTest {
         assertThat(createPostResponse.getContent()).isEqualTo("테스트 내용");
     }
 
+    @Test
+    @DisplayName("게시글 내용은 post_content 에 따로 저장하고, post 에는 목록용 앞부분만 저장하는지 테스트")
+    void create_post_test_2() {
+        //given
+        String content = "가".repeat(PostSummaryResponse.PREVIEW_LENGTH + 50);
+        given(postRepository.save(any())).willReturn(post);
+
+        //when
+        postService.createPost(new CreatePostRequest("테스트 제목", content));
+
+        //then
+        verify(postRepository).save(argThat(saved -> saved.getPreview().length() == PostSummaryResponse.PREVIEW_LENGTH));
+        verify(postContentRepository).save(argThat(saved -> saved.getPostId() == 1L && saved.getContent().equals(content)));
+    }
+
     @Test
     @DisplayName("postId로 게시글을 조회하는 기능 테스트")
     void read_post_test_1() {
         //given
-        when(postRepository.findById(any())).thenReturn(Optional.of(savedPost));
+        String content = "저장되어 있던 테스트 내용";
+        when(postLoader.load(any())).thenReturn(Optional.of(
+                new ReadPostResponse(savedPost.getPostId(), savedPost.getTitle(), content, 0L, null, 0L)));
 
         //when
         ReadPostResponse readPostResponse = postService.readPostById(savedPost.getPostId());
@@ -88,14 +139,14 @@ public class PostServiceTest {
         //then
         assertThat(readPostResponse.getPostId()).isEqualTo(savedPost.getPostId());
         assertThat(readPostResponse.getTitle()).isEqualTo(savedPost.getTitle());
-        assertThat(readPostResponse.getContent()).isEqualTo(savedPost.getContent());
+        assertThat(readPostResponse.getContent()).isEqualTo(content);
     }
 
     @Test
     @DisplayName("postId로 게시글을 찾지 못했을 때, 지정한 Exception 을 발생시켰는지 테스트")
     void read_post_test_2() {
         //given
-        given(postRepository.findById(any())).willReturn(Optional.empty());
+        given(postLoader.load(any())).willReturn(Optional.empty());
 
         //when & then
         assertThrows(EntityNotFoundException.class, () ->
@@ -104,45 +155,155 @@ public class PostServiceTest {
         //then
     }
 
+    @Test
+    @DisplayName("여러 게시글을 한 번에 조회하면 요청한 순서대로 담고, 없는 게시글은 missingIds 로 알려주는지 테스트")
+    void read_posts_by_ids_test() {
+        //given
+        ReflectionTestUtils.setField(postService, "maxBulkReadSize", 50);
+        given(postRepository.findReadPostResponsesByIdIn(any())).willReturn(List.of(
+                new ReadPostResponse(1L, "테스트 제목", "테스트 내용", 0L, null, 0L),
+                new ReadPostResponse(2L, "저장되어 있던 테스트 제목", "저장되어 있던 테스트 내용", 0L, null, 0L)));
+
+        //when
+        BulkReadPostResponse response = postService.readPostsByIds(List.of(2L, 3L, 1L, 2L));
+
+        //then
+        assertThat(response.getPosts()).extracting(ReadPostResponse::getPostId).containsExactly(2L, 1L);
+        assertThat(response.getMissingIds()).containsExactly(3L);
+        verify(postRepository).findReadPostResponsesByIdIn(argThat(postIds -> postIds.size() == 3));
+    }
+
+    @Test
+    @DisplayName("최대 개수보다 많은 게시글을 요청하면 조회하지 않고 IllegalArgumentException 을 발생시키는지 테스트")
+    void read_posts_by_ids_test_2() {
+        //given
+        ReflectionTestUtils.setField(postService, "maxBulkReadSize", 2);
+
+        //when & then
+        assertThrows(IllegalArgumentException.class, () ->
+                postService.readPostsByIds(List.of(1L, 2L, 3L)));
+        assertThrows(IllegalArgumentException.class, () ->
+                postService.readPostsByIds(List.of()));
+        verify(postRepository, never()).findReadPostResponsesByIdIn(any());
+    }
+
     @Test
     @DisplayName("전체 게시글 조회 기능 테스트")
     void read_post_test() {
         //given
         Pageable pageable = PageRequest.of(0, 5);
-        List<Post> posts = Arrays.asList(post, savedPost);
-        Page<Post> postPage = new PageImpl<>(posts, pageable, posts.size());
+        List<PostSummaryResponse> posts = Arrays.asList(postSummary, savedPostSummary);
+        Page<PostSummaryResponse> postPage = new PageImpl<>(posts, pageable, posts.size());
 
-        given(postRepository.findAll(pageable)).willReturn(postPage);
+        given(postRepository.findSummaries(pageable)).willReturn(postPage);
 
         //when
-        Page<ReadPostResponse> responses = postService.readAllPost(pageable);
+        Slice<PostSummaryResponse> responses = postService.readAllPost(pageable, PostCountMode.EXACT);
 
         //then
         assertThat(responses.getContent()).hasSize(2);
         assertThat(responses.getContent().get(0).getTitle()).isEqualTo("테스트 제목");
-        assertThat(responses.getContent().get(0).getContent()).isEqualTo("테스트 내용");
+        assertThat(responses.getContent().get(0).getPreview()).isEqualTo("테스트 내용");
         assertThat(responses.getContent().get(1).getTitle()).isEqualTo("저장되어 있던 테스트 제목");
-        assertThat(responses.getContent().get(1).getContent()).isEqualTo("저장되어 있던 테스트 내용");
+        assertThat(responses.getContent().get(1).getPreview()).isEqualTo("저장되어 있던 테스트 내용");
     }
 
     @Test
-    @DisplayName("postId로 게시글 수정 기능 테스트")
-    void update_post_test () {
+    @DisplayName("전체 개수를 근사값으로 조회하면 count 쿼리 대신 관리 중인 게시글 수를 사용하는지 테스트")
+    void read_post_count_test_1() {
+        //given
+        Pageable pageable = PageRequest.of(0, 2);
+        given(postTotalCounter.total()).willReturn(OptionalLong.of(42));
+        given(postRepository.findSummarySlice(pageable))
+                .willReturn(new SliceImpl<>(List.of(postSummary, savedPostSummary), pageable, true));
+
+        //when
+        Slice<PostSummaryResponse> responses = postService.readAllPost(pageable, PostCountMode.APPROXIMATE);
 
+        //then
+        assertThat(responses).isInstanceOf(Page.class);
+        assertThat(((Page<PostSummaryResponse>) responses).getTotalElements()).isEqualTo(42);
+        verify(postRepository, never()).findSummaries(any());
+    }
+
+    @Test
+    @DisplayName("게시글 수를 아직 세지 않았으면 count 쿼리를 실행하고, none 이면 Slice 를 반환하는지 테스트")
+    void read_post_count_test_2() {
         //given
-        given(postRepository.findById(any())).willReturn(Optional.of(savedPost));
+        Pageable pageable = PageRequest.of(0, 2);
+        given(postTotalCounter.total()).willReturn(OptionalLong.empty());
+        given(postRepository.findSummaries(pageable)).willReturn(new PageImpl<>(List.of(postSummary), pageable, 1));
+        given(postRepository.findSummarySlice(pageable)).willReturn(new SliceImpl<>(List.of(postSummary), pageable, false));
 
-        //given(postRepository.save(any())).willReturn(Optional.of(updatePostRequest));
+        //when
+        Slice<PostSummaryResponse> approximate = postService.readAllPost(pageable, PostCountMode.APPROXIMATE);
+        Slice<PostSummaryResponse> none = postService.readAllPost(pageable, PostCountMode.NONE);
 
+        //then
+        assertThat(((Page<PostSummaryResponse>) approximate).getTotalElements()).isEqualTo(1);
+        assertThat(none).isNotInstanceOf(Page.class);
+        assertThat(none.hasNext()).isFalse();
+    }
+
+    @Test
+    @DisplayName("조회를 기록하면 조회수를 올리고 조회 이벤트를 발행하는지 테스트")
+    void record_view_test() {
 
         //when
-        UpdatePostResponse response = postService.updatePost(savedPost.getPostId(), updatePostRequest);
+        postService.recordView(1L, "테스트 제목");
+
+        //then
+        verify(postViewCounter).increment(1L);
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof PostEvent postEvent
+                && postEvent.getType() == PostEventType.READ && postEvent.getPostId() == 1L));
+        verify(postLoader, never()).load(any());
+    }
+
+    @Test
+    @DisplayName("postId로 게시글 수정 기능 테스트")
+    void update_post_test () {
+
+        //given
+        given(postRepository.updateTitleAndPreview(eq(savedPost.getPostId()), eq("변경된 테스트 제목"), eq("변경된 테스트 내용"), any()))
+                .willReturn(1);
+        given(postRepository.findVersionById(savedPost.getPostId())).willReturn(Optional.of(new PostVersion(2L, 1L, null)));
+
+        //when
+        UpdatePostResponse response = postService.updatePost(savedPost.getPostId(), updatePostRequest, null);
 
         //then
         assertThat(response.getPostId()).isEqualTo(savedPost.getPostId());
         assertThat(response.getTitle()).isEqualTo("변경된 테스트 제목");
         assertThat(response.getContent()).isEqualTo("변경된 테스트 내용");
+        assertThat(response.getVersion()).isEqualTo(1L);
+        verify(postLoader, never()).load(any());
+
+    }
+
+    @Test
+    @DisplayName("수정된 게시글이 없으면 EntityNotFoundException 을 발생시키는지 테스트")
+    void update_post_test_2 () {
+
+        //given
+        given(postRepository.updateTitleAndPreview(any(), any(), any(), any())).willReturn(0);
 
+        //when & then
+        assertThrows(EntityNotFoundException.class, () ->
+                postService.updatePost(3L, updatePostRequest, null));
+    }
+
+    @Test
+    @DisplayName("If-Match 버전이 현재 버전과 다르면 OptimisticLockingFailureException 을 발생시키는지 테스트")
+    void update_post_test_3 () {
+
+        //given
+        given(postRepository.updateTitleAndPreviewIfVersion(any(), any(), any(), any(), eq(0L))).willReturn(0);
+        given(postRepository.existsById(2L)).willReturn(true);
+
+        //when & then
+        assertThrows(OptimisticLockingFailureException.class, () ->
+                postService.updatePost(2L, updatePostRequest, 0L));
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
     }
 
     @Test
@@ -150,7 +311,7 @@ public class PostServiceTest {
     void delete_post_test () {
 
         //given
-        given(postRepository.findById(any())).willReturn(Optional.of(savedPost));
+        given(postRepository.deletePostById(savedPost.getPostId())).willReturn(1);
 
 
         //when
@@ -158,6 +319,62 @@ public class PostServiceTest {
 
         //then
         assertThat(response.getPostId()).isEqualTo(2L);
+        verify(postLoader, never()).load(any());
+    }
+
+    @Test
+    @DisplayName("삭제된 게시글이 없으면 EntityNotFoundException 을 발생시키는지 테스트")
+    void delete_post_test_2 () {
+
+        //given
+        given(postRepository.deletePostById(any())).willReturn(0);
+
+        //when & then
+        assertThrows(EntityNotFoundException.class, () ->
+                postService.deletePost(3L));
+    }
+
+    @Test
+    @DisplayName("커서 없이 첫 페이지를 조회하면 다음 커서를 함께 반환하는지 테스트")
+    void read_posts_after_test_1() {
+        //given
+        Pageable pageable = PageRequest.of(0, 1);
+        given(postRepository.findSummariesOrderByPostIdDesc(pageable))
+                .willReturn(new SliceImpl<>(List.of(savedPostSummary), pageable, true));
+
+        //when
+        CursorResponse<PostSummaryResponse> response = postService.readPostsAfter(null, 1);
+
+        //then
+        assertThat(response.getContent()).hasSize(1);
+        assertThat(response.isHasNext()).isTrue();
+        assertThat(PostCursor.decode(response.getNextCursor())).isEqualTo(savedPost.getPostId());
+    }
+
+    @Test
+    @DisplayName("커서로 다음 페이지를 조회하는 기능 테스트")
+    void read_posts_after_test_2() {
+        //given
+        Pageable pageable = PageRequest.of(0, 5);
+        given(postRepository.findSummariesByPostIdLessThanOrderByPostIdDesc(2L, pageable))
+                .willReturn(new SliceImpl<>(List.of(postSummary), pageable, false));
+
+        //when
+        CursorResponse<PostSummaryResponse> response = postService.readPostsAfter(PostCursor.encode(2L), 5);
+
+        //then
+        assertThat(response.getContent().get(0).getPostId()).isEqualTo(1L);
+        assertThat(response.isHasNext()).isFalse();
+        assertThat(response.getNextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("잘못된 커서가 들어오면 IllegalArgumentException 을 발생시키는지 테스트")
+    void read_posts_after_test_3() {
+
+        //when & then
+        assertThrows(IllegalArgumentException.class, () ->
+                postService.readPostsAfter("잘못된 커서", 5));
     }
 
 }
@@ -0,0 +1,83 @@
+package org.ohgiraffers.mission02board.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.ohgiraffers.mission02board.event.PostEvent;
+import org.ohgiraffers.mission02board.repository.PostRepository;
+import org.ohgiraffers.mission02board.shard.PostShards;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.util.OptionalLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+public class PostTotalCounterTest {
+
+    @Mock
+    private PostRepository postRepository;
+
+    private PostTotalCounter postTotalCounter;
+
+    @BeforeEach
+    void setUp() {
+        postTotalCounter = new PostTotalCounter(postRepository, new PostShards(1));
+    }
+
+    @Test
+    @DisplayName("count 하기 전에는 값이 없고, count 한 뒤에는 작성, 삭제된 게시글 수를 더하고 빼는지 테스트")
+    void total_test() {
+        //given
+        given(postRepository.count()).willReturn(10L);
+
+        //when & then
+        assertThat(postTotalCounter.total()).isEmpty();
+
+        postTotalCounter.reconcile();
+        postTotalCounter.onPostEvent(PostEvent.created(11L, "제목", "내용"));
+        postTotalCounter.onPostEvent(PostEvent.created(12L, "제목", "내용"));
+        postTotalCounter.onPostEvent(PostEvent.updated(12L, "제목", "내용"));
+        postTotalCounter.onPostEvent(PostEvent.deleted(1L));
+
+        assertThat(postTotalCounter.total()).isEqualTo(OptionalLong.of(11));
+    }
+
+    @Test
+    @DisplayName("count 쿼리가 실행되는 동안 작성된 게시글도 잃지 않고 다시 맞추는지 테스트")
+    void reconcile_test() {
+        //given
+        postTotalCounter.onPostEvent(PostEvent.created(1L, "제목", "내용"));
+
+        // count 쿼리가 실행되는 중에 게시글 2건이 커밋되어, count 결과(1건)에는 포함되지 않는다.
+        given(postRepository.count()).willAnswer(invocation -> {
+            postTotalCounter.onPostEvent(PostEvent.created(2L, "제목", "내용"));
+            postTotalCounter.onPostEvent(PostEvent.created(3L, "제목", "내용"));
+            return 1L;
+        });
+
+        //when
+        postTotalCounter.reconcile();
+
+        //then
+        assertThat(postTotalCounter.total()).isEqualTo(OptionalLong.of(3));
+    }
+
+    @Test
+    @DisplayName("count 쿼리가 실패하면 이전 값을 그대로 유지하는지 테스트")
+    void reconcile_test_2() {
+        //given
+        given(postRepository.count()).willReturn(5L).willThrow(new QueryTimeoutException("timeout"));
+        postTotalCounter.reconcile();
+
+        //when
+        postTotalCounter.reconcile();
+
+        //then
+        assertThat(postTotalCounter.total()).isEqualTo(OptionalLong.of(5));
+    }
+}
@@ -0,0 +1,150 @@
+package org.ohgiraffers.mission02board.service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.ohgiraffers.mission02board.config.PostCacheConfig;
+import org.ohgiraffers.mission02board.dto.ReadPostResponse;
+import org.ohgiraffers.mission02board.shard.PostShards;
+import org.ohgiraffers.mission02board.shard.ShardContext;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class PostViewCounterTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    private final Cache cache = new CaffeineCache(PostCacheConfig.POST_CACHE, Caffeine.newBuilder().build(), false);
+
+    @Spy
+    private PostShards postShards = new PostShards(1);
+
+    @InjectMocks
+    private PostViewCounter postViewCounter;
+
+    @Test
+    @DisplayName("모아둔 조회수를 게시글별로 합쳐서 batch UPDATE 한 번으로 반영하고, 캐시된 게시글은 제거하지 않고 조회수만 더하는지 테스트")
+    void flush_test() {
+        //given
+        given(cacheManager.getCache(PostCacheConfig.POST_CACHE)).willReturn(cache);
+        cache.put(1L, post(1L, 10L));
+
+        postViewCounter.increment(2L);
+        postViewCounter.increment(1L);
+        postViewCounter.increment(2L);
+        postViewCounter.increment(2L);
+
+        //when
+        postViewCounter.flush();
+
+        //then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Object[]>> batchArgs = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(eq(PostViewCounter.FLUSH_SQL), batchArgs.capture());
+
+        assertThat(batchArgs.getValue()).containsExactly(new Object[]{1L, 1L}, new Object[]{3L, 2L});
+        assertThat(cache.get(1L, ReadPostResponse.class).getViewCount()).isEqualTo(11L);
+        assertThat(cache.get(2L)).isNull();
+    }
+
+    @Test
+    @DisplayName("반영할 조회수가 없으면 UPDATE 하지 않는지 테스트")
+    void flush_test_2() {
+        //given
+        postViewCounter.increment(1L);
+        given(cacheManager.getCache(any())).willReturn(cache);
+        postViewCounter.flush();
+        clearInvocations(jdbcTemplate);
+
+        //when
+        postViewCounter.flush();
+
+        //then
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("UPDATE 가 실패하면 조회수를 버리지 않고 다음 flush 에서 다시 반영하는지 테스트")
+    void flush_test_3() {
+        //given
+        postViewCounter.increment(1L);
+        given(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .willThrow(new QueryTimeoutException("timeout"))
+                .willReturn(new int[]{1});
+        given(cacheManager.getCache(any())).willReturn(cache);
+        cache.put(1L, post(1L, 0L));
+
+        //when
+        postViewCounter.flush();
+        postViewCounter.flush();
+
+        //then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Object[]>> batchArgs = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(2)).batchUpdate(eq(PostViewCounter.FLUSH_SQL), batchArgs.capture());
+
+        assertThat(batchArgs.getAllValues().get(1)).containsExactly(new Object[]{1L, 1L});
+        assertThat(cache.get(1L, ReadPostResponse.class).getViewCount()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("샤드가 여러 개이면 게시글이 있는 샤드에서 샤드별로 batch UPDATE 하는지 테스트")
+    void flush_test_4() {
+        //given
+        PostShards twoShards = new PostShards(2);
+        PostViewCounter shardedCounter = new PostViewCounter(jdbcTemplate, cacheManager, twoShards);
+        given(cacheManager.getCache(any())).willReturn(cache);
+
+        List<String> updates = new ArrayList<>();
+        given(jdbcTemplate.batchUpdate(anyString(), anyList())).willAnswer(invocation -> {
+            List<Object[]> batchArgs = invocation.getArgument(1);
+            batchArgs.forEach(args -> updates.add(ShardContext.current() + ":" + args[1]));
+            return new int[batchArgs.size()];
+        });
+
+        for (long postId = 1; postId <= 20; postId++) {
+            shardedCounter.increment(postId);
+        }
+
+        //when
+        shardedCounter.flush();
+
+        //then
+        assertThat(updates).hasSize(20);
+        updates.forEach(update -> {
+            String[] shardAndPostId = update.split(":");
+            assertThat(Integer.parseInt(shardAndPostId[0]))
+                    .isEqualTo(twoShards.shardOf(Long.parseLong(shardAndPostId[1])));
+        });
+        verify(jdbcTemplate, times(2)).batchUpdate(eq(PostViewCounter.FLUSH_SQL), anyList());
+    }
+
+    private static ReadPostResponse post(Long postId, Long viewCount) {
+        return new ReadPostResponse(postId, "제목" + postId, "내용" + postId, 0L, null, viewCount);
+    }
+}
@@ -0,0 +1,76 @@
+package org.ohgiraffers.mission02board.shard;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.ohgiraffers.mission02board.domain.id.SnowflakeIdGenerator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class PostShardsTest {
+
+    @Test
+    @DisplayName("시간 순서로 만든 Snowflake ID 가 모든 샤드에 고르게 나뉘는지 테스트")
+    void distribution_test() {
+        //given
+        PostShards postShards = new PostShards(4);
+        SnowflakeIdGenerator snowflake = new SnowflakeIdGenerator(0);
+        int[] counts = new int[4];
+
+        //when
+        for (int i = 0; i < 100_000; i++) {
+            counts[postShards.shardOf(snowflake.nextId())]++;
+        }
+
+        //then
+        for (int count : counts) {
+            assertThat(count).isBetween(23_000, 27_000);
+        }
+    }
+
+    @Test
+    @DisplayName("같은 postId 는 항상 같은 샤드이고, 샤드가 하나이면 모두 0번 샤드인지 테스트")
+    void shard_of_test() {
+
+        //when & then
+        assertThat(PostShards.shardOf(12345L, 8)).isEqualTo(PostShards.shardOf(12345L, 8));
+        assertThat(new PostShards(1).shardOf(12345L)).isZero();
+        assertThrows(IllegalArgumentException.class, () -> new PostShards(0));
+    }
+
+    @Test
+    @DisplayName("새 게시글의 첫 ID 로 샤드를 정하고, 같은 범위의 다음 ID 들은 모두 같은 샤드에 해당하는지 테스트")
+    void sharded_id_generator_test() {
+        //given
+        PostShards postShards = new PostShards(4);
+        ShardedIdGenerator idGenerator = new ShardedIdGenerator(new SnowflakeIdGenerator(0), 4);
+        List<Long> ids = new ArrayList<>();
+
+        //when
+        Integer shard = postShards.forNewPost(() -> {
+            for (int i = 0; i < 20; i++) {
+                ids.add(idGenerator.nextId());
+            }
+            return ShardContext.current();
+        });
+
+        //then
+        assertThat(shard).isEqualTo(postShards.shardOf(ids.get(0)));
+        assertThat(ids).allMatch(id -> postShards.shardOf(id) == shard);
+        assertThat(ids).doesNotHaveDuplicates();
+        assertThat(ShardContext.isOpen()).isFalse();
+    }
+
+    @Test
+    @DisplayName("샤드 범위 밖에서 새 게시글의 ID 를 만들면 IllegalStateException 을 발생시키는지 테스트")
+    void sharded_id_generator_test_2() {
+        //given
+        ShardedIdGenerator idGenerator = new ShardedIdGenerator(new SnowflakeIdGenerator(0), 4);
+
+        //when & then
+        assertThrows(IllegalStateException.class, idGenerator::nextId);
+    }
+}
@@ -0,0 +1,224 @@
+package org.ohgiraffers.mission02board.shard;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.ohgiraffers.mission02board.dto.BulkReadPostResponse;
+import org.ohgiraffers.mission02board.dto.CursorResponse;
+import org.ohgiraffers.mission02board.dto.PostSummaryResponse;
+import org.ohgiraffers.mission02board.dto.ReadPostResponse;
+import org.ohgiraffers.mission02board.repository.PostContentRepository;
+import org.ohgiraffers.mission02board.repository.PostRepository;
+import org.ohgiraffers.mission02board.service.PostCountMode;
+import org.ohgiraffers.mission02board.service.PostCursor;
+import org.ohgiraffers.mission02board.service.PostService;
+import org.ohgiraffers.mission02board.service.PostLoader;
+import org.ohgiraffers.mission02board.service.PostTotalCounter;
+import org.ohgiraffers.mission02board.service.PostViewCounter;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/* 샤드 DB 는 내장 H2 DB 의 marker 테이블 값으로, 샤드 라우팅(ShardRoutingAspect)은 샤드마다 다른 값을 돌려주는 가짜 리포지토리로 확인한다.*/
+public class ShardRoutingTest {
+
+    // 샤드마다 저장된 게시글 (postId 내림차순)
+    private static final List<List<Long>> SHARD_POST_IDS = List.of(List.of(9L, 6L, 3L), List.of(8L, 5L, 2L), List.of(7L, 4L, 1L));
+
+    private final List<EmbeddedDatabase> databases = new ArrayList<>();
+
+    private final PostShards postShards = new PostShards(3);
+
+    private final PostRepository postRepository = mock(PostRepository.class);
+
+    private final PostTotalCounter postTotalCounter = mock(PostTotalCounter.class);
+
+    @AfterEach
+    void tearDown() {
+        databases.forEach(EmbeddedDatabase::shutdown);
+    }
+
+    @Test
+    @DisplayName("ShardContext 의 샤드 번호로 샤드 DB 를 고르고, 샤드가 없으면 0번 샤드를 사용하는지 테스트")
+    void routing_data_source_test() {
+        //given
+        ShardRoutingDataSource dataSource = new ShardRoutingDataSource(
+                List.of(database("shard-0"), database("shard-1"), database("shard-2")));
+        dataSource.afterPropertiesSet();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new LazyConnectionDataSourceProxy(dataSource));
+
+        //when & then
+        assertThat(postShards.on(2, () -> marker(jdbcTemplate))).isEqualTo("shard-2");
+        assertThat(postShards.on(1, () -> marker(jdbcTemplate))).isEqualTo("shard-1");
+        assertThat(marker(jdbcTemplate)).isEqualTo("shard-0");
+    }
+
+    @Test
+    @DisplayName("postId 로 조회하면 그 게시글의 샤드에서 조회하는지 테스트")
+    void route_by_post_id_test() {
+        //given
+        PostService postService = shardedPostService();
+        given(postRepository.findReadPostResponseById(any())).willAnswer(invocation -> Optional.of(
+                new ReadPostResponse(invocation.getArgument(0), "샤드 " + ShardContext.current(), "", 0L, null, 0L)));
+
+        //when & then
+        for (long postId = 1; postId <= 10; postId++) {
+            assertThat(postService.readPostById(postId).getTitle()).isEqualTo("샤드 " + postShards.shardOf(postId));
+        }
+    }
+
+    @Test
+    @DisplayName("전체 게시글 페이지 조회는 모든 샤드의 결과를 postId 순서로 합쳐서 페이지를 자르는지 테스트")
+    void scatter_gather_page_test() {
+        //given
+        PostService postService = shardedPostService();
+        given(postRepository.findSummaries(any())).willAnswer(invocation -> {
+            Pageable pageable = invocation.getArgument(0);
+            List<PostSummaryResponse> posts = summaries(SHARD_POST_IDS.get(ShardContext.current()));
+            return new PageImpl<>(posts.subList(0, Math.min(pageable.getPageSize(), posts.size())), pageable, posts.size());
+        });
+
+        //when
+        Slice<PostSummaryResponse> page = postService.readAllPost(
+                PageRequest.of(1, 2, Sort.by(Sort.Direction.DESC, "postId")), PostCountMode.EXACT);
+
+        //then
+        assertThat(page.getContent()).extracting(PostSummaryResponse::getPostId).containsExactly(7L, 6L);
+        assertThat(((Page<PostSummaryResponse>) page).getTotalElements()).isEqualTo(9);
+        assertThrows(IllegalArgumentException.class, () ->
+                postService.readAllPost(PageRequest.of(0, 2, Sort.by("title")), PostCountMode.EXACT));
+    }
+
+    @Test
+    @DisplayName("전체 개수를 근사값으로 조회하면 샤드에는 count 없이 요청하고, 관리 중인 게시글 수를 한 번만 사용하는지 테스트")
+    void scatter_gather_page_test_2() {
+        //given
+        PostService postService = shardedPostService();
+        given(postTotalCounter.total()).willReturn(OptionalLong.of(9));
+        given(postRepository.findSummarySlice(any())).willAnswer(invocation -> {
+            Pageable pageable = invocation.getArgument(0);
+            List<PostSummaryResponse> posts = summaries(SHARD_POST_IDS.get(ShardContext.current()));
+            return new SliceImpl<>(posts.subList(0, pageable.getPageSize()), pageable, true);
+        });
+
+        //when
+        Slice<PostSummaryResponse> page = postService.readAllPost(
+                PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "postId")), PostCountMode.APPROXIMATE);
+
+        //then
+        assertThat(page.getContent()).extracting(PostSummaryResponse::getPostId).containsExactly(9L, 8L);
+        assertThat(((Page<PostSummaryResponse>) page).getTotalElements()).isEqualTo(9);
+        verify(postRepository, never()).findSummaries(any());
+    }
+
+    @Test
+    @DisplayName("커서 조회는 모든 샤드의 결과를 합쳐서 size 개와 다음 커서를 반환하는지 테스트")
+    void scatter_gather_cursor_test() {
+        //given
+        PostService postService = shardedPostService();
+        given(postRepository.findSummariesOrderByPostIdDesc(any())).willAnswer(invocation -> {
+            Pageable pageable = invocation.getArgument(0);
+            List<PostSummaryResponse> posts = summaries(SHARD_POST_IDS.get(ShardContext.current()));
+            return new SliceImpl<>(posts.subList(0, pageable.getPageSize()), pageable, true);
+        });
+
+        //when
+        CursorResponse<PostSummaryResponse> response = postService.readPostsAfter(null, 2);
+
+        //then
+        assertThat(response.getContent()).extracting(PostSummaryResponse::getPostId).containsExactly(9L, 8L);
+        assertThat(response.isHasNext()).isTrue();
+        assertThat(PostCursor.decode(response.getNextCursor())).isEqualTo(8L);
+    }
+
+    @Test
+    @DisplayName("여러 게시글 조회는 샤드별로 나눠서 조회하고, 요청한 순서대로 합치는지 테스트")
+    void scatter_gather_bulk_read_test() {
+        //given
+        PostService postService = shardedPostService();
+        given(postRepository.findReadPostResponsesByIdIn(any())).willAnswer(invocation -> {
+            Collection<Long> postIds = invocation.getArgument(0);
+            // 100 번 게시글은 없다.
+            return postIds.stream()
+                    .filter(postId -> postId != 100L)
+                    .map(postId -> new ReadPostResponse(postId, "샤드 " + ShardContext.current(), "", 0L, null, 0L))
+                    .toList();
+        });
+
+        //when
+        BulkReadPostResponse response = postService.readPostsByIds(List.of(4L, 9L, 100L, 2L, 9L));
+
+        //then
+        assertThat(response.getPosts()).extracting(ReadPostResponse::getPostId).containsExactly(4L, 9L, 2L);
+        assertThat(response.getPosts()).allSatisfy(post ->
+                assertThat(post.getTitle()).isEqualTo("샤드 " + postShards.shardOf(post.getPostId())));
+        assertThat(response.getMissingIds()).containsExactly(100L);
+        assertThrows(IllegalArgumentException.class, () ->
+                postService.readPostsByIds(List.of(1L, 2L, 3L, 4L, 5L, 6L)));
+    }
+
+    private PostService shardedPostService() {
+
+        PostService target = new PostService(postRepository, mock(PostContentRepository.class), mock(ApplicationEventPublisher.class),
+                mock(PostViewCounter.class), postTotalCounter, new PostLoader(postRepository, postShards, mock(PlatformTransactionManager.class), Duration.ZERO, 100));
+        ReflectionTestUtils.setField(target, "maxBulkReadSize", 5);
+
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(target);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(new ShardRoutingAspect(postShards, postTotalCounter, 100, 5));
+
+        return proxyFactory.getProxy();
+    }
+
+    private List<PostSummaryResponse> summaries(List<Long> postIds) {
+        return postIds.stream().map(postId -> new PostSummaryResponse(postId, "제목" + postId, "", 0L)).toList();
+    }
+
+    private String marker(JdbcTemplate jdbcTemplate) {
+        return jdbcTemplate.queryForObject("select name from marker", String.class);
+    }
+
+    private DataSource database(String name) {
+
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("create table marker (name varchar(20))");
+        jdbcTemplate.update("insert into marker values (?)", name);
+
+        databases.add(database);
+        return database;
+    }
+}
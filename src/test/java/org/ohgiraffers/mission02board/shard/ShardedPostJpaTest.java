@@ -0,0 +1,107 @@
+package org.ohgiraffers.mission02board.shard;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/* 샤드 3개(내장 H2 DB)와 실제 JPA 매핑으로, 한 요청 안에서 여러 샤드에 쓰고 읽는지 확인한다.
+*   샤드를 고르는 것은 커넥션을 가져올 때이므로, 요청 동안 커넥션을 붙잡아 두면(open-in-view) 첫 샤드에만 쓰고 읽게 된다.*/
+@SpringBootTest(properties = {
+        "post.shard.enabled=true",
+        "post.shard.count=3",
+        "post.shard.urls=" + ShardedPostJpaTest.SHARD_URLS,
+        "post.bulk.chunk-size=3",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.jpa.properties.post.id.strategy=snowflake"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class ShardedPostJpaTest {
+
+    static final String SHARD_URLS =
+            "jdbc:h2:mem:shard-0;MODE=MySQL;DB_CLOSE_DELAY=-1;INIT=RUNSCRIPT FROM 'classpath:shard-schema.sql',"
+            + "jdbc:h2:mem:shard-1;MODE=MySQL;DB_CLOSE_DELAY=-1;INIT=RUNSCRIPT FROM 'classpath:shard-schema.sql',"
+            + "jdbc:h2:mem:shard-2;MODE=MySQL;DB_CLOSE_DELAY=-1;INIT=RUNSCRIPT FROM 'classpath:shard-schema.sql'";
+
+    private static final int POSTS = 30;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PostShards postShards;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("대량 등록은 chunk 마다 ID 의 샤드에 저장하고, 단건 조회와 내보내기는 모든 샤드에서 읽는지 테스트")
+    void write_and_read_across_shards_test() throws Exception {
+        //given
+        StringBuilder requestBody = new StringBuilder();
+        for (int i = 0; i < POSTS; i++) {
+            requestBody.append("{\"title\":\"샤드 게시글 ").append(i).append("\",\"content\":\"내용 ").append(i).append("\"}\n");
+        }
+
+        //when
+        mockMvc.perform(post("/api/v1/posts/bulk")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(requestBody.toString()))
+                .andExpect(status().isOk());
+
+        MvcResult export = mockMvc.perform(get("/api/v1/posts/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String exported = mockMvc.perform(asyncDispatch(export))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        //then
+        List<List<Long>> storedPostIds = new ArrayList<>();
+        for (int shard = 0; shard < postShards.count(); shard++) {
+            storedPostIds.add(postShards.on(shard, () -> jdbcTemplate.queryForList("select post_id from post", Long.class)));
+        }
+
+        assertThat(storedPostIds.stream().mapToInt(List::size).sum()).isEqualTo(POSTS);
+        assertThat(storedPostIds.stream().filter(postIds -> !postIds.isEmpty()).count()).isGreaterThan(1);
+
+        for (int shard = 0; shard < storedPostIds.size(); shard++) {
+            int expectedShard = shard;
+            assertThat(storedPostIds.get(shard)).allMatch(postId -> postShards.shardOf(postId) == expectedShard);
+
+            for (Long postId : storedPostIds.get(shard)) {
+                mockMvc.perform(get("/api/v1/posts/{postId}", postId))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.postId").value(postId));
+            }
+        }
+
+        List<Long> exportedPostIds = new ArrayList<>();
+        for (String line : exported.split("\n")) {
+            exportedPostIds.add(objectMapper.readTree(line).get("postId").asLong());
+        }
+        assertThat(exportedPostIds).hasSize(POSTS).doesNotHaveDuplicates();
+    }
+}
@@ -0,0 +1,23 @@
+-- 샤딩 테스트(ShardedPostJpaTest)용 스키마 : ddl-auto 는 0번 샤드에만 적용되므로 모든 샤드에 같은 테이블을 미리 만든다.
+create table if not exists post (
+    post_id bigint not null primary key,
+    title varchar(255),
+    preview varchar(100),
+    version bigint default 0 not null,
+    last_modified_at timestamp(6) with time zone,
+    view_count bigint default 0 not null
+);
+
+create table if not exists post_content (
+    post_id bigint not null primary key,
+    content varbinary(16777215)
+);
+
+create table if not exists post_outbox (
+    outbox_id bigint auto_increment primary key,
+    type varchar(255) not null,
+    post_id bigint not null,
+    title varchar(255),
+    content varbinary(16777215),
+    created_at timestamp(6) with time zone
+);